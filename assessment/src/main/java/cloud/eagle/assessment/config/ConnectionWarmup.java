@@ -0,0 +1,90 @@
+package cloud.eagle.assessment.config;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opens pooled connections to the hosts of all active configurations once the application is ready,
+ * so the first sync after a deploy does not pay for DNS resolution, TCP and TLS handshakes.
+ * Each host receives a single unauthenticated {@code HEAD /}; its status is irrelevant, only the kept-alive
+ * connection is. Runs in the background and never delays or fails startup.
+ */
+@Component
+@ConditionalOnProperty(name = "webclient.warmup.enabled", havingValue = "true")
+@Slf4j
+public class ConnectionWarmup {
+
+    private final HttpClient externalApiHttpClient;
+    private final ApiConfigurationRepository repository;
+    private final Duration timeout;
+
+    public ConnectionWarmup(
+        final HttpClient externalApiHttpClient,
+        final ApiConfigurationRepository repository,
+        @Value("${webclient.warmup.timeout:5000}") final long timeoutMillis
+    ) {
+        this.externalApiHttpClient = externalApiHttpClient;
+        this.repository = repository;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp().subscribe();
+    }
+
+    /**
+     * Warm up the event loops and one connection per distinct host of the active configurations.
+     *
+     * @return number of hosts that answered
+     */
+    public Mono<Long> warmUp() {
+        final List<String> origins = repository.findByActive(true).stream()
+            .map(ApiConfiguration::getEndpointUrl)
+            .map(ConnectionWarmup::originOf)
+            .distinct()
+            .toList();
+
+        return externalApiHttpClient.warmup()
+            .thenMany(Flux.fromIterable(origins))
+            .flatMap(this::connect)
+            .count()
+            .doOnNext(warmed -> log.info("Warmed up connections to {} of {} provider hosts", warmed, origins.size()));
+    }
+
+    private Mono<String> connect(final String origin) {
+        return externalApiHttpClient.head()
+            .uri(origin + "/")
+            .response()
+            .timeout(timeout)
+            .map(response -> origin)
+            .onErrorResume(error -> {
+                log.warn("Connection warm-up failed for {}: {}", origin, error.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    private static String originOf(final String endpointUrl) {
+        final URI uri = URI.create(endpointUrl);
+        return UriComponentsBuilder.newInstance()
+            .scheme(uri.getScheme())
+            .host(uri.getHost())
+            .port(uri.getPort())
+            .build()
+            .toUriString();
+    }
+}
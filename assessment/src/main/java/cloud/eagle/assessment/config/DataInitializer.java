@@ -45,13 +45,21 @@ public class DataInitializer {
             // Add field mappings for Calendly user data
             final FieldMapping uriMapping = new FieldMapping("externalId", "$.uri", true);
             final FieldMapping nameMapping = new FieldMapping("name", "$.name", false);
+            // Calendly only sends the full name, so first and last name are split off it
+            final FieldMapping firstNameMapping = new FieldMapping("firstName", "$.name", false);
+            firstNameMapping.setTransforms("trim | split(' ', 0)");
+            final FieldMapping lastNameMapping = new FieldMapping("lastName", "$.name", false);
+            lastNameMapping.setTransforms("trim | split(' ', 1, 2) | trim");
             final FieldMapping emailMapping = new FieldMapping("email", "$.email", false);
+            emailMapping.setTransforms("trim | lowercase");
             final FieldMapping timezoneMapping = new FieldMapping("timezone", "$.timezone", false);
             final FieldMapping avatarMapping = new FieldMapping("avatarUrl", "$.avatar_url", false);
             final FieldMapping createdAtMapping = new FieldMapping("createdAt", "$.created_at", false);
 
             calendlyConfig.addFieldMapping(uriMapping);
             calendlyConfig.addFieldMapping(nameMapping);
+            calendlyConfig.addFieldMapping(firstNameMapping);
+            calendlyConfig.addFieldMapping(lastNameMapping);
             calendlyConfig.addFieldMapping(emailMapping);
             calendlyConfig.addFieldMapping(timezoneMapping);
             calendlyConfig.addFieldMapping(avatarMapping);
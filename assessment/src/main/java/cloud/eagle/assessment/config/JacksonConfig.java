@@ -0,0 +1,18 @@
+package cloud.eagle.assessment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the Jackson 2 ObjectMapper used by the integration services.
+ * Spring Boot 4 auto-configures Jackson 3 only, so the Jackson 2 mapper is declared explicitly.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public ObjectMapper objectMapper() {
+        return new ObjectMapper();
+    }
+}
@@ -5,14 +5,23 @@ import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
 import cloud.eagle.assessment.exception.ApplicationException;
 import cloud.eagle.assessment.exception.ExternalApiException;
 import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.exception.InvalidConfigurationException;
+import cloud.eagle.assessment.exception.UnsupportedImportFormatException;
+import cloud.eagle.assessment.exception.UserIdentityNotFoundException;
+import cloud.eagle.assessment.exception.WebhookBufferFullException;
+import cloud.eagle.assessment.exception.WebhookSignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.stream.Collectors;
 
@@ -24,12 +33,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(ApiConfigurationNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleApiConfigurationNotFound(
-        final ApiConfigurationNotFoundException ex,
+    @ExceptionHandler({ApiConfigurationNotFoundException.class, UserIdentityNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFound(
+        final ApplicationException ex,
         final HttpServletRequest request
     ) {
-        log.error("API configuration not found: {}", ex.getMessage());
+        log.error("Resource not found: {}", ex.getMessage());
         final ErrorResponse error = ErrorResponse.of(
             HttpStatus.NOT_FOUND.value(),
             "Not Found",
@@ -69,6 +78,83 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(InvalidConfigurationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidConfiguration(
+        final InvalidConfigurationException ex,
+        final HttpServletRequest request
+    ) {
+        log.error("Invalid configuration: {}", ex.getMessage());
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(WebhookSignatureException.class)
+    public ResponseEntity<ErrorResponse> handleWebhookSignature(
+        final WebhookSignatureException ex,
+        final HttpServletRequest request
+    ) {
+        log.warn("Rejected webhook: {}", ex.getMessage());
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.UNAUTHORIZED.value(),
+            "Unauthorized",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    @ExceptionHandler(UnsupportedImportFormatException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedImportFormat(
+        final UnsupportedImportFormatException ex,
+        final HttpServletRequest request
+    ) {
+        log.warn("Rejected import: {}", ex.getMessage());
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+            "Unsupported Media Type",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceeded(
+        final MaxUploadSizeExceededException ex,
+        final HttpServletRequest request
+    ) {
+        log.warn("Rejected upload: {}", ex.getMessage());
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.CONTENT_TOO_LARGE.value(),
+            "Content Too Large",
+            "Upload exceeds the maximum import size",
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(error);
+    }
+
+    @ExceptionHandler(WebhookBufferFullException.class)
+    public ResponseEntity<ErrorResponse> handleWebhookBufferFull(
+        final WebhookBufferFullException ex,
+        final HttpServletRequest request
+    ) {
+        log.warn("Webhook buffer full: {}", ex.getMessage());
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
         final MethodArgumentNotValidException ex,
@@ -88,6 +174,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationException(
+        final HandlerMethodValidationException ex,
+        final HttpServletRequest request
+    ) {
+        final String message = ex.getAllErrors().stream()
+            .map(MessageSourceResolvable::getDefaultMessage)
+            .collect(Collectors.joining(", "));
+
+        log.error("Validation error: {}", message);
+        final ErrorResponse error = ErrorResponse.of(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            "Validation failed: " + message,
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(ApplicationException.class)
     public ResponseEntity<ErrorResponse> handleApplicationException(
         final ApplicationException ex,
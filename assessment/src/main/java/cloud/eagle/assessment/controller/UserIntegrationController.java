@@ -1,44 +1,105 @@
 package cloud.eagle.assessment.controller;
 
 import cloud.eagle.assessment.domain.dto.ApiConfigurationDto;
+import cloud.eagle.assessment.domain.dto.BulkConfigurationRequest;
+import cloud.eagle.assessment.domain.dto.BulkConfigurationResponse;
+import cloud.eagle.assessment.domain.dto.ChangeFeedResponse;
+import cloud.eagle.assessment.domain.dto.DeadLetterItemDto;
 import cloud.eagle.assessment.domain.dto.FetchedUserDto;
 import cloud.eagle.assessment.domain.dto.FetchUsersRequest;
 import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import cloud.eagle.assessment.domain.dto.ImportUsersResponse;
+import cloud.eagle.assessment.domain.dto.RemapUsersResponse;
+import cloud.eagle.assessment.domain.dto.ReplayDeadLettersResponse;
+import cloud.eagle.assessment.domain.dto.UserIdentityDto;
+import cloud.eagle.assessment.domain.dto.UserSearchResponse;
+import cloud.eagle.assessment.domain.dto.WebhookResponse;
 import cloud.eagle.assessment.service.ApiConfigService;
+import cloud.eagle.assessment.service.DeadLetterReplayService;
+import cloud.eagle.assessment.service.DeadLetterService;
+import cloud.eagle.assessment.service.IdentityResolutionService;
+import cloud.eagle.assessment.service.ImportFormat;
+import cloud.eagle.assessment.service.SyncCoordinator;
+import cloud.eagle.assessment.service.UserChangeFeedService;
 import cloud.eagle.assessment.service.UserFetchService;
+import cloud.eagle.assessment.service.UserImportService;
+import cloud.eagle.assessment.service.UserRemapService;
+import cloud.eagle.assessment.service.UserSearchService;
+import cloud.eagle.assessment.service.WebhookService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 /**
  * REST controller for user integration operations.
  * Thin controller following layered architecture: delegates to service layer.
+ * Bulk read endpoints also answer in CBOR or Smile when the client asks for it in the Accept header.
  */
 @RestController
 @RequestMapping("/api/v1/integrations")
 @Slf4j
 public class UserIntegrationController {
 
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final UserFetchService userFetchService;
     private final ApiConfigService apiConfigService;
+    private final UserSearchService userSearchService;
+    private final IdentityResolutionService identityResolutionService;
+    private final DeadLetterService deadLetterService;
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final UserChangeFeedService userChangeFeedService;
+    private final SyncCoordinator syncCoordinator;
+    private final WebhookService webhookService;
+    private final UserImportService userImportService;
+    private final UserRemapService userRemapService;
 
     public UserIntegrationController(
         final UserFetchService userFetchService,
-        final ApiConfigService apiConfigService
+        final ApiConfigService apiConfigService,
+        final UserSearchService userSearchService,
+        final IdentityResolutionService identityResolutionService,
+        final DeadLetterService deadLetterService,
+        final DeadLetterReplayService deadLetterReplayService,
+        final UserChangeFeedService userChangeFeedService,
+        final SyncCoordinator syncCoordinator,
+        final WebhookService webhookService,
+        final UserImportService userImportService,
+        final UserRemapService userRemapService
     ) {
         this.userFetchService = userFetchService;
         this.apiConfigService = apiConfigService;
+        this.userSearchService = userSearchService;
+        this.identityResolutionService = identityResolutionService;
+        this.deadLetterService = deadLetterService;
+        this.deadLetterReplayService = deadLetterReplayService;
+        this.userChangeFeedService = userChangeFeedService;
+        this.syncCoordinator = syncCoordinator;
+        this.webhookService = webhookService;
+        this.userImportService = userImportService;
+        this.userRemapService = userRemapService;
     }
 
     /**
      * Trigger user fetch from a specific external source.
+     * Concurrent requests for the same source share one sync and receive the same response.
      *
      * @param request the fetch request containing source name
      * @return response with fetch statistics
@@ -46,17 +107,106 @@ public class UserIntegrationController {
     @PostMapping("/fetch")
     public ResponseEntity<FetchUsersResponse> fetchUsers(@Valid @RequestBody final FetchUsersRequest request) {
         log.info("Received fetch request for source: {}", request.sourceName());
-        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(request.sourceName());
+        final FetchUsersResponse response = syncCoordinator.sync(request.sourceName());
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Receive users a source pushed through a webhook.
+     * The delivery is verified against the source's webhook secret and accepted once it is queued;
+     * the users are stored together with other deliveries shortly after.
+     *
+     * @param sourceName the source name
+     * @param headers request headers carrying the signature
+     * @param body raw request body
+     * @return number of users accepted
+     */
+    @PostMapping("/webhooks/{sourceName}")
+    public ResponseEntity<WebhookResponse> receiveWebhook(
+        @PathVariable final String sourceName,
+        @RequestHeader final HttpHeaders headers,
+        @RequestBody final byte[] body
+    ) {
+        log.debug("Received webhook delivery from source: {}", sourceName);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(webhookService.receive(sourceName, headers, body));
+    }
+
+    /**
+     * Ingest a user export file of a source through its field mappings.
+     * The file is streamed record by record and stored in chunks, so exports of any size are ingested
+     * with constant memory.
+     *
+     * @param sourceName the source name
+     * @param file NDJSON or CSV export
+     * @param format file format, detected from the content type or file name when omitted
+     * @return import and throughput statistics
+     */
+    @PostMapping(value = "/imports/{sourceName}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportUsersResponse> importUsers(
+        @PathVariable final String sourceName,
+        @RequestParam("file") final MultipartFile file,
+        @RequestParam(required = false) final ImportFormat format
+    ) throws IOException {
+        log.info("Received import of {} bytes for source: {}", file.getSize(), sourceName);
+        final ImportFormat fileFormat = format != null
+            ? format
+            : ImportFormat.detect(file.getOriginalFilename(), file.getContentType());
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importUsers(sourceName, fileFormat, content));
+        }
+    }
+
+    /**
+     * Get the items of a source that a sync could not map or store and that still wait for a replay.
+     *
+     * @param sourceName the source name
+     * @param pageable pagination parameters
+     * @return page of dead-letter items
+     */
+    @GetMapping("/dead-letters/{sourceName}")
+    public ResponseEntity<Page<DeadLetterItemDto>> getDeadLetters(
+        @PathVariable final String sourceName,
+        @PageableDefault(size = 20) final Pageable pageable
+    ) {
+        log.debug("Retrieving dead-letter items from source: {}, page: {}", sourceName, pageable.getPageNumber());
+        return ResponseEntity.ok(deadLetterService.getPendingItems(sourceName, pageable));
+    }
+
+    /**
+     * Map and store the pending dead-letter items of a source again with its current configuration,
+     * without calling the external API.
+     *
+     * @param sourceName the source name
+     * @return replay statistics
+     */
+    @PostMapping("/dead-letters/{sourceName}/replay")
+    public ResponseEntity<ReplayDeadLettersResponse> replayDeadLetters(@PathVariable final String sourceName) {
+        log.info("Received dead-letter replay request for source: {}", sourceName);
+        return ResponseEntity.ok(deadLetterReplayService.replay(sourceName));
+    }
+
+    /**
+     * Map the stored users of a source again with its current field mappings, from the items the source
+     * returned for them, without calling the external API.
+     *
+     * @param sourceName the source name
+     * @return remap statistics
+     */
+    @PostMapping("/remap/{sourceName}")
+    public ResponseEntity<RemapUsersResponse> remapUsers(@PathVariable final String sourceName) {
+        log.info("Received remap request for source: {}", sourceName);
+        return ResponseEntity.ok(userRemapService.remap(sourceName));
+    }
+
     /**
      * Get all fetched users with pagination.
      *
      * @param pageable pagination parameters
      * @return page of fetched users
      */
-    @GetMapping("/users")
+    @GetMapping(value = "/users", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE
+    })
     public ResponseEntity<Page<FetchedUserDto>> getAllUsers(
         @PageableDefault(size = 20) final Pageable pageable
     ) {
@@ -72,7 +222,9 @@ public class UserIntegrationController {
      * @param pageable pagination parameters
      * @return page of fetched users from the specified source
      */
-    @GetMapping("/users/{sourceName}")
+    @GetMapping(value = "/users/{sourceName}", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE
+    })
     public ResponseEntity<Page<FetchedUserDto>> getUsersBySource(
         @PathVariable final String sourceName,
         @PageableDefault(size = 20) final Pageable pageable
@@ -82,6 +234,55 @@ public class UserIntegrationController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Long-poll the feed of user changes. Answers as soon as there are changes after the cursor,
+     * or with an empty batch once {@code waitSeconds} elapsed.
+     *
+     * @param after id of the last event already processed, 0 to read from the beginning
+     * @param source only return changes of this source
+     * @param limit maximum number of events returned
+     * @param waitSeconds how long to wait for a change when there is none yet
+     * @return events in cursor order and the cursor for the next request
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+        @RequestParam(defaultValue = "0") @Min(0) final long after,
+        @RequestParam(required = false) final String source,
+        @RequestParam(defaultValue = "100") @Min(1) @Max(1000) final int limit,
+        @RequestParam(defaultValue = "30") @Min(0) @Max(120) final int waitSeconds
+    ) {
+        log.debug("Reading user changes after cursor: {}", after);
+        return ResponseEntity.ok(userChangeFeedService.poll(after, source, limit, Duration.ofSeconds(waitSeconds)));
+    }
+
+    /**
+     * Search users across all sources by name or email prefix.
+     *
+     * @param query free text; every term must match the start of a name word or email part
+     * @param limit maximum number of users returned
+     * @return matching users ordered by id
+     */
+    @GetMapping("/search/users")
+    public ResponseEntity<UserSearchResponse> searchUsers(
+        @RequestParam("q") @NotBlank @Size(min = 2) final String query,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(200) final int limit
+    ) {
+        log.debug("Searching users, query: {}", query);
+        return ResponseEntity.ok(userSearchService.search(query, limit));
+    }
+
+    /**
+     * Get the canonical identity for an email with the users merged into it across sources.
+     *
+     * @param email email address in any letter case
+     * @return identity with its users
+     */
+    @GetMapping("/identities")
+    public ResponseEntity<UserIdentityDto> getIdentity(@RequestParam @NotBlank final String email) {
+        log.debug("Retrieving identity for email");
+        return ResponseEntity.ok(identityResolutionService.findIdentity(email));
+    }
+
     /**
      * Get all API configurations.
      *
@@ -106,5 +307,33 @@ public class UserIntegrationController {
         final ApiConfigurationDto config = apiConfigService.getConfiguration(sourceName);
         return ResponseEntity.ok(config);
     }
-}
 
+    /**
+     * Export all API configurations with their field mappings.
+     * Credentials are omitted; re-importing keeps the stored ones.
+     *
+     * @return list of configurations in import format
+     */
+    @GetMapping(value = "/configs/export", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE
+    })
+    public ResponseEntity<List<ApiConfigurationDto>> exportConfigurations() {
+        log.debug("Exporting all API configurations");
+        return ResponseEntity.ok(apiConfigService.exportConfigurations());
+    }
+
+    /**
+     * Create or update many API configurations in one transaction.
+     *
+     * @param request the configurations to import
+     * @return import statistics
+     */
+    @PostMapping("/configs/bulk")
+    public ResponseEntity<BulkConfigurationResponse> importConfigurations(
+        @Valid @RequestBody final BulkConfigurationRequest request
+    ) {
+        log.info("Received bulk import of {} configurations", request.configurations().size());
+        final BulkConfigurationResponse response = apiConfigService.importConfigurations(request.configurations());
+        return ResponseEntity.ok(response);
+    }
+}
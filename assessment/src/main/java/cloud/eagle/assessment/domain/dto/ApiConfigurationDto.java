@@ -2,14 +2,18 @@ package cloud.eagle.assessment.domain.dto;
 
 import cloud.eagle.assessment.domain.entity.AuthType;
 import cloud.eagle.assessment.domain.entity.HttpMethod;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.Instant;
 import java.util.List;
 
 /**
  * DTO for API configuration exposed through the API.
+ * Credentials are accepted on import but never serialized back to clients.
  */
 public record ApiConfigurationDto(
     Long id,
@@ -17,10 +21,19 @@ public record ApiConfigurationDto(
     @NotBlank String endpointUrl,
     @NotNull HttpMethod httpMethod,
     @NotNull AuthType authType,
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) String authCredentials,
+    @Valid OAuthDto oauth,
     String requestHeaders,
+    String requestQueryTemplate,
+    String requestBodyTemplate,
     String responseRootPath,
+    @Positive Long maxResponseBytes,
+    @Positive Long spillThresholdBytes,
+    @Valid PaginationDto pagination,
+    @Valid WebhookDto webhook,
+    List<@Valid JoinedEndpointDto> joinedEndpoints,
     boolean active,
-    List<FieldMappingDto> fieldMappings,
+    List<@Valid FieldMappingDto> fieldMappings,
     Instant createdAt,
     Instant updatedAt
 ) {
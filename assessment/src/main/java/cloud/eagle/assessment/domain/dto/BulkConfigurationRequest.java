@@ -0,0 +1,14 @@
+package cloud.eagle.assessment.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request to create or update many API configurations at once.
+ */
+public record BulkConfigurationRequest(
+    @NotEmpty List<@Valid ApiConfigurationDto> configurations
+) {
+}
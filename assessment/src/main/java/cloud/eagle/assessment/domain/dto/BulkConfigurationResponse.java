@@ -0,0 +1,14 @@
+package cloud.eagle.assessment.domain.dto;
+
+import java.util.List;
+
+/**
+ * Response for bulk configuration import.
+ */
+public record BulkConfigurationResponse(
+    int received,
+    int created,
+    int updated,
+    List<String> sourceNames
+) {
+}
@@ -0,0 +1,12 @@
+package cloud.eagle.assessment.domain.dto;
+
+import java.util.List;
+
+/**
+ * A batch of the user change feed and the cursor to request the next batch with.
+ */
+public record ChangeFeedResponse(
+    List<UserChangeEventDto> events,
+    long nextCursor
+) {
+}
@@ -0,0 +1,22 @@
+package cloud.eagle.assessment.domain.dto;
+
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
+
+import java.time.Instant;
+
+/**
+ * DTO for an item a sync could not map or store.
+ */
+public record DeadLetterItemDto(
+    Long id,
+    String sourceName,
+    Long runId,
+    Integer itemIndex,
+    DeadLetterStage stage,
+    String payload,
+    String reason,
+    int attempts,
+    Instant createdAt,
+    Instant replayedAt
+) {
+}
@@ -6,7 +6,8 @@ package cloud.eagle.assessment.domain.dto;
 public record FetchUsersResponse(
     String sourceName,
     int usersFetched,
+    int usersRemoved,
+    int itemsDeadLettered,
     String message
 ) {
 }
-
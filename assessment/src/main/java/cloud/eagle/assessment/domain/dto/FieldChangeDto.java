@@ -0,0 +1,10 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * Previous and new value of one changed user field.
+ */
+public record FieldChangeDto(
+    Object from,
+    Object to
+) {
+}
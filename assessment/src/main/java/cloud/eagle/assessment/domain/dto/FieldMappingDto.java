@@ -10,7 +10,8 @@ public record FieldMappingDto(
     @NotBlank String internalFieldName,
     @NotBlank String jsonPath,
     String defaultValue,
-    boolean required
+    boolean required,
+    String transforms
 ) {
 }
 
@@ -0,0 +1,17 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * Response for ingesting a user export file, with throughput statistics.
+ */
+public record ImportUsersResponse(
+    String sourceName,
+    String format,
+    long recordsRead,
+    long usersStored,
+    long recordsRejected,
+    long bytesRead,
+    long durationMillis,
+    long recordsPerSecond,
+    String message
+) {
+}
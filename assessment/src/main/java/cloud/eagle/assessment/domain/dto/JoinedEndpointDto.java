@@ -0,0 +1,20 @@
+package cloud.eagle.assessment.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for a joined endpoint of a composite source.
+ * Joined endpoints are fetched with a single request, so pagination settings are only accepted to be
+ * rejected; otherwise a paginated endpoint would silently be joined by its first page.
+ */
+public record JoinedEndpointDto(
+    Long id,
+    @NotBlank String name,
+    @NotBlank String endpointUrl,
+    String responseRootPath,
+    @NotBlank String keyPath,
+    @NotBlank String parentKeyPath,
+    boolean multiple,
+    PaginationDto pagination
+) {
+}
@@ -0,0 +1,12 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * DTO for the OAuth2 client settings of an API configuration.
+ * The client secret is carried in the configuration's auth credentials.
+ */
+public record OAuthDto(
+    String tokenUrl,
+    String clientId,
+    String scope
+) {
+}
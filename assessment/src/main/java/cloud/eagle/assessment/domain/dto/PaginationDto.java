@@ -0,0 +1,21 @@
+package cloud.eagle.assessment.domain.dto;
+
+import cloud.eagle.assessment.domain.entity.PaginationType;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO for the pagination settings of an API configuration.
+ * Null numbers and flags fall back to their defaults.
+ */
+public record PaginationDto(
+    PaginationType type,
+    String pageParameter,
+    String pageSizeParameter,
+    @Positive Integer pageSize,
+    String totalCountPath,
+    @PositiveOrZero Integer firstPage,
+    @Positive Integer maxConcurrentPages,
+    Boolean preservePageOrder
+) {
+}
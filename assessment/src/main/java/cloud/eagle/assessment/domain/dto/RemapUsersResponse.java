@@ -0,0 +1,14 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * Response for re-mapping the stored users of a source from their stored source items.
+ */
+public record RemapUsersResponse(
+    String sourceName,
+    long usersScanned,
+    long usersUpdated,
+    long usersFailed,
+    long durationMillis,
+    String message
+) {
+}
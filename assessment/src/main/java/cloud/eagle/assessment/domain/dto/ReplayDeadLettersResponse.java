@@ -0,0 +1,12 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * Response for replaying the dead-lettered items of a source.
+ */
+public record ReplayDeadLettersResponse(
+    String sourceName,
+    int itemsReplayed,
+    int itemsFailed,
+    String message
+) {
+}
@@ -0,0 +1,20 @@
+package cloud.eagle.assessment.domain.dto;
+
+import cloud.eagle.assessment.domain.entity.UserChangeType;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for one user change in the change feed. The id is the cursor to continue reading from.
+ */
+public record UserChangeEventDto(
+    Long id,
+    String sourceName,
+    Long userId,
+    String externalId,
+    UserChangeType changeType,
+    Map<String, FieldChangeDto> changes,
+    Instant createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package cloud.eagle.assessment.domain.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a canonical identity with the users merged into it.
+ */
+public record UserIdentityDto(
+    Long id,
+    String normalizedEmail,
+    List<FetchedUserDto> users
+) {
+}
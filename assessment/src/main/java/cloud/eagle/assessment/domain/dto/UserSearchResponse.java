@@ -0,0 +1,13 @@
+package cloud.eagle.assessment.domain.dto;
+
+import java.util.List;
+
+/**
+ * Response for cross-source user search.
+ */
+public record UserSearchResponse(
+    String query,
+    int totalMatches,
+    List<FetchedUserDto> users
+) {
+}
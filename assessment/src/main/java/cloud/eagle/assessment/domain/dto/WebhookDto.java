@@ -0,0 +1,14 @@
+package cloud.eagle.assessment.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for the webhook settings of an API configuration.
+ * The secret is accepted on import but never serialized back to clients.
+ */
+public record WebhookDto(
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) String secret,
+    String signatureHeader,
+    String rootPath
+) {
+}
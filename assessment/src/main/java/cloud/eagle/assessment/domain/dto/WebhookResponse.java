@@ -0,0 +1,10 @@
+package cloud.eagle.assessment.domain.dto;
+
+/**
+ * Response for an accepted webhook delivery. Users are stored shortly after, in the next micro-batch.
+ */
+public record WebhookResponse(
+    String sourceName,
+    int itemsAccepted
+) {
+}
@@ -16,7 +16,9 @@ import java.util.List;
  * Each configuration defines how to call a third-party API endpoint.
  */
 @Entity
-@Table(name = "api_configurations")
+@Table(name = "api_configurations", indexes = {
+    @Index(name = "idx_api_configurations_active", columnList = "active,sourceName")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,9 +51,102 @@ public class ApiConfiguration {
     @Column(length = 2000)
     private String requestHeaders;
 
+    /**
+     * Query parameters added to every request, such as {@code fields={fields}&updated_since={since}};
+     * see the request template variables.
+     */
+    @Column(length = 1000)
+    private String requestQueryTemplate;
+
+    /**
+     * JSON body of POST requests, with the same variables as the query template.
+     */
+    @Column(length = 4000)
+    private String requestBodyTemplate;
+
     @Column(length = 500)
     private String responseRootPath;
 
+    /**
+     * Largest response body accepted for this source; null falls back to the global default.
+     */
+    private Long maxResponseBytes;
+
+    /**
+     * Body size above which the response is spilled to a temporary file; null falls back to the global default.
+     */
+    private Long spillThresholdBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaginationType paginationType = PaginationType.NONE;
+
+    /**
+     * Query parameter carrying the offset or page number.
+     */
+    @Column(length = 100)
+    private String pageParameter;
+
+    @Column(length = 100)
+    private String pageSizeParameter;
+
+    private Integer pageSize;
+
+    /**
+     * JsonPath to the total number of users in the first page response.
+     */
+    @Column(length = 500)
+    private String totalCountPath;
+
+    /**
+     * Offset or number of the first page; null means 0 for offsets and 1 for page numbers.
+     */
+    private Integer firstPage;
+
+    /**
+     * Most pages fetched at once for this source; null falls back to the global default.
+     */
+    private Integer maxConcurrentPages;
+
+    /**
+     * Whether pages are stored in page order rather than as they arrive.
+     */
+    @Column(nullable = false)
+    private boolean preservePageOrder = true;
+
+    /**
+     * Shared secret that signs webhook deliveries; webhooks are rejected while it is null.
+     */
+    @Column(length = 500)
+    private String webhookSecret;
+
+    /**
+     * Request header carrying the webhook signature; null falls back to the global default.
+     */
+    @Column(length = 100)
+    private String webhookSignatureHeader;
+
+    /**
+     * JsonPath to the user object or array inside a webhook payload; null means the payload root.
+     */
+    @Column(length = 500)
+    private String webhookRootPath;
+
+    /**
+     * Token endpoint of the OAuth2 authorization server; only used with the OAuth2 auth type.
+     */
+    @Column(length = 500)
+    private String oauthTokenUrl;
+
+    @Column(length = 255)
+    private String oauthClientId;
+
+    /**
+     * Space-separated scopes requested with each token; null requests the client's default scopes.
+     */
+    @Column(length = 500)
+    private String oauthScope;
+
     @Column(nullable = false)
     private boolean active = true;
 
@@ -64,6 +159,12 @@ public class ApiConfiguration {
     @OneToMany(mappedBy = "apiConfiguration", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<FieldMapping> fieldMappings = new ArrayList<>();
 
+    /**
+     * Further endpoints whose items are joined to the items of this endpoint; empty for a single endpoint source.
+     */
+    @OneToMany(mappedBy = "apiConfiguration", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<JoinedEndpoint> joinedEndpoints = new ArrayList<>();
+
     @PrePersist
     protected void onCreate() {
         final Instant now = Instant.now();
@@ -76,6 +177,14 @@ public class ApiConfiguration {
         updatedAt = Instant.now();
     }
 
+    public boolean isPaginated() {
+        return paginationType != null && paginationType != PaginationType.NONE;
+    }
+
+    public boolean isComposite() {
+        return !joinedEndpoints.isEmpty();
+    }
+
     public void addFieldMapping(final FieldMapping fieldMapping) {
         fieldMappings.add(fieldMapping);
         fieldMapping.setApiConfiguration(this);
@@ -85,4 +194,14 @@ public class ApiConfiguration {
         fieldMappings.remove(fieldMapping);
         fieldMapping.setApiConfiguration(null);
     }
+
+    public void addJoinedEndpoint(final JoinedEndpoint joinedEndpoint) {
+        joinedEndpoints.add(joinedEndpoint);
+        joinedEndpoint.setApiConfiguration(this);
+    }
+
+    public void removeJoinedEndpoint(final JoinedEndpoint joinedEndpoint) {
+        joinedEndpoints.remove(joinedEndpoint);
+        joinedEndpoint.setApiConfiguration(null);
+    }
 }
@@ -7,6 +7,10 @@ public enum AuthType {
     NONE,
     BEARER_TOKEN,
     API_KEY,
-    BASIC_AUTH
+    BASIC_AUTH,
+    /**
+     * OAuth2 client credentials grant; the client secret is kept in the auth credentials.
+     */
+    OAUTH2_CLIENT_CREDENTIALS
 }
 
@@ -0,0 +1,82 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An item a sync could not map or store, kept with its payload and the reason it failed
+ * so it can be replayed once the mapping or the data is fixed.
+ */
+@Entity
+@Table(name = "dead_letter_items", indexes = {
+    @Index(name = "idx_dead_letter_items_source_replayed", columnList = "sourceName,replayedAt,id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeadLetterItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String sourceName;
+
+    /**
+     * Id of the {@link SyncRun} the item failed in.
+     */
+    private Long runId;
+
+    /**
+     * Position of the item in its response or page.
+     */
+    private Integer itemIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeadLetterStage stage;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false, length = 1000)
+    private String reason;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant replayedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        attempts = 1;
+    }
+
+    public DeadLetterItem(
+        final String sourceName,
+        final Long runId,
+        final Integer itemIndex,
+        final DeadLetterStage stage,
+        final String payload,
+        final String reason
+    ) {
+        this.sourceName = sourceName;
+        this.runId = runId;
+        this.itemIndex = itemIndex;
+        this.stage = stage;
+        this.payload = payload;
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,15 @@
+package cloud.eagle.assessment.domain.entity;
+
+/**
+ * Step of a sync at which an item failed.
+ */
+public enum DeadLetterStage {
+    /**
+     * The raw item could not be mapped; the stored payload is the item as returned by the source.
+     */
+    MAPPING,
+    /**
+     * The mapped user could not be stored; the stored payload is the mapped user data.
+     */
+    PERSISTENCE
+}
@@ -5,24 +5,38 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 
 /**
  * Temporary storage for users fetched from external systems.
  * Normalized representation across different sources.
+ * Updates only write the columns that changed.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "fetched_users", indexes = {
-    @Index(name = "idx_source_external_id", columnList = "sourceName,externalId", unique = true)
+    @Index(name = "idx_source_external_id", columnList = "sourceName,externalId", unique = true),
+    @Index(name = "idx_fetched_users_source_id", columnList = "sourceName,id"),
+    @Index(name = "idx_fetched_users_source_fetched_at", columnList = "sourceName,fetchedAt"),
+    @Index(name = "idx_fetched_users_email", columnList = "email"),
+    @Index(name = "idx_fetched_users_identity", columnList = "identityId")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 public class FetchedUser {
 
+    /**
+     * Column lengths of the mapped fields and of the raw data, checked before a user is written.
+     */
+    public static final int FIELD_LENGTH = 255;
+    public static final int RAW_DATA_LENGTH = 2000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fetched_users_seq")
+    @SequenceGenerator(name = "fetched_users_seq", sequenceName = "fetched_users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -33,21 +47,56 @@ public class FetchedUser {
     @Column(nullable = false)
     private String externalId;
 
+    @Column(length = FIELD_LENGTH)
     private String email;
 
+    @Column(length = FIELD_LENGTH)
     private String name;
 
+    @Column(length = FIELD_LENGTH)
     private String firstName;
 
+    @Column(length = FIELD_LENGTH)
     private String lastName;
 
+    @Column(length = FIELD_LENGTH)
     private String timezone;
 
+    @Column(length = FIELD_LENGTH)
     private String avatarUrl;
 
-    @Column(length = 2000)
+    @Column(length = RAW_DATA_LENGTH)
     private String rawData;
 
+    /**
+     * Canonical identity this user was merged into, see {@link UserIdentity}.
+     */
+    private Long identityId;
+
+    /**
+     * Id of the last {@link SyncRun} that returned this user.
+     */
+    private Long lastSeenRunId;
+
+    /**
+     * When the user was last written outside a sync, such as by a webhook. Runs that started before
+     * may not have seen that write, so they do not reconcile the user away.
+     */
+    private Instant pushedAt;
+
+    /**
+     * Hash of the stored {@link UserSourceItem}, null while none is stored or it predates the hash.
+     */
+    private Long sourceItemHash;
+
+    /**
+     * Set when the user disappeared from its source; cleared if it shows up again.
+     */
+    @Column(nullable = false)
+    private boolean deleted = false;
+
+    private Instant deletedAt;
+
     @Column(nullable = false, updatable = false)
     private Instant fetchedAt;
 
@@ -18,7 +18,8 @@ import lombok.Setter;
 public class FieldMapping {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "field_mappings_seq")
+    @SequenceGenerator(name = "field_mappings_seq", sequenceName = "field_mappings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,12 +34,24 @@ public class FieldMapping {
     @Column(nullable = false, length = 500)
     private String jsonPath;
 
+    /**
+     * Value used when the path is absent, JSON null or transformed to null.
+     */
     @Column(length = 100)
     private String defaultValue;
 
+    /**
+     * Whether an item whose value is absent, JSON null or transformed to null fails to map.
+     */
     @Column(nullable = false)
     private boolean required = false;
 
+    /**
+     * Transform chain applied to the extracted value, such as {@code split(' ', 0) | trim}; null copies the value.
+     */
+    @Column(length = 1000)
+    private String transforms;
+
     public FieldMapping(final String internalFieldName, final String jsonPath, final boolean required) {
         this.internalFieldName = internalFieldName;
         this.jsonPath = jsonPath;
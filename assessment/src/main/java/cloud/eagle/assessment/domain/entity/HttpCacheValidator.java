@@ -0,0 +1,66 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Last ETag and Last-Modified returned for one request URL of a source.
+ * Sent back as If-None-Match / If-Modified-Since so unchanged responses come back as 304.
+ * The configuration fingerprint ties the validators to the configuration the response was mapped with.
+ */
+@Entity
+@Table(name = "http_cache_validators", indexes = {
+    @Index(name = "idx_http_cache_validators_source_url", columnList = "sourceName,requestUrl", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class HttpCacheValidator {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String sourceName;
+
+    @NotBlank
+    @Column(nullable = false, length = 2000)
+    private String requestUrl;
+
+    @Column(length = 500)
+    private String etag;
+
+    @Column(length = 100)
+    private String lastModified;
+
+    /**
+     * Total count the response announced, kept for the first page of a paginated source so the
+     * pages can still be counted when it comes back unchanged.
+     */
+    private Long totalCount;
+
+    @NotBlank
+    @Column(nullable = false, length = 64)
+    private String configurationFingerprint;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+
+    public HttpCacheValidator(final String sourceName, final String requestUrl) {
+        this.sourceName = sourceName;
+        this.requestUrl = requestUrl;
+    }
+}
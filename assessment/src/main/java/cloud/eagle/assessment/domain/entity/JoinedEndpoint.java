@@ -0,0 +1,79 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity defining a further endpoint of a composite source, such as organization memberships or user
+ * details. Its items are joined to the items of the configuration's endpoint by key and attached to
+ * them under {@link #name}, where field mappings can read them like any other part of the item.
+ */
+@Entity
+@Table(name = "joined_endpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class JoinedEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "joined_endpoints_seq")
+    @SequenceGenerator(name = "joined_endpoints_seq", sequenceName = "joined_endpoints_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "api_configuration_id", nullable = false)
+    private ApiConfiguration apiConfiguration;
+
+    /**
+     * Property under which matching items are attached to each user item.
+     */
+    @NotBlank
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String endpointUrl;
+
+    @Column(length = 500)
+    private String responseRootPath;
+
+    /**
+     * JsonPath to the join key in the items of this endpoint.
+     */
+    @NotBlank
+    @Column(nullable = false, length = 500)
+    private String keyPath;
+
+    /**
+     * JsonPath to the join key in the user items.
+     */
+    @NotBlank
+    @Column(nullable = false, length = 500)
+    private String parentKeyPath;
+
+    /**
+     * Whether all matching items are attached as an array rather than only the first match.
+     */
+    @Column(nullable = false)
+    private boolean multiple = false;
+
+    public JoinedEndpoint(
+        final String name,
+        final String endpointUrl,
+        final String responseRootPath,
+        final String keyPath,
+        final String parentKeyPath,
+        final boolean multiple
+    ) {
+        this.name = name;
+        this.endpointUrl = endpointUrl;
+        this.responseRootPath = responseRootPath;
+        this.keyPath = keyPath;
+        this.parentKeyPath = parentKeyPath;
+        this.multiple = multiple;
+    }
+}
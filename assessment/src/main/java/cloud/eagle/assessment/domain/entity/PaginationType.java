@@ -0,0 +1,19 @@
+package cloud.eagle.assessment.domain.entity;
+
+/**
+ * How an API pages through its users.
+ */
+public enum PaginationType {
+    /**
+     * A single response holds all users.
+     */
+    NONE,
+    /**
+     * The page parameter is the index of the first item of the page.
+     */
+    OFFSET,
+    /**
+     * The page parameter is the page number.
+     */
+    PAGE
+}
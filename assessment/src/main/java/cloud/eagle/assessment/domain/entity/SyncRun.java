@@ -0,0 +1,65 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A single sync of one source. Users seen by the run are stamped with its id,
+ * which is what reconciliation uses to find users deleted upstream.
+ */
+@Entity
+@Table(name = "sync_runs", indexes = {
+    @Index(name = "idx_sync_runs_source_started_at", columnList = "sourceName,startedAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String sourceName;
+
+    @Column(nullable = false, updatable = false)
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    @Column(nullable = false)
+    private int usersSeen;
+
+    @Column(nullable = false)
+    private int usersRemoved;
+
+    @Column(nullable = false)
+    private boolean reconciled;
+
+    /**
+     * Whether the run only requested users changed since an earlier run, so it cannot reconcile.
+     */
+    @Column(nullable = false)
+    private boolean incremental;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = Instant.now();
+    }
+
+    public SyncRun(final String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    public SyncRun(final String sourceName, final boolean incremental) {
+        this.sourceName = sourceName;
+        this.incremental = incremental;
+    }
+}
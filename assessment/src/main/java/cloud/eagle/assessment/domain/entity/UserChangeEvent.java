@@ -0,0 +1,70 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Outbox row describing one change of a {@link FetchedUser}, written in the transaction that made the change.
+ * The id doubles as the cursor downstream consumers read the change feed from.
+ */
+@Entity
+@Table(name = "user_change_events", indexes = {
+    @Index(name = "idx_user_change_events_source_id", columnList = "sourceName,id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String sourceName;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String externalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserChangeType changeType;
+
+    /**
+     * JSON object of changed fields with their previous and new value; null for deletions.
+     */
+    @Lob
+    private String changes;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    public UserChangeEvent(
+        final String sourceName,
+        final Long userId,
+        final String externalId,
+        final UserChangeType changeType,
+        final String changes
+    ) {
+        this.sourceName = sourceName;
+        this.userId = userId;
+        this.externalId = externalId;
+        this.changeType = changeType;
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,19 @@
+package cloud.eagle.assessment.domain.entity;
+
+/**
+ * Kind of change recorded in the user change outbox.
+ */
+public enum UserChangeType {
+    /**
+     * A source returned the user for the first time.
+     */
+    CREATED,
+    /**
+     * Stored fields of the user changed, including a removed user showing up again.
+     */
+    UPDATED,
+    /**
+     * Reconciliation removed the user because its source no longer returns it.
+     */
+    DELETED
+}
@@ -0,0 +1,44 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Canonical identity grouping users fetched from different sources.
+ * Users are linked to an identity by their normalized email address.
+ */
+@Entity
+@Table(name = "user_identities", indexes = {
+    @Index(name = "idx_user_identities_email", columnList = "normalizedEmail", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserIdentity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_identities_seq")
+    @SequenceGenerator(name = "user_identities_seq", sequenceName = "user_identities_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String normalizedEmail;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    public UserIdentity(final String normalizedEmail) {
+        this.normalizedEmail = normalizedEmail;
+    }
+}
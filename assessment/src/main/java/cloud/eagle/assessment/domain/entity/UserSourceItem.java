@@ -0,0 +1,84 @@
+package cloud.eagle.assessment.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * The item a source returned for a user, exactly as received, so the user can be mapped again
+ * after its field mappings changed without fetching it from the source.
+ * Shares the id of its {@link FetchedUser} and lives in its own table, so reading users never
+ * loads their payloads; the database deletes it with its user.
+ */
+@Entity
+@Table(name = "user_source_items", indexes = {
+    @Index(name = "idx_user_source_items_source_user", columnList = "sourceName,userId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserSourceItem implements Persistable<Long> {
+
+    @Id
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private FetchedUser user;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String sourceName;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Whether the item is known not to exist yet, so saving it inserts without looking it up first.
+     */
+    @Transient
+    private boolean newItem;
+
+    public UserSourceItem(final FetchedUser user, final String payload, final boolean newItem) {
+        this.user = user;
+        this.userId = user.getId();
+        this.sourceName = user.getSourceName();
+        this.payload = payload;
+        this.newItem = newItem;
+    }
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newItem;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void onLoaded() {
+        newItem = false;
+    }
+}
@@ -0,0 +1,13 @@
+package cloud.eagle.assessment.domain.event;
+
+import java.util.List;
+
+/**
+ * Published when reconciliation removed users that their source no longer returns.
+ * Listeners react after the sync transaction commits.
+ */
+public record UsersRemovedEvent(
+    String sourceName,
+    List<Long> userIds
+) {
+}
@@ -0,0 +1,13 @@
+package cloud.eagle.assessment.domain.event;
+
+import java.util.List;
+
+/**
+ * Published when a sync stored users, carrying the id of every inserted or updated user.
+ * Listeners react after the sync transaction commits and read the users they need.
+ */
+public record UsersSyncedEvent(
+    String sourceName,
+    List<Long> userIds
+) {
+}
@@ -0,0 +1,20 @@
+package cloud.eagle.assessment.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an API configuration fails validation.
+ */
+public class InvalidConfigurationException extends ApplicationException {
+
+    private final List<String> violations;
+
+    public InvalidConfigurationException(final List<String> violations) {
+        super("Invalid API configuration: " + String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,19 @@
+package cloud.eagle.assessment.exception;
+
+/**
+ * Exception thrown when mapping a single item of a response fails.
+ * Carries the index of the item within the response root array.
+ */
+public class ItemMappingException extends FieldMappingException {
+
+    private final int itemIndex;
+
+    public ItemMappingException(final int itemIndex, final Throwable cause) {
+        super("Failed to map item " + itemIndex + ": " + cause.getMessage(), cause);
+        this.itemIndex = itemIndex;
+    }
+
+    public int getItemIndex() {
+        return itemIndex;
+    }
+}
@@ -0,0 +1,11 @@
+package cloud.eagle.assessment.exception;
+
+/**
+ * Exception thrown when an uploaded user export is in a format that cannot be ingested.
+ */
+public class UnsupportedImportFormatException extends ApplicationException {
+
+    public UnsupportedImportFormatException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package cloud.eagle.assessment.exception;
+
+/**
+ * Exception thrown when no canonical identity matches a lookup.
+ */
+public class UserIdentityNotFoundException extends ApplicationException {
+
+    public UserIdentityNotFoundException(final String email) {
+        super("User identity not found for email: " + email);
+    }
+}
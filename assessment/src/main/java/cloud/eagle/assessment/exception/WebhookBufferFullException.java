@@ -0,0 +1,12 @@
+package cloud.eagle.assessment.exception;
+
+/**
+ * Exception thrown when webhook deliveries arrive faster than they can be stored.
+ * Providers retry rejected deliveries, which slows them down to what the database absorbs.
+ */
+public class WebhookBufferFullException extends ApplicationException {
+
+    public WebhookBufferFullException(final String message) {
+        super(message);
+    }
+}
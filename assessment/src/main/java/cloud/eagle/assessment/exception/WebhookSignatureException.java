@@ -0,0 +1,11 @@
+package cloud.eagle.assessment.exception;
+
+/**
+ * Exception thrown when a webhook delivery is not signed with the source's webhook secret.
+ */
+public class WebhookSignatureException extends ApplicationException {
+
+    public WebhookSignatureException(final String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,25 @@
 package cloud.eagle.assessment.mapper;
 
 import cloud.eagle.assessment.domain.dto.ApiConfigurationDto;
+import cloud.eagle.assessment.domain.dto.DeadLetterItemDto;
 import cloud.eagle.assessment.domain.dto.FetchedUserDto;
 import cloud.eagle.assessment.domain.dto.FieldMappingDto;
+import cloud.eagle.assessment.domain.dto.JoinedEndpointDto;
+import cloud.eagle.assessment.domain.dto.OAuthDto;
+import cloud.eagle.assessment.domain.dto.PaginationDto;
+import cloud.eagle.assessment.domain.dto.WebhookDto;
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
 import cloud.eagle.assessment.domain.entity.FetchedUser;
 import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import cloud.eagle.assessment.domain.entity.PaginationType;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manual mapper for entity to DTO conversions.
@@ -53,8 +65,17 @@ public final class EntityMapper {
             entity.getEndpointUrl(),
             entity.getHttpMethod(),
             entity.getAuthType(),
+            null,
+            toOAuthDto(entity),
             entity.getRequestHeaders(),
+            entity.getRequestQueryTemplate(),
+            entity.getRequestBodyTemplate(),
             entity.getResponseRootPath(),
+            entity.getMaxResponseBytes(),
+            entity.getSpillThresholdBytes(),
+            toPaginationDto(entity),
+            toWebhookDto(entity),
+            toJoinedEndpointDtoList(entity.getJoinedEndpoints()),
             entity.isActive(),
             toFieldMappingDtoList(entity.getFieldMappings()),
             entity.getCreatedAt(),
@@ -62,12 +83,128 @@ public final class EntityMapper {
         );
     }
 
+    /**
+     * Copies the configurable parts of a DTO onto a new or existing entity.
+     * Existing credentials and webhook secrets are kept when the DTO carries none,
+     * so exported configurations can be re-imported. Field mappings are merged by internal field name.
+     */
+    public static ApiConfiguration updateEntity(final ApiConfiguration entity, final ApiConfigurationDto dto) {
+        entity.setSourceName(dto.sourceName());
+        entity.setEndpointUrl(dto.endpointUrl());
+        entity.setHttpMethod(dto.httpMethod());
+        entity.setAuthType(dto.authType());
+        if (dto.authCredentials() != null) {
+            entity.setAuthCredentials(dto.authCredentials());
+        }
+        applyOAuth(entity, dto.oauth());
+        entity.setRequestHeaders(dto.requestHeaders());
+        entity.setRequestQueryTemplate(dto.requestQueryTemplate());
+        entity.setRequestBodyTemplate(dto.requestBodyTemplate());
+        entity.setResponseRootPath(dto.responseRootPath());
+        entity.setMaxResponseBytes(dto.maxResponseBytes());
+        entity.setSpillThresholdBytes(dto.spillThresholdBytes());
+        applyPagination(entity, dto.pagination());
+        applyWebhook(entity, dto.webhook());
+        entity.setActive(dto.active());
+
+        mergeFieldMappings(entity, dto.fieldMappings());
+        new ArrayList<>(entity.getJoinedEndpoints()).forEach(entity::removeJoinedEndpoint);
+        if (dto.joinedEndpoints() != null) {
+            dto.joinedEndpoints().forEach(joined -> entity.addJoinedEndpoint(toEntity(joined)));
+        }
+        return entity;
+    }
+
+    /**
+     * Updates mappings whose internal field name is still configured in place, adds new ones and removes
+     * the rest, so unchanged mappings keep their rows instead of being deleted and inserted again.
+     */
+    private static void mergeFieldMappings(final ApiConfiguration entity, final List<FieldMappingDto> dtos) {
+        final List<FieldMapping> stale = new ArrayList<>(entity.getFieldMappings());
+        final Map<String, FieldMapping> existing = new HashMap<>();
+        stale.forEach(mapping -> existing.putIfAbsent(mapping.getInternalFieldName(), mapping));
+        if (dtos != null) {
+            for (final FieldMappingDto dto : dtos) {
+                final FieldMapping mapping = existing.remove(dto.internalFieldName());
+                if (mapping == null) {
+                    entity.addFieldMapping(toEntity(dto));
+                    continue;
+                }
+                mapping.setJsonPath(dto.jsonPath());
+                mapping.setRequired(dto.required());
+                mapping.setDefaultValue(dto.defaultValue());
+                mapping.setTransforms(dto.transforms());
+                stale.remove(mapping);
+            }
+        }
+        stale.forEach(entity::removeFieldMapping);
+    }
+
     public static List<ApiConfigurationDto> toConfigDtoList(final List<ApiConfiguration> entities) {
         return entities.stream()
             .map(EntityMapper::toDto)
             .toList();
     }
 
+    private static OAuthDto toOAuthDto(final ApiConfiguration entity) {
+        if (entity.getAuthType() != AuthType.OAUTH2_CLIENT_CREDENTIALS) {
+            return null;
+        }
+        return new OAuthDto(entity.getOauthTokenUrl(), entity.getOauthClientId(), entity.getOauthScope());
+    }
+
+    private static void applyOAuth(final ApiConfiguration entity, final OAuthDto dto) {
+        entity.setOauthTokenUrl(dto != null ? dto.tokenUrl() : null);
+        entity.setOauthClientId(dto != null ? dto.clientId() : null);
+        entity.setOauthScope(dto != null ? dto.scope() : null);
+    }
+
+    private static PaginationDto toPaginationDto(final ApiConfiguration entity) {
+        if (!entity.isPaginated()) {
+            return null;
+        }
+        return new PaginationDto(
+            entity.getPaginationType(),
+            entity.getPageParameter(),
+            entity.getPageSizeParameter(),
+            entity.getPageSize(),
+            entity.getTotalCountPath(),
+            entity.getFirstPage(),
+            entity.getMaxConcurrentPages(),
+            entity.isPreservePageOrder()
+        );
+    }
+
+    private static void applyPagination(final ApiConfiguration entity, final PaginationDto dto) {
+        final boolean paginated = dto != null && dto.type() != null && dto.type() != PaginationType.NONE;
+        entity.setPaginationType(paginated ? dto.type() : PaginationType.NONE);
+        entity.setPageParameter(paginated ? dto.pageParameter() : null);
+        entity.setPageSizeParameter(paginated ? dto.pageSizeParameter() : null);
+        entity.setPageSize(paginated ? dto.pageSize() : null);
+        entity.setTotalCountPath(paginated ? dto.totalCountPath() : null);
+        entity.setFirstPage(paginated ? dto.firstPage() : null);
+        entity.setMaxConcurrentPages(paginated ? dto.maxConcurrentPages() : null);
+        entity.setPreservePageOrder(!paginated || dto.preservePageOrder() == null || dto.preservePageOrder());
+    }
+
+    private static WebhookDto toWebhookDto(final ApiConfiguration entity) {
+        if (entity.getWebhookSecret() == null) {
+            return null;
+        }
+        return new WebhookDto(null, entity.getWebhookSignatureHeader(), entity.getWebhookRootPath());
+    }
+
+    private static void applyWebhook(final ApiConfiguration entity, final WebhookDto dto) {
+        if (dto == null) {
+            return;
+        }
+        if (dto.secret() != null) {
+            entity.setWebhookSecret(dto.secret());
+        }
+        entity.setWebhookSignatureHeader(dto.signatureHeader());
+        entity.setWebhookRootPath(dto.rootPath());
+    }
+
     public static FieldMappingDto toDto(final FieldMapping entity) {
         if (entity == null) {
             return null;
@@ -77,14 +214,72 @@ public final class EntityMapper {
             entity.getInternalFieldName(),
             entity.getJsonPath(),
             entity.getDefaultValue(),
-            entity.isRequired()
+            entity.isRequired(),
+            entity.getTransforms()
         );
     }
 
+    public static FieldMapping toEntity(final FieldMappingDto dto) {
+        final FieldMapping entity = new FieldMapping(dto.internalFieldName(), dto.jsonPath(), dto.required());
+        entity.setDefaultValue(dto.defaultValue());
+        entity.setTransforms(dto.transforms());
+        return entity;
+    }
+
     public static List<FieldMappingDto> toFieldMappingDtoList(final List<FieldMapping> entities) {
         return entities.stream()
             .map(EntityMapper::toDto)
             .toList();
     }
-}
 
+    public static JoinedEndpointDto toDto(final JoinedEndpoint entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new JoinedEndpointDto(
+            entity.getId(),
+            entity.getName(),
+            entity.getEndpointUrl(),
+            entity.getResponseRootPath(),
+            entity.getKeyPath(),
+            entity.getParentKeyPath(),
+            entity.isMultiple(),
+            null
+        );
+    }
+
+    public static JoinedEndpoint toEntity(final JoinedEndpointDto dto) {
+        return new JoinedEndpoint(
+            dto.name(),
+            dto.endpointUrl(),
+            dto.responseRootPath(),
+            dto.keyPath(),
+            dto.parentKeyPath(),
+            dto.multiple()
+        );
+    }
+
+    public static List<JoinedEndpointDto> toJoinedEndpointDtoList(final List<JoinedEndpoint> entities) {
+        return entities.stream()
+            .map(EntityMapper::toDto)
+            .toList();
+    }
+
+    public static DeadLetterItemDto toDto(final DeadLetterItem entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new DeadLetterItemDto(
+            entity.getId(),
+            entity.getSourceName(),
+            entity.getRunId(),
+            entity.getItemIndex(),
+            entity.getStage(),
+            entity.getPayload(),
+            entity.getReason(),
+            entity.getAttempts(),
+            entity.getCreatedAt(),
+            entity.getReplayedAt()
+        );
+    }
+}
@@ -1,9 +1,13 @@
 package cloud.eagle.assessment.repository;
 
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,5 +32,43 @@ public interface ApiConfigurationRepository extends JpaRepository<ApiConfigurati
      * @return optional configuration
      */
     Optional<ApiConfiguration> findBySourceNameAndActive(String sourceName, boolean active);
+
+    /**
+     * Find active API configuration by source name with its field mappings loaded in the same query.
+     *
+     * @param sourceName the source name
+     * @param active the active flag
+     * @return optional configuration
+     */
+    @EntityGraph(attributePaths = "fieldMappings")
+    Optional<ApiConfiguration> findWithFieldMappingsBySourceNameAndActive(String sourceName, boolean active);
+
+    /**
+     * Find all API configurations with the given active flag, ordered by source name.
+     * Sorting by the active flag first lets the database read the rows in index order.
+     *
+     * @param active the active flag
+     * @return matching configurations
+     */
+    @Query("select c from ApiConfiguration c where c.active = :active order by c.active, c.sourceName")
+    List<ApiConfiguration> findByActive(boolean active);
+
+    /**
+     * Find API configurations for the given source names with their field mappings.
+     *
+     * @param sourceNames the source names
+     * @return matching configurations
+     */
+    @EntityGraph(attributePaths = "fieldMappings")
+    List<ApiConfiguration> findBySourceNameIn(Collection<String> sourceNames);
+
+    /**
+     * Find all API configurations with their field mappings loaded in a single query.
+     *
+     * @return all configurations ordered by source name
+     */
+    @EntityGraph(attributePaths = "fieldMappings")
+    @Query("select c from ApiConfiguration c order by c.sourceName")
+    List<ApiConfiguration> findAllWithFieldMappings();
 }
 
@@ -0,0 +1,52 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for DeadLetterItem entity.
+ */
+@Repository
+public interface DeadLetterItemRepository extends JpaRepository<DeadLetterItem, Long> {
+
+    /**
+     * Find the items of a source that have not been replayed successfully yet.
+     *
+     * @param sourceName the source name
+     * @param pageable pagination information
+     * @return page of pending items
+     */
+    Page<DeadLetterItem> findBySourceNameAndReplayedAtIsNull(String sourceName, Pageable pageable);
+
+    /**
+     * Find the ids of pending items of a source after a given id, so a replay can walk them in batches
+     * without skipping or repeating items that failed again.
+     *
+     * @param sourceName the source name
+     * @param afterId id the batch continues after
+     * @param limit maximum number of ids
+     * @return pending item ids in ascending order
+     */
+    @Query("""
+        select d.id from DeadLetterItem d
+        where d.sourceName = :sourceName and d.replayedAt is null and d.id > :afterId
+        order by d.id
+        """)
+    List<Long> findPendingIds(String sourceName, long afterId, Limit limit);
+
+    /**
+     * Find items by id in the order they failed.
+     *
+     * @param ids item ids
+     * @return items ordered by id
+     */
+    List<DeadLetterItem> findAllByIdInOrderById(Collection<Long> ids);
+}
@@ -1,11 +1,17 @@
 package cloud.eagle.assessment.repository;
 
 import cloud.eagle.assessment.domain.entity.FetchedUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,6 +38,108 @@ public interface FetchedUserRepository extends JpaRepository<FetchedUser, Long>
      */
     Page<FetchedUser> findBySourceName(String sourceName, Pageable pageable);
 
+    /**
+     * Find fetched users of a source that are not deleted, with pagination.
+     *
+     * @param sourceName the source name
+     * @param pageable pagination information
+     * @return page of fetched users
+     */
+    Page<FetchedUser> findBySourceNameAndDeletedFalse(String sourceName, Pageable pageable);
+
+    /**
+     * Find all fetched users that are not deleted, with pagination.
+     *
+     * @param pageable pagination information
+     * @return page of fetched users
+     */
+    Page<FetchedUser> findByDeletedFalse(Pageable pageable);
+
+    /**
+     * Find the users of a source with any of the given external ids, in one query.
+     *
+     * @param sourceName the source name
+     * @param externalIds external ids to look up
+     * @return users found; ids without a user are absent
+     */
+    List<FetchedUser> findBySourceNameAndExternalIdIn(String sourceName, Collection<String> externalIds);
+
+    /**
+     * Find ids of users of a source that were not seen by the given sync run.
+     *
+     * @param sourceName the source name
+     * @param runId the sync run id
+     * @param runStartedAt start of the run; users pushed since are kept, as the run may have missed them
+     * @return ids of stale users that are not yet deleted
+     */
+    @Query("""
+        select u.id from FetchedUser u
+        where u.sourceName = :sourceName and u.deleted = false
+          and (u.lastSeenRunId is null or u.lastSeenRunId <> :runId)
+          and (u.pushedAt is null or u.pushedAt < :runStartedAt)
+        """)
+    List<Long> findUnseenIds(String sourceName, Long runId, Instant runStartedAt);
+
+    /**
+     * Flag users of a source that were not seen by the given sync run as deleted, in one statement.
+     *
+     * @param sourceName the source name
+     * @param runId the sync run id
+     * @param runStartedAt start of the run
+     * @param deletedAt deletion timestamp
+     * @return number of users flagged
+     */
+    @Modifying
+    @Query("""
+        update FetchedUser u set u.deleted = true, u.deletedAt = :deletedAt
+        where u.sourceName = :sourceName and u.deleted = false
+          and (u.lastSeenRunId is null or u.lastSeenRunId <> :runId)
+          and (u.pushedAt is null or u.pushedAt < :runStartedAt)
+        """)
+    int markUnseenDeleted(String sourceName, Long runId, Instant runStartedAt, Instant deletedAt);
+
+    /**
+     * Delete users of a source that were not seen by the given sync run, in one statement.
+     *
+     * @param sourceName the source name
+     * @param runId the sync run id
+     * @param runStartedAt start of the run
+     * @return number of users deleted
+     */
+    @Modifying
+    @Query("""
+        delete from FetchedUser u
+        where u.sourceName = :sourceName
+          and (u.lastSeenRunId is null or u.lastSeenRunId <> :runId)
+          and (u.pushedAt is null or u.pushedAt < :runStartedAt)
+        """)
+    int deleteUnseen(String sourceName, Long runId, Instant runStartedAt);
+
+    /**
+     * Find fetched users with the given email across all sources.
+     *
+     * @param email the email address, matched exactly
+     * @return users from every source sharing the email
+     */
+    List<FetchedUser> findByEmail(String email);
+
+    /**
+     * Find the next batch of users after the given id, for keyset-ordered scans.
+     *
+     * @param id the last id already read
+     * @param limit maximum batch size
+     * @return users ordered by id
+     */
+    List<FetchedUser> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Find all users linked to a canonical identity.
+     *
+     * @param identityId the identity id
+     * @return users from every source merged into the identity
+     */
+    List<FetchedUser> findByIdentityIdOrderById(Long identityId);
+
     /**
      * Check if a user exists by source name and external ID.
      *
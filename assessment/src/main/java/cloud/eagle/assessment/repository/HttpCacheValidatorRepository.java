@@ -0,0 +1,32 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.HttpCacheValidator;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for HttpCacheValidator entity.
+ */
+@Repository
+public interface HttpCacheValidatorRepository extends JpaRepository<HttpCacheValidator, Long> {
+
+    /**
+     * Find the validators stored for a request URL of a source.
+     *
+     * @param sourceName the source name
+     * @param requestUrl the request URL
+     * @return optional validators
+     */
+    Optional<HttpCacheValidator> findBySourceNameAndRequestUrl(String sourceName, String requestUrl);
+
+    /**
+     * Find all validators stored for a source.
+     *
+     * @param sourceName the source name
+     * @return validators of every request URL
+     */
+    List<HttpCacheValidator> findBySourceName(String sourceName);
+}
@@ -0,0 +1,30 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.SyncRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for SyncRun entity.
+ */
+@Repository
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+
+    /**
+     * Find the most recently started completed run of a source.
+     *
+     * @param sourceName the source name
+     * @return the run, empty if the source has none
+     */
+    Optional<SyncRun> findFirstBySourceNameAndCompletedAtIsNotNullOrderByStartedAtDesc(String sourceName);
+
+    /**
+     * Find the most recently started completed run of a source that requested its full user set.
+     *
+     * @param sourceName the source name
+     * @return the run, empty if the source has none
+     */
+    Optional<SyncRun> findFirstBySourceNameAndIncrementalFalseAndCompletedAtIsNotNullOrderByStartedAtDesc(String sourceName);
+}
@@ -0,0 +1,70 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.UserChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for UserChangeEvent entity.
+ */
+@Repository
+public interface UserChangeEventRepository extends JpaRepository<UserChangeEvent, Long> {
+
+    /**
+     * Find change events in a cursor range, oldest first.
+     *
+     * @param after cursor; only events with a greater id are returned
+     * @param before exclusive upper bound of the ids returned
+     * @param pageable maximum number of events
+     * @return change events ordered by id
+     */
+    List<UserChangeEvent> findByIdGreaterThanAndIdLessThanOrderById(long after, long before, Pageable pageable);
+
+    /**
+     * Find change events of one source in a cursor range, oldest first.
+     *
+     * @param sourceName the source name
+     * @param after cursor; only events with a greater id are returned
+     * @param before exclusive upper bound of the ids returned
+     * @param pageable maximum number of events
+     * @return change events ordered by id
+     */
+    List<UserChangeEvent> findBySourceNameAndIdGreaterThanAndIdLessThanOrderById(
+        String sourceName, long after, long before, Pageable pageable);
+
+    /**
+     * Find the highest event id visible to the current transaction.
+     *
+     * @return highest id, or 0 if the outbox is empty
+     */
+    @Query("select coalesce(max(e.id), 0) from UserChangeEvent e")
+    long findMaxId();
+
+    /**
+     * Record a deletion event for every user of a source that the given sync run did not see,
+     * in one statement, before reconciliation removes them.
+     *
+     * @param sourceName the source name
+     * @param runId the sync run id
+     * @param runStartedAt start of the run, after which pushed users count as seen
+     * @param createdAt event timestamp
+     * @return number of events recorded
+     */
+    @Modifying
+    @Query("""
+        insert into UserChangeEvent (sourceName, userId, externalId, changeType, createdAt)
+        select u.sourceName, u.id, u.externalId,
+               cloud.eagle.assessment.domain.entity.UserChangeType.DELETED, :createdAt
+        from FetchedUser u
+        where u.sourceName = :sourceName and u.deleted = false
+          and (u.lastSeenRunId is null or u.lastSeenRunId <> :runId)
+          and (u.pushedAt is null or u.pushedAt < :runStartedAt)
+        """)
+    int insertDeletionsOfUnseen(String sourceName, Long runId, Instant runStartedAt, Instant createdAt);
+}
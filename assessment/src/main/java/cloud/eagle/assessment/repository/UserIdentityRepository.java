@@ -0,0 +1,32 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.UserIdentity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for UserIdentity entity.
+ */
+@Repository
+public interface UserIdentityRepository extends JpaRepository<UserIdentity, Long> {
+
+    /**
+     * Find identity by normalized email.
+     *
+     * @param normalizedEmail the normalized email
+     * @return optional identity
+     */
+    Optional<UserIdentity> findByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * Find identities for the given normalized emails.
+     *
+     * @param normalizedEmails the normalized emails
+     * @return matching identities
+     */
+    List<UserIdentity> findByNormalizedEmailIn(Collection<String> normalizedEmails);
+}
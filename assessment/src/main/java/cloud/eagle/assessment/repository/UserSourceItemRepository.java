@@ -0,0 +1,40 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.UserSourceItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for UserSourceItem entity.
+ */
+@Repository
+public interface UserSourceItemRepository extends JpaRepository<UserSourceItem, Long> {
+
+    /**
+     * Find the next batch of source items of a source in user id order, for keyset-paginated scans.
+     *
+     * @param sourceName the source name
+     * @param userId exclusive lower bound, the last user id of the previous batch
+     * @param limit batch size
+     * @return source items ordered by user id
+     */
+    List<UserSourceItem> findBySourceNameAndUserIdGreaterThanOrderByUserId(String sourceName, Long userId, Limit limit);
+
+    /**
+     * Replace the payload of a user's stored item without loading it.
+     *
+     * @param userId the user id
+     * @param payload new payload
+     * @param updatedAt update timestamp
+     * @return number of items updated, 0 if the user has none
+     */
+    @Modifying
+    @Query("update UserSourceItem i set i.payload = :payload, i.updatedAt = :updatedAt where i.userId = :userId")
+    int updatePayload(Long userId, String payload, Instant updatedAt);
+}
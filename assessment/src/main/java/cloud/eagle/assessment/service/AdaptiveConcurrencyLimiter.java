@@ -0,0 +1,270 @@
+package cloud.eagle.assessment.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Limits the requests in flight to each source to a limit that adapts to how the provider copes.
+ * The limit grows by one for every limit's worth of successful requests while latency stays close to
+ * its long-term average, and is cut by the backoff ratio, at most once per round trip and never more
+ * often than a minimum interval, when the short-term latency climbs past the tolerance or the provider
+ * throttles, fails or times out.
+ * Requests above the limit wait in order of arrival without holding a thread.
+ */
+@Service
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    static final String LIMIT_METRIC = "sync.concurrency.limit";
+    static final String IN_FLIGHT_METRIC = "sync.concurrency.in-flight";
+
+    /**
+     * Weights of a new latency sample in the short-term and long-term averages.
+     */
+    private static final double SHORT_RTT_WEIGHT = 0.2;
+    private static final double LONG_RTT_WEIGHT = 0.02;
+
+    /**
+     * Shortest time between two backoffs, so a burst of failures before the first latency sample,
+     * or with very short round trips, lowers the limit only once.
+     */
+    private static final long MIN_BACKOFF_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final ConcurrentHashMap<String, SourceLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(
+        final MeterRegistry meterRegistry,
+        @Value("${sync.concurrency.initial-limit:4}") final int initialLimit,
+        @Value("${sync.concurrency.min-limit:1}") final int minLimit,
+        @Value("${sync.concurrency.max-limit:64}") final int maxLimit,
+        @Value("${sync.concurrency.latency-tolerance:2.0}") final double latencyTolerance,
+        @Value("${sync.concurrency.backoff-ratio:0.75}") final double backoffRatio
+    ) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (latencyTolerance < 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Latency tolerance must be at least 1 and backoff ratio between 0 and 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Run a request once the source is below its limit, feeding its outcome back into the limit.
+     *
+     * @param sourceName source the request goes to
+     * @param request request, subscribed once a slot is free
+     * @return the request's result
+     */
+    public <T> Mono<T> limit(final String sourceName, final Mono<T> request) {
+        return Mono.defer(() -> {
+            final SourceLimit limit = limits.computeIfAbsent(sourceName, this::register);
+            return Mono.<Long>create(limit::acquire)
+                .flatMap(started -> track(limit, request, started));
+        });
+    }
+
+    /**
+     * Run a request only if the source is below its limit right now, without waiting for a slot.
+     *
+     * @param sourceName source the request goes to
+     * @param request request, subscribed only if a slot is free
+     * @return the request's result, or empty without sending it if no slot is free
+     */
+    public <T> Mono<T> tryLimit(final String sourceName, final Mono<T> request) {
+        return Mono.defer(() -> {
+            final SourceLimit limit = limits.computeIfAbsent(sourceName, this::register);
+            return limit.tryAcquire()
+                ? track(limit, request, System.nanoTime())
+                : Mono.empty();
+        });
+    }
+
+    private static <T> Mono<T> track(final SourceLimit limit, final Mono<T> request, final long started) {
+        return request
+            .doOnSuccess(value -> limit.release(Outcome.SUCCESS, System.nanoTime() - started))
+            .doOnError(e -> limit.release(outcome(e), System.nanoTime() - started))
+            .doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limit.release(Outcome.IGNORED, 0);
+                }
+            });
+    }
+
+    /**
+     * Current limit of a source, or the initial limit if it was not called yet.
+     *
+     * @param sourceName source name
+     * @return requests allowed in flight
+     */
+    public int currentLimit(final String sourceName) {
+        final SourceLimit limit = limits.get(sourceName);
+        return limit != null ? limit.permits() : initialLimit;
+    }
+
+    private SourceLimit register(final String sourceName) {
+        final SourceLimit limit = new SourceLimit(sourceName);
+        Gauge.builder(LIMIT_METRIC, limit, SourceLimit::permits)
+            .description("Requests allowed in flight to the source")
+            .tag("source", sourceName)
+            .strongReference(true)
+            .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limit, SourceLimit::inFlight)
+            .description("Requests in flight to the source")
+            .tag("source", sourceName)
+            .strongReference(true)
+            .register(meterRegistry);
+        return limit;
+    }
+
+    /**
+     * Throttling, server errors, timeouts and failed connections mean the provider is overloaded.
+     * Other client errors say nothing about its load.
+     */
+    private static Outcome outcome(final Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == 429 || response.getStatusCode().is5xxServerError()
+                ? Outcome.OVERLOAD
+                : Outcome.IGNORED;
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException
+            ? Outcome.OVERLOAD
+            : Outcome.IGNORED;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        OVERLOAD,
+        IGNORED
+    }
+
+    /**
+     * Limit, latency averages and waiting requests of one source, guarded by its monitor.
+     */
+    private final class SourceLimit {
+
+        private final String sourceName;
+        private final Queue<MonoSink<Long>> waiting = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private int inFlight;
+        private double shortRttNanos;
+        private double longRttNanos;
+        private long lastBackoffNanos;
+
+        private SourceLimit(final String sourceName) {
+            this.sourceName = sourceName;
+        }
+
+        synchronized int permits() {
+            return (int) limit;
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+
+        synchronized void acquire(final MonoSink<Long> sink) {
+            if (tryAcquire()) {
+                sink.success(System.nanoTime());
+                return;
+            }
+            waiting.add(sink);
+            sink.onCancel(() -> cancel(sink));
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight < permits() && waiting.isEmpty()) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        }
+
+        void release(final Outcome outcome, final long rttNanos) {
+            final Queue<MonoSink<Long>> admitted = new ArrayDeque<>();
+            synchronized (this) {
+                inFlight--;
+                final boolean fullyUsed = inFlight + 1 >= permits();
+                switch (outcome) {
+                    case SUCCESS -> sample(rttNanos, fullyUsed);
+                    case OVERLOAD -> backoff("provider overloaded");
+                    case IGNORED -> {
+                        // Neither raises nor lowers the limit
+                    }
+                }
+                while (inFlight < permits() && !waiting.isEmpty()) {
+                    inFlight++;
+                    admitted.add(waiting.poll());
+                }
+            }
+            // Admitted requests start outside the monitor, as they may complete synchronously
+            final long now = System.nanoTime();
+            admitted.forEach(sink -> sink.success(now));
+        }
+
+        private void cancel(final MonoSink<Long> sink) {
+            final boolean queued;
+            synchronized (this) {
+                queued = waiting.remove(sink);
+            }
+            if (!queued) {
+                // Admitted just before the cancellation, so its request never started
+                release(Outcome.IGNORED, 0);
+            }
+        }
+
+        private void sample(final long rttNanos, final boolean fullyUsed) {
+            if (longRttNanos == 0) {
+                shortRttNanos = rttNanos;
+                longRttNanos = rttNanos;
+                return;
+            }
+            shortRttNanos += SHORT_RTT_WEIGHT * (rttNanos - shortRttNanos);
+            longRttNanos += LONG_RTT_WEIGHT * (rttNanos - longRttNanos);
+            if (shortRttNanos > longRttNanos * latencyTolerance) {
+                backoff("latency rising");
+            } else if (fullyUsed) {
+                // A limit the source did not reach says nothing about whether it could take more
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+
+        private void backoff(final String reason) {
+            final long now = System.nanoTime();
+            if (lastBackoffNanos != 0 && now - lastBackoffNanos < Math.max(shortRttNanos, MIN_BACKOFF_INTERVAL_NANOS)) {
+                return;
+            }
+            lastBackoffNanos = now;
+            final int before = permits();
+            limit = Math.max(minLimit, limit * backoffRatio);
+            if (permits() != before) {
+                log.info("Lowered concurrency limit: sourceName={}, limit={}, reason={}", sourceName, permits(), reason);
+            }
+        }
+    }
+}
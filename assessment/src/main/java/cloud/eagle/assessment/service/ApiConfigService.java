@@ -1,15 +1,33 @@
 package cloud.eagle.assessment.service;
 
 import cloud.eagle.assessment.domain.dto.ApiConfigurationDto;
+import cloud.eagle.assessment.domain.dto.BulkConfigurationResponse;
+import cloud.eagle.assessment.domain.dto.FieldMappingDto;
+import cloud.eagle.assessment.domain.dto.JoinedEndpointDto;
+import cloud.eagle.assessment.domain.dto.OAuthDto;
+import cloud.eagle.assessment.domain.dto.PaginationDto;
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.PaginationType;
 import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import cloud.eagle.assessment.exception.InvalidConfigurationException;
 import cloud.eagle.assessment.mapper.EntityMapper;
 import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing API configurations.
@@ -19,10 +37,20 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ApiConfigService {
 
+    private static final String EXTERNAL_ID_FIELD = "externalId";
+
     private final ApiConfigurationRepository repository;
+    private final MappingPlanCache mappingPlanCache;
+    private final ObjectMapper objectMapper;
 
-    public ApiConfigService(final ApiConfigurationRepository repository) {
+    public ApiConfigService(
+        final ApiConfigurationRepository repository,
+        final MappingPlanCache mappingPlanCache,
+        final ObjectMapper objectMapper
+    ) {
         this.repository = repository;
+        this.mappingPlanCache = mappingPlanCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -74,4 +102,176 @@ public class ApiConfigService {
         log.info("Saving API configuration for source: {}", configuration.getSourceName());
         return repository.save(configuration);
     }
+
+    /**
+     * Export all API configurations with their field mappings, without credentials.
+     *
+     * @return list of configuration DTOs ordered by source name
+     */
+    public List<ApiConfigurationDto> exportConfigurations() {
+        log.debug("Exporting all API configurations");
+        return EntityMapper.toConfigDtoList(repository.findAllWithFieldMappings());
+    }
+
+    /**
+     * Create or update many API configurations in a single transaction.
+     * Every JsonPath expression is validated up front; nothing is persisted if any configuration is invalid.
+     * Accepted configurations have their mapping plans precompiled so the first sync skips compilation.
+     *
+     * @param dtos the configurations to import, keyed by source name
+     * @return import statistics
+     * @throws InvalidConfigurationException if any configuration is invalid
+     */
+    @Transactional
+    public BulkConfigurationResponse importConfigurations(final List<ApiConfigurationDto> dtos) {
+        log.info("Importing {} API configurations", dtos.size());
+
+        final List<String> violations = new ArrayList<>();
+        final Set<String> sourceNames = new HashSet<>();
+        for (final ApiConfigurationDto dto : dtos) {
+            if (!sourceNames.add(dto.sourceName())) {
+                violations.add(dto.sourceName() + ": duplicate source name in request");
+            }
+            validate(dto, violations);
+        }
+        if (!violations.isEmpty()) {
+            throw new InvalidConfigurationException(violations);
+        }
+
+        final Map<String, ApiConfiguration> existing = new HashMap<>();
+        repository.findBySourceNameIn(sourceNames)
+            .forEach(config -> existing.put(config.getSourceName(), config));
+
+        final List<ApiConfiguration> configs = new ArrayList<>(dtos.size());
+        for (final ApiConfigurationDto dto : dtos) {
+            final ApiConfiguration config = existing.containsKey(dto.sourceName())
+                ? existing.get(dto.sourceName())
+                : new ApiConfiguration();
+            configs.add(EntityMapper.updateEntity(config, dto));
+        }
+
+        repository.saveAll(configs);
+        repository.flush();
+        configs.forEach(mappingPlanCache::precompile);
+
+        final int updated = existing.size();
+        log.info("Imported API configurations: created={}, updated={}", configs.size() - updated, updated);
+        return new BulkConfigurationResponse(
+            dtos.size(),
+            configs.size() - updated,
+            updated,
+            configs.stream().map(ApiConfiguration::getSourceName).toList()
+        );
+    }
+
+    private void validate(final ApiConfigurationDto dto, final List<String> violations) {
+        final String source = dto.sourceName();
+
+        if (dto.responseRootPath() != null) {
+            validateJsonPath(source, "responseRootPath", dto.responseRootPath(), violations);
+        }
+
+        if (dto.authType() == AuthType.OAUTH2_CLIENT_CREDENTIALS) {
+            final OAuthDto oauth = dto.oauth();
+            if (oauth == null || oauth.tokenUrl() == null || oauth.tokenUrl().isBlank()) {
+                violations.add(source + ": OAuth2 auth requires an oauth tokenUrl");
+            }
+            if (oauth == null || oauth.clientId() == null || oauth.clientId().isBlank()) {
+                violations.add(source + ": OAuth2 auth requires an oauth clientId");
+            }
+        }
+
+        if (dto.requestHeaders() != null && !dto.requestHeaders().isBlank()) {
+            try {
+                objectMapper.readValue(dto.requestHeaders(), Map.class);
+            } catch (final Exception e) {
+                violations.add(source + ": requestHeaders is not a JSON object");
+            }
+        }
+
+        for (final String template : Arrays.asList(dto.requestQueryTemplate(), dto.requestBodyTemplate())) {
+            RequestTemplate.placeholders(template).stream()
+                .filter(name -> !RequestTemplate.VARIABLES.contains(name))
+                .forEach(name -> violations.add(source + ": unknown request template variable {" + name + "}"));
+        }
+        if (dto.requestBodyTemplate() != null && !dto.requestBodyTemplate().isBlank()) {
+            if (dto.httpMethod() != HttpMethod.POST) {
+                violations.add(source + ": requestBodyTemplate requires httpMethod POST");
+            }
+            try {
+                objectMapper.readValue(dto.requestBodyTemplate(), Map.class);
+            } catch (final Exception e) {
+                violations.add(source + ": requestBodyTemplate is not a JSON object");
+            }
+        }
+
+        if (dto.maxResponseBytes() != null && dto.spillThresholdBytes() != null
+            && dto.spillThresholdBytes() > dto.maxResponseBytes()) {
+            violations.add(source + ": spillThresholdBytes must not exceed maxResponseBytes");
+        }
+
+        final PaginationDto pagination = dto.pagination();
+        if (pagination != null && pagination.type() != null && pagination.type() != PaginationType.NONE) {
+            if (pagination.pageParameter() == null || pagination.pageParameter().isBlank()) {
+                violations.add(source + ": pagination requires a pageParameter");
+            }
+            if (pagination.pageSize() == null) {
+                violations.add(source + ": pagination requires a pageSize");
+            }
+            if (pagination.totalCountPath() == null) {
+                violations.add(source + ": pagination requires a totalCountPath");
+            } else {
+                validateJsonPath(source, "totalCountPath", pagination.totalCountPath(), violations);
+            }
+        }
+
+        if (dto.webhook() != null && dto.webhook().rootPath() != null) {
+            validateJsonPath(source, "webhook rootPath", dto.webhook().rootPath(), violations);
+        }
+
+        final List<JoinedEndpointDto> joinedEndpoints = dto.joinedEndpoints() != null ? dto.joinedEndpoints() : List.of();
+        final Set<String> joinedNames = new HashSet<>();
+        for (final JoinedEndpointDto joined : joinedEndpoints) {
+            if (!joinedNames.add(joined.name())) {
+                violations.add(source + ": duplicate joined endpoint name " + joined.name());
+            }
+            if (joined.responseRootPath() != null) {
+                validateJsonPath(source, joined.name() + " responseRootPath", joined.responseRootPath(), violations);
+            }
+            validateJsonPath(source, joined.name() + " keyPath", joined.keyPath(), violations);
+            validateJsonPath(source, joined.name() + " parentKeyPath", joined.parentKeyPath(), violations);
+            if (joined.pagination() != null && joined.pagination().type() != null
+                && joined.pagination().type() != PaginationType.NONE) {
+                violations.add(source + ": joined endpoint " + joined.name() + " cannot be paginated");
+            }
+        }
+
+        final List<FieldMappingDto> mappings = dto.fieldMappings() != null ? dto.fieldMappings() : List.of();
+        boolean hasExternalId = false;
+        for (final FieldMappingDto mapping : mappings) {
+            validateJsonPath(source, mapping.internalFieldName(), mapping.jsonPath(), violations);
+            try {
+                FieldTransforms.compile(mapping.transforms());
+            } catch (final IllegalArgumentException e) {
+                violations.add(source + ": invalid transforms for " + mapping.internalFieldName() + ": " + e.getMessage());
+            }
+            hasExternalId |= EXTERNAL_ID_FIELD.equals(mapping.internalFieldName());
+        }
+        if (!hasExternalId) {
+            violations.add(source + ": missing field mapping for " + EXTERNAL_ID_FIELD);
+        }
+    }
+
+    private void validateJsonPath(
+        final String source,
+        final String field,
+        final String jsonPath,
+        final List<String> violations
+    ) {
+        try {
+            JsonPath.compile(jsonPath);
+        } catch (final InvalidPathException e) {
+            violations.add(source + ": invalid JsonPath for " + field + " '" + jsonPath + "': " + e.getMessage());
+        }
+    }
 }
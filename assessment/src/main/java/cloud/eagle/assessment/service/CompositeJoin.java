@@ -0,0 +1,125 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import com.jayway.jsonpath.JsonPath;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Items of a composite source's joined endpoints, each endpoint's items held in a hash table by join key.
+ * Attaching them to the user items costs one lookup per item and endpoint, instead of one detail call
+ * per user. Keys are compared as text, so a numeric key matches the same key sent as a string; integral
+ * numbers are written without a fraction, so a key parsed as {@code 1.0} matches one parsed as {@code 1}.
+ */
+final class CompositeJoin {
+
+    /**
+     * Join of a source without joined endpoints, which leaves items untouched.
+     */
+    static final CompositeJoin NONE = new CompositeJoin(List.of());
+
+    private final List<Index> indexes;
+
+    CompositeJoin(final List<Index> indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * Builds the hash table of one joined endpoint from the items at its response root.
+     *
+     * @param endpoint joined endpoint
+     * @param root items of the endpoint's response, or a single item
+     * @return items by join key; items without a key are left out
+     */
+    static Index index(final JoinedEndpoint endpoint, final Object root) {
+        final MappingPlan.CompiledField key = compileKey(endpoint.getKeyPath());
+        final List<?> items = root instanceof List<?> list ? list : root == null ? List.of() : List.of(root);
+        final Map<String, Object> matches = HashMap.newHashMap(items.size());
+        for (final Object item : items) {
+            final String value = keyOf(key.read(item));
+            if (value == null) {
+                continue;
+            }
+            if (endpoint.isMultiple()) {
+                @SuppressWarnings("unchecked")
+                final List<Object> group = (List<Object>) matches.computeIfAbsent(value, k -> new ArrayList<>(1));
+                group.add(item);
+            } else {
+                matches.putIfAbsent(value, item);
+            }
+        }
+        return new Index(endpoint.getName(), compileKey(endpoint.getParentKeyPath()), endpoint.isMultiple(), matches);
+    }
+
+    /**
+     * Attaches the matching items of every joined endpoint to the user items, in place.
+     * A single-match endpoint without a match attaches nothing; a multiple-match endpoint attaches an empty array.
+     *
+     * @param root user items at the response root path, or a single item
+     */
+    void attachTo(final Object root) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (root instanceof List<?> items) {
+            for (final Object item : items) {
+                attachToItem(item);
+            }
+        } else {
+            attachToItem(root);
+        }
+    }
+
+    private void attachToItem(final Object item) {
+        if (!(item instanceof Map<?, ?>)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> target = (Map<String, Object>) item;
+        for (final Index index : indexes) {
+            final String value = keyOf(index.parentKey().read(item));
+            final Object match = value != null ? index.matches().get(value) : null;
+            if (match != null) {
+                target.put(index.name(), match);
+            } else if (index.multiple()) {
+                target.put(index.name(), List.of());
+            }
+        }
+    }
+
+    private static MappingPlan.CompiledField compileKey(final String keyPath) {
+        return new MappingPlan.CompiledField(
+            keyPath, JsonPath.compile(keyPath), MappingPlan.toPropertyChain(keyPath), false, null, null);
+    }
+
+    static String keyOf(final Object value) {
+        if (value instanceof Number number) {
+            return numberKey(number);
+        }
+        return value instanceof String || value instanceof Boolean ? value.toString() : null;
+    }
+
+    private static String numberKey(final Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+        }
+        if (number instanceof Double || number instanceof Float) {
+            final double value = number.doubleValue();
+            // Beyond 2^53 a double no longer holds every integer, so such keys keep their own text
+            if (value == Math.rint(value) && Math.abs(value) < 0x1p53) {
+                return Long.toString((long) value);
+            }
+        }
+        return number.toString();
+    }
+
+    /**
+     * Hash table of one joined endpoint: matching items, or lists of them, by join key.
+     */
+    record Index(String name, MappingPlan.CompiledField parentKey, boolean multiple, Map<String, Object> matches) {
+    }
+}
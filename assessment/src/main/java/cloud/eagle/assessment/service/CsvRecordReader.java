@@ -0,0 +1,123 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.FieldMappingException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads comma-separated values with a header row. Fields may be quoted, with doubled quotes inside
+ * quoted fields and line breaks allowed in them. Empty fields are left out of the record, so they
+ * read as absent and fall back to the field mapping's default. A record longer than the record limit
+ * fails the file, since an unterminated quote would otherwise buffer the rest of it.
+ */
+final class CsvRecordReader implements ImportRecordReader {
+
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final int maxRecordChars;
+    private final List<String> header;
+    private final StringBuilder field = new StringBuilder();
+    private List<String> fields;
+    private long recordNumber;
+
+    CsvRecordReader(final BufferedReader reader, final int maxRecordChars) throws IOException {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+        final List<String> firstRecord = readRecord();
+        this.header = firstRecord != null ? firstRecord.stream().map(String::trim).toList() : List.of();
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        do {
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.getFirst().isEmpty());
+        return fields != null;
+    }
+
+    @Override
+    public Object document() {
+        if (fields.size() != header.size()) {
+            throw new FieldMappingException(
+                "Expected " + header.size() + " CSV columns but found " + fields.size());
+        }
+        return toRow(fields.size());
+    }
+
+    /**
+     * The row keyed by its header, as the field mappings read it, so a dead letter can be replayed.
+     * A row with the wrong number of columns keeps the columns that have a header, and the rest under
+     * their position.
+     */
+    @Override
+    public String payload() {
+        final Map<String, Object> row = toRow(Math.min(fields.size(), header.size()));
+        for (int i = header.size(); i < fields.size(); i++) {
+            row.put(String.valueOf(i), fields.get(i));
+        }
+        return ExternalApiService.toItemJson(row);
+    }
+
+    private Map<String, Object> toRow(final int columns) {
+        final Map<String, Object> row = new LinkedHashMap<>(header.size() * 2);
+        for (int i = 0; i < columns; i++) {
+            final String value = fields.get(i);
+            if (!value.isEmpty()) {
+                row.put(header.get(i), value);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Reads the fields of one record, or null at the end of the file.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == END) {
+            return null;
+        }
+        recordNumber++;
+        final List<String> values = new ArrayList<>(header != null ? header.size() : 16);
+        boolean quoted = false;
+        int recordChars = 0;
+        field.setLength(0);
+        while (true) {
+            if (++recordChars > maxRecordChars) {
+                throw new FieldMappingException(
+                    "CSV record " + recordNumber + " exceeds " + maxRecordChars + " characters");
+            }
+            if (quoted) {
+                if (c == END) {
+                    throw new FieldMappingException("Unterminated quoted field in CSV record " + recordNumber);
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == END) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
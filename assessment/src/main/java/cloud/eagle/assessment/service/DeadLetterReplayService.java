@@ -0,0 +1,75 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.ReplayDeadLettersResponse;
+import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Replays the pending dead-letter items of a source with its current configuration, without calling the
+ * provider. Items are read in batches ordered by id, each batch continuing after the last id of the
+ * previous one, so items that fail again are not picked up twice. Each batch is written in its own
+ * transaction, so a large backlog neither holds one long transaction nor loads every item at once.
+ */
+@Service
+@Slf4j
+public class DeadLetterReplayService {
+
+    private final ApiConfigService apiConfigService;
+    private final DeadLetterService deadLetterService;
+    private final UserFetchService userFetchService;
+    private final int batchSize;
+
+    public DeadLetterReplayService(
+        final ApiConfigService apiConfigService,
+        final DeadLetterService deadLetterService,
+        final UserFetchService userFetchService,
+        @Value("${dead-letter.replay.batch-size:500}") final int batchSize
+    ) {
+        this.apiConfigService = apiConfigService;
+        this.deadLetterService = deadLetterService;
+        this.userFetchService = userFetchService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Replay the pending dead-letter items of a source.
+     * Items that fail again stay pending with the new reason; items whose user changed after they failed
+     * are marked replayed without overwriting it.
+     *
+     * @param sourceName the source name
+     * @return replay statistics
+     * @throws ApiConfigurationNotFoundException if the source has no active configuration
+     */
+    public ReplayDeadLettersResponse replay(final String sourceName) {
+        log.info("Replaying dead-letter items from source: {}", sourceName);
+        apiConfigService.findActiveConfiguration(sourceName);
+
+        int replayedCount = 0;
+        int failedCount = 0;
+        long lastId = 0;
+        while (true) {
+            final List<Long> batch = deadLetterService.findPendingIds(sourceName, lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.getLast();
+            final ReplayBatchResult result = userFetchService.replayDeadLetterBatch(sourceName, batch);
+            replayedCount += result.replayed();
+            failedCount += result.failed();
+        }
+
+        log.info("Completed dead-letter replay for source: {}, replayed={}, failed={}",
+            sourceName, replayedCount, failedCount);
+
+        return new ReplayDeadLettersResponse(
+            sourceName,
+            replayedCount,
+            failedCount,
+            "Replayed " + replayedCount + " items from " + sourceName + ", " + failedCount + " still failing"
+        );
+    }
+}
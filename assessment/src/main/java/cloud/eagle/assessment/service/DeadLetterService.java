@@ -0,0 +1,95 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.DeadLetterItemDto;
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
+import cloud.eagle.assessment.mapper.EntityMapper;
+import cloud.eagle.assessment.repository.DeadLetterItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stores items a sync could not map or store, and tracks their replay.
+ * Items are written in the sync's transaction, so a sync that is rolled back leaves no dead letters behind.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class DeadLetterService {
+
+    private static final int MAX_REASON_LENGTH = 1000;
+
+    private final DeadLetterItemRepository deadLetterItemRepository;
+
+    public DeadLetterService(final DeadLetterItemRepository deadLetterItemRepository) {
+        this.deadLetterItemRepository = deadLetterItemRepository;
+    }
+
+    /**
+     * Store a failed item.
+     *
+     * @param sourceName the source name
+     * @param runId id of the sync run the item failed in
+     * @param itemIndex position of the item in its response or page, or null if unknown
+     * @param stage step the item failed at
+     * @param payload raw item JSON for mapping failures, mapped user JSON for persistence failures
+     * @param reason why the item failed
+     * @return the stored item
+     */
+    @Transactional
+    public DeadLetterItem record(
+        final String sourceName,
+        final Long runId,
+        final Integer itemIndex,
+        final DeadLetterStage stage,
+        final String payload,
+        final String reason
+    ) {
+        log.warn("Dead-lettering item from source: {}, runId={}, index={}, stage={}, reason={}",
+            sourceName, runId, itemIndex, stage, reason);
+        return deadLetterItemRepository.save(
+            new DeadLetterItem(sourceName, runId, itemIndex, stage, payload, truncate(reason)));
+    }
+
+    /**
+     * Get the items of a source still waiting for a successful replay.
+     *
+     * @param sourceName the source name
+     * @param pageable pagination information
+     * @return page of dead-letter DTOs
+     */
+    public Page<DeadLetterItemDto> getPendingItems(final String sourceName, final Pageable pageable) {
+        log.debug("Retrieving dead-letter items from source: {}, page: {}", sourceName, pageable.getPageNumber());
+        return deadLetterItemRepository.findBySourceNameAndReplayedAtIsNull(sourceName, pageable)
+            .map(EntityMapper::toDto);
+    }
+
+    List<Long> findPendingIds(final String sourceName, final long afterId, final int limit) {
+        return deadLetterItemRepository.findPendingIds(sourceName, afterId, Limit.of(limit));
+    }
+
+    List<DeadLetterItem> findAllById(final List<Long> ids) {
+        return deadLetterItemRepository.findAllByIdInOrderById(ids);
+    }
+
+    void markReplayed(final DeadLetterItem item) {
+        item.setReplayedAt(Instant.now());
+    }
+
+    void markFailedAgain(final DeadLetterItem item, final String reason) {
+        item.setAttempts(item.getAttempts() + 1);
+        item.setReason(truncate(reason));
+    }
+
+    private static String truncate(final String reason) {
+        final String text = reason != null ? reason : "Unknown error";
+        return text.length() > MAX_REASON_LENGTH ? text.substring(0, MAX_REASON_LENGTH) : text;
+    }
+}
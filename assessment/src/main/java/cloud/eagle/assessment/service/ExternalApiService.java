@@ -2,21 +2,37 @@ package cloud.eagle.assessment.service;
 
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
 import cloud.eagle.assessment.domain.entity.AuthType;
-import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpCacheValidator;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
 import cloud.eagle.assessment.exception.ExternalApiException;
 import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.exception.ItemMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Generic service to call any external API and parse responses.
@@ -28,43 +44,115 @@ public class ExternalApiService {
 
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final MappingPlanCache mappingPlanCache;
+    private final ResponseBodyReader responseBodyReader;
+    private final ParallelMapper parallelMapper;
+    private final OAuthTokenManager oauthTokenManager;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
 
-    public ExternalApiService(final WebClient.Builder webClientBuilder, final ObjectMapper objectMapper) {
+    public ExternalApiService(
+        final WebClient.Builder webClientBuilder,
+        final ObjectMapper objectMapper,
+        final MappingPlanCache mappingPlanCache,
+        final ResponseBodyReader responseBodyReader,
+        final ParallelMapper parallelMapper,
+        final OAuthTokenManager oauthTokenManager,
+        final AdaptiveConcurrencyLimiter concurrencyLimiter,
+        final RequestHedger requestHedger
+    ) {
         this.webClientBuilder = webClientBuilder;
         this.objectMapper = objectMapper;
+        this.mappingPlanCache = mappingPlanCache;
+        this.responseBodyReader = responseBodyReader;
+        this.parallelMapper = parallelMapper;
+        this.oauthTokenManager = oauthTokenManager;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.requestHedger = requestHedger;
     }
 
     /**
      * Calls external API and returns raw JSON response.
+     * Only meant for small responses: a body large enough to be spilled to disk is refused rather than
+     * copied into a string; use {@link #fetchResponseBody(ApiConfiguration)} for those.
      *
      * @param config API configuration
      * @return raw JSON response as string
      */
     public String callExternalApi(final ApiConfiguration config) {
-        log.info("Calling external API: sourceName={}, url={}", config.getSourceName(), config.getEndpointUrl());
+        try (ResponseBody body = fetchResponseBody(config)) {
+            if (body.isSpilled()) {
+                throw new ExternalApiException("Response of " + body.size() + " bytes from source "
+                    + config.getSourceName() + " is too large to return as a string");
+            }
+            return body.asString();
+        }
+    }
 
-        final WebClient webClient = buildWebClient(config);
+    /**
+     * Calls external API and streams the response body into memory or, above the spill threshold, to disk.
+     * Bodies larger than the configured maximum fail the call. Parsing the body later still builds its
+     * whole document tree on the heap; spilling only keeps the raw bytes off it.
+     *
+     * @param config API configuration
+     * @return response body, which the caller must close
+     */
+    public ResponseBody fetchResponseBody(final ApiConfiguration config) {
+        return fetchResponseBody(config, null);
+    }
+
+    /**
+     * Calls external API as a conditional request when validators from an earlier response are known.
+     * A 304 answer is returned as a not-modified body without reading anything.
+     *
+     * @param config API configuration
+     * @param validator ETag and Last-Modified of the previous response, or null
+     * @return response body carrying the new validators, which the caller must close
+     */
+    public ResponseBody fetchResponseBody(final ApiConfiguration config, final HttpCacheValidator validator) {
+        return fetchResponseBody(config, config.getEndpointUrl(), validator);
+    }
 
+    /**
+     * Calls one URL of an external API, such as a single page, as a conditional request.
+     *
+     * @param config API configuration
+     * @param requestUrl URL to call instead of the configured endpoint URL
+     * @param validator ETag and Last-Modified of the previous response, or null
+     * @return response body carrying the new validators, which the caller must close
+     */
+    public ResponseBody fetchResponseBody(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final HttpCacheValidator validator
+    ) {
+        return fetchResponseBody(config, requestUrl, null, validator);
+    }
+
+    /**
+     * Calls one URL of an external API with a JSON request body, as a conditional request.
+     *
+     * @param config API configuration
+     * @param requestUrl URL to call instead of the configured endpoint URL
+     * @param requestJson JSON body sent with POST requests, or null to send none
+     * @param validator ETag and Last-Modified of the previous response, or null
+     * @return response body carrying the new validators, which the caller must close
+     */
+    public ResponseBody fetchResponseBody(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final String requestJson,
+        final HttpCacheValidator validator
+    ) {
         try {
-            final String response = switch (config.getHttpMethod()) {
-                case GET -> webClient.get()
-                    .uri(config.getEndpointUrl())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(30))
-                    .onErrorResume(this::handleApiError)
-                    .block();
-                case POST -> webClient.post()
-                    .uri(config.getEndpointUrl())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(30))
-                    .onErrorResume(this::handleApiError)
-                    .block();
-                default -> throw new ExternalApiException("Unsupported HTTP method: " + config.getHttpMethod());
-            };
-
-            log.info("Successfully received response from: sourceName={}", config.getSourceName());
+            final ResponseBody response = requestBody(config, requestUrl, requestJson, validator).block();
+
+            if (response.isNotModified()) {
+                log.info("Response not modified since last sync: sourceName={}", config.getSourceName());
+            } else {
+                log.info("Successfully received response from: sourceName={}, bytes={}, spilled={}",
+                    config.getSourceName(), response.size(), response.isSpilled());
+            }
             return response;
 
         } catch (final Exception e) {
@@ -73,6 +161,108 @@ public class ExternalApiService {
         }
     }
 
+    /**
+     * Builds the non-blocking call behind {@link #fetchResponseBody}, so several URLs can be in flight at once.
+     */
+    Mono<ResponseBody> requestBody(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final HttpCacheValidator validator
+    ) {
+        return requestBody(config, requestUrl, null, validator);
+    }
+
+    Mono<ResponseBody> requestBody(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final String requestJson,
+        final HttpCacheValidator validator
+    ) {
+        return Mono.defer(() -> {
+            log.info("Calling external API: sourceName={}, url={}", config.getSourceName(), requestUrl);
+            if (config.getAuthType() != AuthType.OAUTH2_CLIENT_CREDENTIALS) {
+                return send(config, requestUrl, requestJson, validator, null);
+            }
+            // A token revoked before its expiry is replaced once; a second rejection is the provider's answer
+            return oauthTokenManager.accessToken(config)
+                .flatMap(token -> send(config, requestUrl, requestJson, validator, token))
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    log.info("OAuth token rejected, requesting a new one: sourceName={}", config.getSourceName());
+                    oauthTokenManager.invalidate(config);
+                    return oauthTokenManager.accessToken(config)
+                        .flatMap(token -> send(config, requestUrl, requestJson, validator, token));
+                });
+        })
+            .onErrorResume(this::handleApiError);
+    }
+
+    /**
+     * Sends a request once the source's concurrency limit admits it, hedged if it is a GET without body,
+     * which can safely be sent twice. The hedge runs inside the admitted slot, so its timer and response
+     * times start when the request is sent rather than when it was queued. A duplicate needs a slot of its
+     * own and is skipped if none is free, so requests in flight never exceed the limit; the request's slot
+     * records its time until either attempt answered, so a slow primary still feeds the limiter.
+     */
+    private Mono<ResponseBody> send(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final String requestJson,
+        final HttpCacheValidator validator,
+        final String bearerToken
+    ) {
+        final Mono<ResponseBody> exchange = config.getHttpMethod() != HttpMethod.GET || requestJson != null
+            ? sendOnce(config, requestUrl, requestJson, validator, bearerToken)
+            : requestHedger.hedge(config.getSourceName(),
+                () -> sendOnce(config, requestUrl, null, validator, bearerToken),
+                duplicate -> concurrencyLimiter.tryLimit(config.getSourceName(), duplicate));
+        return concurrencyLimiter.limit(config.getSourceName(), exchange);
+    }
+
+    private Mono<ResponseBody> sendOnce(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final String requestJson,
+        final HttpCacheValidator validator,
+        final String bearerToken
+    ) {
+        final WebClient webClient = buildWebClient(config);
+        final WebClient.RequestHeadersSpec<?> request = switch (config.getHttpMethod()) {
+            case GET -> webClient.get().uri(requestUrl);
+            case POST -> requestJson == null
+                ? webClient.post().uri(requestUrl)
+                : webClient.post().uri(requestUrl).contentType(MediaType.APPLICATION_JSON).bodyValue(requestJson);
+            default -> throw new ExternalApiException("Unsupported HTTP method: " + config.getHttpMethod());
+        };
+        if (bearerToken != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken);
+        }
+        if (validator != null && validator.getEtag() != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, validator.getEtag());
+        }
+        if (validator != null && validator.getLastModified() != null) {
+            request.header(HttpHeaders.IF_MODIFIED_SINCE, validator.getLastModified());
+        }
+
+        // Subscribed only once a slot is free, so time spent waiting does not count towards the timeout.
+        // The timeout covers the response headers only; reading a large body is bounded by the read
+        // timeout between chunks instead, so a big export that keeps arriving is not cut off.
+        return request.retrieve()
+            .toEntityFlux(DataBuffer.class)
+            .timeout(Duration.ofSeconds(30))
+            .flatMap(entity -> readBody(entity, config));
+    }
+
+    private Mono<ResponseBody> readBody(final ResponseEntity<Flux<DataBuffer>> entity, final ApiConfiguration config) {
+        if (entity.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            return entity.getBody()
+                .doOnNext(DataBufferUtils::release)
+                .then(Mono.just(ResponseBody.notModified()));
+        }
+        final HttpHeaders headers = entity.getHeaders();
+        return responseBodyReader.read(entity.getBody(), config)
+            .map(body -> body.withValidators(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+    }
+
     /**
      * Parses JSON response and extracts field values based on field mappings.
      *
@@ -81,27 +271,75 @@ public class ExternalApiService {
      * @return list of mapped user data
      */
     public List<Map<String, Object>> parseAndMapResponse(final String jsonResponse, final ApiConfiguration config) {
-        log.info("Parsing response for source: {}", config.getSourceName());
+        return parseAndMapResponse(ResponseBody.of(jsonResponse), config);
+    }
 
-        try {
-            final Object document = JsonPath.parse(jsonResponse).json();
-            final List<Map<String, Object>> results = new ArrayList<>();
+    /**
+     * Parses a response body and extracts field values based on field mappings.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @return list of mapped user data
+     */
+    public List<Map<String, Object>> parseAndMapResponse(final ResponseBody responseBody, final ApiConfiguration config) {
+        return parseAndMapResponse(responseBody, config, ItemErrorHandler.FAIL_FAST);
+    }
 
-            // Get the root path for the response (e.g., "$.collection" for Calendly)
-            final String rootPath = config.getResponseRootPath() != null
-                ? config.getResponseRootPath()
-                : "$";
+    /**
+     * Parses a response body and extracts field values, handing items that cannot be mapped to the error handler.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @return list of mapped user data, without the skipped items
+     */
+    public List<Map<String, Object>> parseAndMapResponse(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final ItemErrorHandler errorHandler
+    ) {
+        return fieldsOf(parseAndMapResponse(responseBody, config, errorHandler, CompositeJoin.NONE));
+    }
 
-            final Object rootData = JsonPath.read(document, rootPath);
+    /**
+     * Parses a response body, attaches the items of joined endpoints to its items and maps them.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @param join items of the source's joined endpoints
+     * @return mapped user data with the items they were mapped from, without the skipped items
+     */
+    List<MappedItem> parseAndMapResponse(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final ItemErrorHandler errorHandler,
+        final CompositeJoin join
+    ) {
+        log.info("Parsing response for source: {}", config.getSourceName());
+
+        try {
+            final MappingPlan plan = mappingPlanCache.get(config);
+            final Object rootData = readRoot(responseBody, plan, join);
+            final List<MappedItem> results;
 
             // If root data is a list, process each item
             if (rootData instanceof List<?> items) {
+                results = new ArrayList<>(items.size());
+                int index = 0;
                 for (final Object item : items) {
-                    results.add(mapSingleItem(item, config.getFieldMappings()));
+                    final Map<String, Object> mappedData = newHolder(plan);
+                    if (mapOrReport(index++, item, plan, mappedData, errorHandler)) {
+                        results.add(new MappedItem(mappedData, item));
+                    }
                 }
             } else {
                 // Single object response
-                results.add(mapSingleItem(rootData, config.getFieldMappings()));
+                results = new ArrayList<>(1);
+                final Map<String, Object> mappedData = newHolder(plan);
+                if (mapOrReport(0, rootData, plan, mappedData, errorHandler)) {
+                    results.add(new MappedItem(mappedData, rootData));
+                }
             }
 
             log.info("Successfully parsed {} items from source: {}", results.size(), config.getSourceName());
@@ -113,30 +351,443 @@ public class ExternalApiService {
         }
     }
 
-    private Map<String, Object> mapSingleItem(final Object item, final List<FieldMapping> fieldMappings) {
-        final Map<String, Object> mappedData = new HashMap<>();
+    /**
+     * Parses a response body and maps its items in parallel chunks on the dedicated mapping pool.
+     * A required field missing from several items is reported for the item with the lowest index,
+     * just like the sequential mapping does, as an {@link ItemMappingException} carrying that index.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @return list of mapped user data in response order
+     */
+    public List<Map<String, Object>> parseAndMapResponseParallel(
+        final ResponseBody responseBody,
+        final ApiConfiguration config
+    ) {
+        return parseAndMapResponseParallel(responseBody, config, ItemErrorHandler.FAIL_FAST);
+    }
+
+    /**
+     * Maps a response body in parallel chunks, handing items that cannot be mapped to the error handler.
+     * Failures are collected by the workers and reported afterwards on the calling thread, in response order.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @return list of mapped user data in response order, without the skipped items
+     */
+    public List<Map<String, Object>> parseAndMapResponseParallel(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final ItemErrorHandler errorHandler
+    ) {
+        return fieldsOf(parseAndMapResponseParallel(responseBody, config, errorHandler, CompositeJoin.NONE));
+    }
+
+    /**
+     * Maps a response body in parallel chunks after attaching the items of joined endpoints to its items.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @param join items of the source's joined endpoints
+     * @return mapped user data with the items they were mapped from in response order, without the skipped items
+     */
+    List<MappedItem> parseAndMapResponseParallel(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final ItemErrorHandler errorHandler,
+        final CompositeJoin join
+    ) {
+        log.info("Parsing response for source: {} (parallel mode)", config.getSourceName());
+
+        try {
+            final MappingPlan plan = mappingPlanCache.get(config);
+            final Object rootData = readRoot(responseBody, plan, join);
+            final List<?> items = rootData instanceof List<?> list ? list : List.of(rootData);
+            final List<MappedItem> results = errorHandler == ItemErrorHandler.FAIL_FAST
+                ? parallelMapper.map(items, item -> mapItem(item, plan))
+                : collectOutcomes(items, parallelMapper.map(items, item -> tryMapSingleItem(item, plan)), errorHandler);
+
+            log.info("Successfully parsed {} items from source: {}", results.size(), config.getSourceName());
+            return results;
+
+        } catch (final ItemMappingException e) {
+            // Already names the failing item, so callers get it as it is
+            log.error("Failed to parse response for source: {}, error={}", config.getSourceName(), e.getMessage(), e);
+            throw e;
+        } catch (final Exception e) {
+            log.error("Failed to parse response for source: {}, error={}", config.getSourceName(), e.getMessage(), e);
+            throw new FieldMappingException("Failed to parse response for source: " + config.getSourceName(), e);
+        }
+    }
+
+    /**
+     * Parses JSON response and hands each mapped item to the consumer without materializing a result list.
+     * The same holder map is cleared and refilled for every item, so the consumer must copy
+     * anything it needs before returning and must not keep a reference to the map.
+     *
+     * @param jsonResponse raw JSON response
+     * @param config API configuration with field mappings
+     * @param consumer callback invoked once per mapped item
+     * @return number of items mapped
+     */
+    public int forEachMappedItem(
+        final String jsonResponse,
+        final ApiConfiguration config,
+        final Consumer<Map<String, Object>> consumer
+    ) {
+        return forEachMappedItem(ResponseBody.of(jsonResponse), config, consumer);
+    }
+
+    /**
+     * Parses a response body and hands each mapped item to the consumer through a single reused holder map.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param consumer callback invoked once per mapped item
+     * @return number of items mapped
+     * @see #forEachMappedItem(String, ApiConfiguration, Consumer)
+     */
+    public int forEachMappedItem(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final Consumer<Map<String, Object>> consumer
+    ) {
+        return forEachMappedItem(responseBody, config, consumer, ItemErrorHandler.FAIL_FAST);
+    }
+
+    /**
+     * Streams mapped items to the consumer, handing items that cannot be mapped to the error handler.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param consumer callback invoked once per mapped item
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @return number of items mapped, without the skipped items
+     */
+    public int forEachMappedItem(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final Consumer<Map<String, Object>> consumer,
+        final ItemErrorHandler errorHandler
+    ) {
+        return forEachMappedItem(responseBody, config, (fields, item) -> consumer.accept(fields), errorHandler,
+            CompositeJoin.NONE);
+    }
+
+    /**
+     * Streams mapped items to the consumer after attaching the items of joined endpoints to them.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param config API configuration with field mappings
+     * @param consumer callback invoked once per mapped item with the reused holder and the item it was mapped from
+     * @param errorHandler decides whether a bad item is skipped or fails the response
+     * @param join items of the source's joined endpoints
+     * @return number of items mapped, without the skipped items
+     */
+    int forEachMappedItem(
+        final ResponseBody responseBody,
+        final ApiConfiguration config,
+        final BiConsumer<Map<String, Object>, Object> consumer,
+        final ItemErrorHandler errorHandler,
+        final CompositeJoin join
+    ) {
+        log.info("Parsing response for source: {} (reuse mode)", config.getSourceName());
+
+        try {
+            final MappingPlan plan = mappingPlanCache.get(config);
+            final Object rootData = readRoot(responseBody, plan, join);
+            final Map<String, Object> holder = newHolder(plan);
+            int count = 0;
+
+            if (rootData instanceof List<?> items) {
+                int index = 0;
+                for (final Object item : items) {
+                    if (mapOrReport(index++, item, plan, holder, errorHandler)) {
+                        consumer.accept(holder, item);
+                        count++;
+                    }
+                }
+            } else if (mapOrReport(0, rootData, plan, holder, errorHandler)) {
+                consumer.accept(holder, rootData);
+                count++;
+            }
+
+            log.info("Successfully parsed {} items from source: {}", count, config.getSourceName());
+            return count;
+
+        } catch (final Exception e) {
+            log.error("Failed to parse response for source: {}, error={}", config.getSourceName(), e.getMessage(), e);
+            throw new FieldMappingException("Failed to parse response for source: " + config.getSourceName(), e);
+        }
+    }
+
+    /**
+     * Parses a payload a source pushed, such as a webhook delivery, and maps the user object or array
+     * found at the given root path with the configuration's field mappings.
+     *
+     * @param payload raw JSON payload
+     * @param rootPath compiled path to the user object or array in the payload
+     * @param config API configuration with field mappings
+     * @param errorHandler decides whether a bad item is skipped or fails the payload
+     * @return mapped user data with the items they were mapped from, empty if the root path is absent
+     */
+    List<MappedItem> parseAndMapPayload(
+        final byte[] payload,
+        final JsonPath rootPath,
+        final ApiConfiguration config,
+        final ItemErrorHandler errorHandler
+    ) {
+        final Object rootData;
+        try {
+            final Object document = MappingPlan.READ_CONFIGURATION.jsonProvider()
+                .parse(new ByteArrayInputStream(payload), StandardCharsets.UTF_8.name());
+            rootData = rootPath.read(document, MappingPlan.READ_CONFIGURATION);
+        } catch (final Exception e) {
+            throw new FieldMappingException("Failed to parse payload for source: " + config.getSourceName(), e);
+        }
+        if (rootData == null) {
+            return List.of();
+        }
+
+        final MappingPlan plan = mappingPlanCache.get(config);
+        final List<?> items = rootData instanceof List<?> list ? list : List.of(rootData);
+        final List<MappedItem> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            final Map<String, Object> mappedData = newHolder(plan);
+            if (mapOrReport(i, items.get(i), plan, mappedData, errorHandler)) {
+                results.add(new MappedItem(mappedData, items.get(i)));
+            }
+        }
+        return results;
+    }
 
-        for (final FieldMapping mapping : fieldMappings) {
+    /**
+     * Reads the total number of users announced by a paginated response.
+     * The parsed document is kept on the body, so mapping the page afterwards does not parse it again.
+     *
+     * @param responseBody first page response body
+     * @param config API configuration with a total count path
+     * @return total number of users
+     */
+    long readTotalCount(final ResponseBody responseBody, final ApiConfiguration config) {
+        final JsonPath path = mappingPlanCache.get(config).totalCountPath();
+        final Object total;
+        try {
+            final Object document = parseDocument(responseBody);
+            responseBody.keepDocument(document);
+            total = path == null ? null : path.read(document, MappingPlan.READ_CONFIGURATION);
+        } catch (final Exception e) {
+            throw new FieldMappingException("Failed to parse response for source: " + config.getSourceName(), e);
+        }
+        if (total instanceof Number number) {
+            return number.longValue();
+        }
+        if (total instanceof String text && !text.isBlank()) {
             try {
-                // Extract value using JsonPath relative to the item
-                final Object value = JsonPath.read(item, mapping.getJsonPath());
-                mappedData.put(mapping.getInternalFieldName(), value);
-            } catch (final Exception e) {
-                if (mapping.isRequired()) {
-                    throw new FieldMappingException(
-                        "Required field mapping failed: " + mapping.getInternalFieldName(), e);
+                return Long.parseLong(text.trim());
+            } catch (final NumberFormatException e) {
+                throw new FieldMappingException("Total count '" + text + "' at " + config.getTotalCountPath()
+                    + " is not a number for source: " + config.getSourceName(), e);
+            }
+        }
+        throw new FieldMappingException("Total count not found at " + config.getTotalCountPath()
+            + " for source: " + config.getSourceName());
+    }
+
+    /**
+     * Parses a response body and reads the value at a JsonPath.
+     *
+     * @param responseBody response body, possibly spilled to disk
+     * @param path JsonPath expression
+     * @param config API configuration the response belongs to
+     * @return the value, or null if the path is absent
+     */
+    Object readPath(final ResponseBody responseBody, final String path, final ApiConfiguration config) {
+        try {
+            return JsonPath.compile(path).read(parseDocument(responseBody), MappingPlan.READ_CONFIGURATION);
+        } catch (final Exception e) {
+            throw new FieldMappingException("Failed to parse response for source: " + config.getSourceName(), e);
+        }
+    }
+
+    private Object readRoot(final ResponseBody responseBody, final MappingPlan plan, final CompositeJoin join)
+        throws IOException {
+        final Object rootData = plan.rootPath().read(parseDocument(responseBody), MappingPlan.READ_CONFIGURATION);
+        join.attachTo(rootData);
+        return rootData;
+    }
+
+    private Object parseDocument(final ResponseBody responseBody) throws IOException {
+        final Object kept = responseBody.keptDocument();
+        if (kept != null) {
+            return kept;
+        }
+        // Parse straight from the byte stream so spilled bodies are never copied into a string;
+        // the parsed tree itself still holds the whole document
+        try (InputStream in = responseBody.openStream()) {
+            return MappingPlan.READ_CONFIGURATION.jsonProvider().parse(in, StandardCharsets.UTF_8.name());
+        }
+    }
+
+    /**
+     * Maps a single item stored as JSON, such as a dead-lettered item, with the current field mappings.
+     *
+     * @param itemJson JSON of one item, relative to the response root path
+     * @param config API configuration with field mappings
+     * @return mapped user data with the parsed item
+     */
+    MappedItem mapItemJson(final String itemJson, final ApiConfiguration config) {
+        final Object item = MappingPlan.READ_CONFIGURATION.jsonProvider().parse(itemJson);
+        return mapItem(item, mappingPlanCache.get(config));
+    }
+
+    /**
+     * Serializes a parsed item back to JSON, so it can be stored and mapped again later.
+     */
+    static String toItemJson(final Object item) {
+        return MappingPlan.READ_CONFIGURATION.jsonProvider().toJson(item);
+    }
+
+    /**
+     * A 64-bit hash of a parsed item's content, equal for equal items whatever the order of their keys,
+     * so a stored item can be compared without serializing the new one.
+     */
+    static long itemHash(final Object item) {
+        return switch (item) {
+            case null -> mix(1);
+            case Map<?, ?> map -> {
+                // Entries are summed, so the hash does not depend on the map's iteration order
+                long hash = mix(2);
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    hash += mix(textHash(String.valueOf(entry.getKey())) * 31 + itemHash(entry.getValue()));
                 }
-                // Use default value if provided
-                if (mapping.getDefaultValue() != null) {
-                    mappedData.put(mapping.getInternalFieldName(), mapping.getDefaultValue());
+                yield mix(hash);
+            }
+            case List<?> list -> {
+                long hash = mix(3);
+                for (final Object element : list) {
+                    hash = mix(hash * 31 + itemHash(element));
                 }
-                log.debug("Optional field not found: {}", mapping.getInternalFieldName());
+                yield hash;
             }
+            // The type keeps a number apart from the same digits in a string
+            default -> mix(textHash(item.getClass().getName()) * 31 + textHash(item.toString()));
+        };
+    }
+
+    /**
+     * FNV-1a over the characters of a text.
+     */
+    private static long textHash(final String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
         }
+        return hash;
+    }
 
+    /**
+     * The SplitMix64 finalizer, spreading every input bit over the whole hash.
+     */
+    private static long mix(final long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private boolean mapOrReport(
+        final int index,
+        final Object item,
+        final MappingPlan plan,
+        final Map<String, Object> target,
+        final ItemErrorHandler errorHandler
+    ) {
+        try {
+            mapSingleItem(item, plan, target);
+            return true;
+        } catch (final FieldMappingException e) {
+            errorHandler.onItemError(index, item, e);
+            return false;
+        }
+    }
+
+    private ItemOutcome tryMapSingleItem(final Object item, final MappingPlan plan) {
+        try {
+            return new ItemOutcome(mapItem(item, plan), null);
+        } catch (final FieldMappingException e) {
+            return new ItemOutcome(null, e);
+        }
+    }
+
+    private static List<MappedItem> collectOutcomes(
+        final List<?> items,
+        final List<ItemOutcome> outcomes,
+        final ItemErrorHandler errorHandler
+    ) {
+        final List<MappedItem> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            final ItemOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                errorHandler.onItemError(i, items.get(i), outcome.error());
+            } else {
+                results.add(outcome.mapped());
+            }
+        }
+        return results;
+    }
+
+    private static List<Map<String, Object>> fieldsOf(final List<MappedItem> mapped) {
+        return mapped.stream()
+            .map(MappedItem::fields)
+            .toList();
+    }
+
+    /**
+     * Result of mapping one item on a worker thread: either the mapped data or the mapping error.
+     */
+    private record ItemOutcome(MappedItem mapped, FieldMappingException error) {
+    }
+
+    static Map<String, Object> newHolder(final MappingPlan plan) {
+        // Sized so that filling every field never triggers a rehash
+        return new HashMap<>(plan.fieldCount() * 2);
+    }
+
+    MappedItem mapItem(final Object item, final MappingPlan plan) {
+        return new MappedItem(mapSingleItem(item, plan), item);
+    }
+
+    Map<String, Object> mapSingleItem(final Object item, final MappingPlan plan) {
+        final Map<String, Object> mappedData = newHolder(plan);
+        mapSingleItem(item, plan, mappedData);
         return mappedData;
     }
 
+    void mapSingleItem(final Object item, final MappingPlan plan, final Map<String, Object> target) {
+        target.clear();
+
+        for (final MappingPlan.CompiledField field : plan.fields()) {
+            // Extract value using JsonPath relative to the item; an absent path and JSON null both read as
+            // null, so a required field must hold a value and a default also replaces an explicit null
+            final Object value = field.read(item);
+            if (value != null) {
+                target.put(field.internalFieldName(), value);
+                continue;
+            }
+            if (field.required()) {
+                throw new FieldMappingException("Required field mapping failed: " + field.internalFieldName());
+            }
+            // Use default value if provided
+            if (field.defaultValue() != null) {
+                target.put(field.internalFieldName(), field.defaultValue());
+            }
+            log.debug("Optional field not found: {}", field.internalFieldName());
+        }
+    }
+
     private WebClient buildWebClient(final ApiConfiguration config) {
         final WebClient.Builder builder = webClientBuilder.clone();
 
@@ -156,6 +807,9 @@ public class ExternalApiService {
                 // Basic auth would require parsing credentials
                 log.warn("Basic auth not fully implemented yet");
             }
+            case OAUTH2_CLIENT_CREDENTIALS -> {
+                // The access token is added per request, as it changes over the client's lifetime
+            }
             case NONE -> {
                 // No authentication
             }
@@ -179,7 +833,7 @@ public class ExternalApiService {
         }
     }
 
-    private Mono<String> handleApiError(final Throwable error) {
+    private <T> Mono<T> handleApiError(final Throwable error) {
         log.error("API call error: {}", error.getMessage());
         return Mono.error(new ExternalApiException("External API call failed", error));
     }
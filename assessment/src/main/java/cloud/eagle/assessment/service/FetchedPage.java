@@ -0,0 +1,21 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * One page of a paginated response.
+ *
+ * @param index zero-based page index
+ * @param requestUrl URL the page was fetched from
+ * @param body page body; not modified if the page is unchanged since the last sync
+ * @param totalCount total count announced by the first page, null for the other pages
+ */
+public record FetchedPage(int index, String requestUrl, ResponseBody body, Long totalCount) implements AutoCloseable {
+
+    public boolean isUnchanged() {
+        return body.isNotModified();
+    }
+
+    @Override
+    public void close() {
+        body.close();
+    }
+}
@@ -0,0 +1,29 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * One compiled step of a field mapping's transform chain.
+ * Steps receive the value so far and the item it was read from, so that a step such as
+ * {@code coalesce} can fall back to other paths of the same item.
+ */
+@FunctionalInterface
+interface FieldTransform {
+
+    /**
+     * Transforms a value.
+     *
+     * @param value value read by the mapping or returned by the previous step, may be null
+     * @param item parsed item the value was read from
+     * @return transformed value, or null if the step does not apply to the value
+     */
+    Object apply(Object value, Object item);
+
+    /**
+     * Chains another step after this one.
+     *
+     * @param next step applied to the result of this one
+     * @return combined step
+     */
+    default FieldTransform andThen(final FieldTransform next) {
+        return (value, item) -> next.apply(apply(value, item), item);
+    }
+}
@@ -0,0 +1,310 @@
+package cloud.eagle.assessment.service;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the transform chain of a field mapping, such as {@code split(' ', 0) | trim | lowercase},
+ * into a single {@link FieldTransform}. Every pattern, path and formatter is compiled once here, so
+ * applying the chain to an item costs no more than the string operations themselves.
+ * <p>
+ * Steps are separated by {@code |}. Arguments are single-quoted strings ({@code ''} is a quote),
+ * integers or JsonPaths starting with {@code $}:
+ * <ul>
+ *     <li>{@code trim} strips surrounding whitespace; a blank value becomes null</li>
+ *     <li>{@code lowercase}, {@code uppercase}</li>
+ *     <li>{@code split('sep', index[, limit])} the part at index, negative indexes counting from the end</li>
+ *     <li>{@code regex('pattern'[, group])} the group of the first match, by default the first group if
+ *     the pattern has one and the whole match otherwise</li>
+ *     <li>{@code coalesce(arg, ...)} the first non-null of the value, paths read from the item and literals</li>
+ *     <li>{@code date(['pattern'])} a date parsed with the pattern, or epoch milliseconds and ISO-8601 text
+ *     without one, as ISO-8601 text</li>
+ * </ul>
+ * Text steps return null for values they cannot apply to, so a default value or a later
+ * {@code coalesce} takes over.
+ */
+final class FieldTransforms {
+
+    private static final Pattern STEP = Pattern.compile("([A-Za-z]+)\\s*(?:\\((.*)\\))?", Pattern.DOTALL);
+    private static final Pattern INTEGER = Pattern.compile("-?\\d+");
+
+    private FieldTransforms() {
+        // Utility class
+    }
+
+    /**
+     * Compiles a transform chain.
+     *
+     * @param chain steps separated by {@code |}, may be null or blank
+     * @return compiled chain, or null if there are no steps
+     * @throws IllegalArgumentException if the chain cannot be parsed
+     */
+    static FieldTransform compile(final String chain) {
+        if (chain == null || chain.isBlank()) {
+            return null;
+        }
+        FieldTransform pipeline = null;
+        for (final String step : splitTopLevel(chain, '|')) {
+            final FieldTransform next = compileStep(step.trim());
+            pipeline = pipeline == null ? next : pipeline.andThen(next);
+        }
+        return pipeline;
+    }
+
+    /**
+     * The JsonPaths the steps of a chain read from the item, such as the fallbacks of {@code coalesce}.
+     *
+     * @param chain steps separated by {@code |}, may be null or blank
+     * @return paths in the order they appear
+     * @throws IllegalArgumentException if the chain cannot be parsed
+     */
+    static List<String> referencedPaths(final String chain) {
+        final List<String> paths = new ArrayList<>();
+        if (chain == null || chain.isBlank()) {
+            return paths;
+        }
+        for (final String step : splitTopLevel(chain, '|')) {
+            final Matcher matcher = STEP.matcher(step.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid transform step '" + step.trim() + "'");
+            }
+            for (final Object argument : parseArguments(matcher.group(2))) {
+                if (argument instanceof MappingPlan.CompiledField path) {
+                    paths.add(path.internalFieldName());
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static FieldTransform compileStep(final String step) {
+        final Matcher matcher = STEP.matcher(step);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid transform step '" + step + "'");
+        }
+        final String name = matcher.group(1);
+        final List<Object> args = parseArguments(matcher.group(2));
+        return switch (name) {
+            case "trim" -> {
+                expectArguments(name, args, 0, 0);
+                yield text(value -> {
+                    final String trimmed = value.strip();
+                    return trimmed.isEmpty() ? null : trimmed;
+                });
+            }
+            case "lowercase" -> {
+                expectArguments(name, args, 0, 0);
+                yield text(value -> value.toLowerCase(Locale.ROOT));
+            }
+            case "uppercase" -> {
+                expectArguments(name, args, 0, 0);
+                yield text(value -> value.toUpperCase(Locale.ROOT));
+            }
+            case "split" -> split(args);
+            case "regex" -> regex(args);
+            case "coalesce" -> coalesce(args);
+            case "date" -> date(args);
+            default -> throw new IllegalArgumentException("Unknown transform '" + name + "'");
+        };
+    }
+
+    private static FieldTransform split(final List<Object> args) {
+        expectArguments("split", args, 2, 3);
+        final Pattern separator = Pattern.compile(Pattern.quote(stringArgument("split", args, 0)));
+        final int index = integerArgument("split", args, 1);
+        final int limit = args.size() > 2 ? integerArgument("split", args, 2) : 0;
+        return text(value -> {
+            final String[] parts = separator.split(value, limit);
+            final int position = index < 0 ? parts.length + index : index;
+            return position >= 0 && position < parts.length ? parts[position] : null;
+        });
+    }
+
+    private static FieldTransform regex(final List<Object> args) {
+        expectArguments("regex", args, 1, 2);
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(stringArgument("regex", args, 0));
+        } catch (final PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regex: " + e.getDescription(), e);
+        }
+        final int groupCount = pattern.matcher("").groupCount();
+        final int group = args.size() > 1 ? integerArgument("regex", args, 1) : Math.min(groupCount, 1);
+        if (group < 0 || group > groupCount) {
+            throw new IllegalArgumentException("regex has no group " + group);
+        }
+        return text(value -> {
+            final Matcher matcher = pattern.matcher(value);
+            return matcher.find() ? matcher.group(group) : null;
+        });
+    }
+
+    private static FieldTransform coalesce(final List<Object> args) {
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("coalesce expects at least one argument");
+        }
+        final Object[] fallbacks = args.toArray();
+        return (value, item) -> {
+            if (value != null) {
+                return value;
+            }
+            for (final Object fallback : fallbacks) {
+                final Object candidate = fallback instanceof MappingPlan.CompiledField path ? path.read(item) : fallback;
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+            return null;
+        };
+    }
+
+    private static FieldTransform date(final List<Object> args) {
+        expectArguments("date", args, 0, 1);
+        if (args.isEmpty()) {
+            return (value, item) -> switch (value) {
+                case Number millis -> Instant.ofEpochMilli(millis.longValue()).toString();
+                case String text -> parseIso(text);
+                case null, default -> null;
+            };
+        }
+        final DateTimeFormatter formatter;
+        try {
+            formatter = DateTimeFormatter.ofPattern(stringArgument("date", args, 0), Locale.ROOT);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid date pattern: " + e.getMessage(), e);
+        }
+        return text(value -> {
+            try {
+                final TemporalAccessor parsed = formatter.parseBest(value.strip(),
+                    ZonedDateTime::from, LocalDateTime::from, LocalDate::from);
+                return parsed instanceof ZonedDateTime zoned ? zoned.toOffsetDateTime().toString() : parsed.toString();
+            } catch (final DateTimeParseException e) {
+                return null;
+            }
+        });
+    }
+
+    private static String parseIso(final String text) {
+        final String value = text.strip();
+        try {
+            return OffsetDateTime.parse(value).toString();
+        } catch (final DateTimeParseException notOffset) {
+            try {
+                return LocalDateTime.parse(value).toString();
+            } catch (final DateTimeParseException notDateTime) {
+                try {
+                    return LocalDate.parse(value).toString();
+                } catch (final DateTimeParseException notDate) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adapts a text operation to a step; numbers and booleans are used as their text, other values yield null.
+     */
+    private static FieldTransform text(final Function<String, String> operation) {
+        return (value, item) -> switch (value) {
+            case String text -> operation.apply(text);
+            case Number number -> operation.apply(number.toString());
+            case Boolean flag -> operation.apply(flag.toString());
+            case null, default -> null;
+        };
+    }
+
+    private static List<Object> parseArguments(final String arguments) {
+        final List<Object> args = new ArrayList<>();
+        if (arguments == null || arguments.isBlank()) {
+            return args;
+        }
+        for (final String raw : splitTopLevel(arguments, ',')) {
+            final String argument = raw.trim();
+            if (argument.length() >= 2 && argument.startsWith("'") && argument.endsWith("'")) {
+                args.add(argument.substring(1, argument.length() - 1).replace("''", "'"));
+            } else if (INTEGER.matcher(argument).matches()) {
+                args.add(Integer.parseInt(argument));
+            } else if (argument.startsWith("$")) {
+                args.add(compilePath(argument));
+            } else {
+                throw new IllegalArgumentException("Invalid transform argument '" + argument + "'");
+            }
+        }
+        return args;
+    }
+
+    private static MappingPlan.CompiledField compilePath(final String path) {
+        try {
+            return new MappingPlan.CompiledField(path, JsonPath.compile(path), MappingPlan.toPropertyChain(path),
+                false, null, null);
+        } catch (final InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid JsonPath '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits at a separator outside of quotes and parentheses.
+     */
+    private static List<String> splitTopLevel(final String text, final char separator) {
+        final List<String> parts = new ArrayList<>();
+        boolean quoted = false;
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '(' || c == '[')) {
+                depth++;
+            } else if (!quoted && (c == ')' || c == ']')) {
+                depth--;
+            } else if (!quoted && depth == 0 && c == separator) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (quoted || depth != 0) {
+            throw new IllegalArgumentException("Unbalanced quotes or parentheses in '" + text + "'");
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    private static void expectArguments(final String name, final List<Object> args, final int min, final int max) {
+        if (args.size() < min || args.size() > max) {
+            throw new IllegalArgumentException(min == max
+                ? name + " expects " + min + " arguments"
+                : name + " expects " + min + " to " + max + " arguments");
+        }
+    }
+
+    private static String stringArgument(final String name, final List<Object> args, final int index) {
+        if (args.get(index) instanceof String value) {
+            return value;
+        }
+        throw new IllegalArgumentException(name + " expects a quoted string as argument " + (index + 1));
+    }
+
+    private static int integerArgument(final String name, final List<Object> args, final int index) {
+        if (args.get(index) instanceof Integer value) {
+            return value;
+        }
+        throw new IllegalArgumentException(name + " expects an integer as argument " + (index + 1));
+    }
+}
@@ -0,0 +1,141 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.HttpCacheValidator;
+import cloud.eagle.assessment.repository.HttpCacheValidatorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores ETag and Last-Modified validators per source and request URL.
+ * Validators are only handed out while the configuration still maps responses the same way,
+ * so a 304 never hides a mapping change that would have produced different users.
+ */
+@Service
+@Slf4j
+@Transactional
+public class HttpCacheValidatorService {
+
+    private final HttpCacheValidatorRepository repository;
+
+    public HttpCacheValidatorService(final HttpCacheValidatorRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Find the validators usable for a conditional request.
+     *
+     * @param config API configuration
+     * @param requestUrl the request URL
+     * @return validators, or null if none are stored or the configuration changed since
+     */
+    @Transactional(readOnly = true)
+    public HttpCacheValidator find(final ApiConfiguration config, final String requestUrl) {
+        return repository.findBySourceNameAndRequestUrl(config.getSourceName(), requestUrl)
+            .filter(validator -> validator.getConfigurationFingerprint().equals(fingerprintOf(config)))
+            .orElse(null);
+    }
+
+    /**
+     * Find all validators of a source usable for conditional requests, such as those of its pages.
+     *
+     * @param config API configuration
+     * @return validators by request URL
+     */
+    @Transactional(readOnly = true)
+    public Map<String, HttpCacheValidator> findAll(final ApiConfiguration config) {
+        final String fingerprint = fingerprintOf(config);
+        return repository.findBySourceName(config.getSourceName()).stream()
+            .filter(validator -> validator.getConfigurationFingerprint().equals(fingerprint))
+            .collect(Collectors.toMap(HttpCacheValidator::getRequestUrl, Function.identity()));
+    }
+
+    /**
+     * Remember the validators of a fully processed response, or forget them if it carried none.
+     * Must run in the transaction that stored the users, so validators never outlive the data they vouch for.
+     *
+     * @param config API configuration
+     * @param requestUrl the request URL
+     * @param body processed response body
+     */
+    public void update(final ApiConfiguration config, final String requestUrl, final ResponseBody body) {
+        update(config, requestUrl, body, null);
+    }
+
+    /**
+     * Remember the validators of a fully processed page along with the total count it announced.
+     *
+     * @param config API configuration
+     * @param requestUrl the request URL
+     * @param body processed response body
+     * @param totalCount total count announced by the response, or null
+     */
+    public void update(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final ResponseBody body,
+        final Long totalCount
+    ) {
+        update(config, requestUrl, body.etag(), body.lastModified(), totalCount);
+    }
+
+    /**
+     * Remember the validators of a fully processed response, or forget them if both are null.
+     *
+     * @param config API configuration
+     * @param requestUrl the request URL
+     * @param etag ETag header, or null
+     * @param lastModified Last-Modified header, or null
+     * @param totalCount total count announced by the response, or null
+     */
+    public void update(
+        final ApiConfiguration config,
+        final String requestUrl,
+        final String etag,
+        final String lastModified,
+        final Long totalCount
+    ) {
+        final Optional<HttpCacheValidator> existing =
+            repository.findBySourceNameAndRequestUrl(config.getSourceName(), requestUrl);
+
+        if (etag == null && lastModified == null) {
+            existing.ifPresent(repository::delete);
+            return;
+        }
+
+        final HttpCacheValidator validator = existing
+            .orElseGet(() -> new HttpCacheValidator(config.getSourceName(), requestUrl));
+        validator.setEtag(etag);
+        validator.setLastModified(lastModified);
+        validator.setTotalCount(totalCount);
+        validator.setConfigurationFingerprint(fingerprintOf(config));
+        repository.save(validator);
+        log.debug("Stored cache validators for source: {}, url={}, etag={}, lastModified={}",
+            config.getSourceName(), requestUrl, etag, lastModified);
+    }
+
+    /**
+     * Hash of everything that shapes how a response is requested and mapped.
+     */
+    static String fingerprintOf(final ApiConfiguration config) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(MappingPlan.signatureOf(config).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(config.getRequestHeaders()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchedUserDto;
+import cloud.eagle.assessment.domain.dto.UserIdentityDto;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.UserIdentity;
+import cloud.eagle.assessment.domain.event.UsersSyncedEvent;
+import cloud.eagle.assessment.exception.UserIdentityNotFoundException;
+import cloud.eagle.assessment.mapper.EntityMapper;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.UserIdentityRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background stage merging users from different sources into canonical identities by normalized email.
+ * Runs after every committed sync and only touches the users that sync stored. The changed users are
+ * hash-partitioned by normalized email and the partitions are merged in parallel, each in its own
+ * transaction. Two partitions never share an email, so they cannot race on the same identity row.
+ */
+@Service
+@Slf4j
+public class IdentityResolutionService {
+
+    private final FetchedUserRepository fetchedUserRepository;
+    private final UserIdentityRepository userIdentityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final int batchSize;
+    private final ReentrantLock[] partitionLocks;
+    private final ExecutorService executor;
+
+    public IdentityResolutionService(
+        final FetchedUserRepository fetchedUserRepository,
+        final UserIdentityRepository userIdentityRepository,
+        final PlatformTransactionManager transactionManager,
+        @Value("${identity.resolution.partitions:4}") final int partitions,
+        @Value("${identity.resolution.batch-size:1000}") final int batchSize
+    ) {
+        this.fetchedUserRepository = fetchedUserRepository;
+        this.userIdentityRepository = userIdentityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.partitionLocks = new ReentrantLock[partitions];
+        for (int i = 0; i < partitions; i++) {
+            partitionLocks[i] = new ReentrantLock();
+        }
+        this.executor = Executors.newFixedThreadPool(partitions, Thread.ofPlatform().name("identity-resolution-", 0).factory());
+    }
+
+    /**
+     * Resolve identities for the users of a committed sync in the background.
+     * The users are read back in batches, each resolved before the next is read.
+     *
+     * @param event sync event with user ids
+     */
+    @TransactionalEventListener
+    public void onUsersSynced(final UsersSyncedEvent event) {
+        final List<Long> userIds = event.userIds();
+        CompletableFuture<Integer> resolved = CompletableFuture.completedFuture(0);
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            final List<Long> batch = userIds.subList(from, Math.min(userIds.size(), from + batchSize));
+            resolved = resolved.thenCompose(linked -> CompletableFuture.supplyAsync(() -> loadUsers(batch), executor)
+                .thenCompose(this::resolve)
+                .thenApply(batchLinked -> linked + batchLinked));
+        }
+        resolved.whenComplete((linked, error) -> {
+            if (error != null) {
+                log.error("Identity resolution failed for source: {}, error={}", event.sourceName(), error.getMessage(), error);
+            } else {
+                log.info("Identity resolution completed for source: {}, linked={}", event.sourceName(), linked);
+            }
+        });
+    }
+
+    private List<FetchedUserDto> loadUsers(final List<Long> userIds) {
+        return fetchedUserRepository.findAllById(userIds).stream()
+            .filter(user -> !user.isDeleted())
+            .map(EntityMapper::toDto)
+            .toList();
+    }
+
+    /**
+     * Link the given users to canonical identities, creating identities for unseen emails.
+     *
+     * @param users user snapshots to resolve
+     * @return future completing with the number of users whose identity changed
+     */
+    public CompletableFuture<Integer> resolve(final List<FetchedUserDto> users) {
+        final List<Map<String, List<Long>>> buckets = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            buckets.add(new HashMap<>());
+        }
+        final List<Long> withoutEmail = new ArrayList<>();
+        for (final FetchedUserDto user : users) {
+            final String email = normalizeEmail(user.email());
+            if (email == null) {
+                withoutEmail.add(user.id());
+                continue;
+            }
+            buckets.get(partitionOf(email)).computeIfAbsent(email, key -> new ArrayList<>()).add(user.id());
+        }
+
+        final List<CompletableFuture<Integer>> merges = new ArrayList<>(partitions + 1);
+        for (int i = 0; i < partitions; i++) {
+            final int partition = i;
+            final Map<String, List<Long>> bucket = buckets.get(partition);
+            if (!bucket.isEmpty()) {
+                merges.add(CompletableFuture.supplyAsync(() -> mergePartition(partition, bucket), executor));
+            }
+        }
+        if (!withoutEmail.isEmpty()) {
+            merges.add(CompletableFuture.supplyAsync(() -> unlink(withoutEmail), executor));
+        }
+
+        return CompletableFuture.allOf(merges.toArray(CompletableFuture[]::new))
+            .thenApply(done -> merges.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    /**
+     * Find the canonical identity for an email with the users merged into it.
+     *
+     * @param email email address in any letter case
+     * @return identity DTO
+     * @throws UserIdentityNotFoundException if no identity exists for the email
+     */
+    public UserIdentityDto findIdentity(final String email) {
+        final UserIdentity identity = Optional.ofNullable(normalizeEmail(email))
+            .flatMap(userIdentityRepository::findByNormalizedEmail)
+            .orElseThrow(() -> new UserIdentityNotFoundException(email));
+        final List<FetchedUserDto> users = fetchedUserRepository.findByIdentityIdOrderById(identity.getId()).stream()
+            .map(EntityMapper::toDto)
+            .toList();
+        return new UserIdentityDto(identity.getId(), identity.getNormalizedEmail(), users);
+    }
+
+    /**
+     * Normalize an email for identity matching: trimmed and lower-cased.
+     *
+     * @param email raw email
+     * @return normalized email, or null if the value is not an email address
+     */
+    static String normalizeEmail(final String email) {
+        if (email == null) {
+            return null;
+        }
+        final String normalized = email.trim().toLowerCase(Locale.ROOT);
+        final int at = normalized.indexOf('@');
+        return at > 0 && at < normalized.length() - 1 ? normalized : null;
+    }
+
+    private int partitionOf(final String normalizedEmail) {
+        return Math.floorMod(normalizedEmail.hashCode(), partitions);
+    }
+
+    private int mergePartition(final int partition, final Map<String, List<Long>> usersByEmail) {
+        // Serializes concurrent syncs resolving the same partition, so identity creation never races
+        final ReentrantLock lock = partitionLocks[partition];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                final Map<String, UserIdentity> identities = new HashMap<>();
+                userIdentityRepository.findByNormalizedEmailIn(usersByEmail.keySet())
+                    .forEach(identity -> identities.put(identity.getNormalizedEmail(), identity));
+
+                final List<UserIdentity> created = new ArrayList<>();
+                for (final String email : usersByEmail.keySet()) {
+                    if (!identities.containsKey(email)) {
+                        final UserIdentity identity = new UserIdentity(email);
+                        identities.put(email, identity);
+                        created.add(identity);
+                    }
+                }
+                userIdentityRepository.saveAll(created);
+
+                final Map<Long, String> emailByUser = new HashMap<>();
+                usersByEmail.forEach((email, userIds) -> userIds.forEach(userId -> emailByUser.put(userId, email)));
+                return link(emailByUser, identities);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int unlink(final List<Long> userIds) {
+        return transactionTemplate.execute(status -> {
+            final Map<Long, String> emailByUser = new HashMap<>();
+            userIds.forEach(userId -> emailByUser.put(userId, null));
+            return link(emailByUser, Map.of());
+        });
+    }
+
+    /**
+     * Links users to the identity of the email they were resolved by. A user whose stored email has changed
+     * since is left alone: the sync that changed it resolves the user again, and partitions of different
+     * emails do not serialize, so a stale snapshot could otherwise commit last.
+     */
+    private int link(final Map<Long, String> emailByUser, final Map<String, UserIdentity> identities) {
+        int changed = 0;
+        for (final FetchedUser user : fetchedUserRepository.findAllById(emailByUser.keySet())) {
+            final String email = emailByUser.get(user.getId());
+            if (!Objects.equals(normalizeEmail(user.getEmail()), email)) {
+                log.debug("Skipping user with changed email: userId={}", user.getId());
+                continue;
+            }
+            final Long identityId = email != null ? identities.get(email).getId() : null;
+            if (!Objects.equals(user.getIdentityId(), identityId)) {
+                user.setIdentityId(identityId);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
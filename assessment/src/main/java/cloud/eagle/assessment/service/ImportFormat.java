@@ -0,0 +1,78 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.UnsupportedImportFormatException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Format of a user export file. Field mappings are evaluated against each record as against an item
+ * of an API response: an NDJSON line is the item itself, a CSV row is an object keyed by the header.
+ */
+public enum ImportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON {
+        @Override
+        ImportRecordReader open(final BufferedReader reader, final int maxRecordChars) {
+            return new NdjsonRecordReader(reader, maxRecordChars);
+        }
+    },
+    /**
+     * Comma-separated values with a header row, quoted as in RFC 4180.
+     */
+    CSV {
+        @Override
+        ImportRecordReader open(final BufferedReader reader, final int maxRecordChars) throws IOException {
+            return new CsvRecordReader(reader, maxRecordChars);
+        }
+    };
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * Open a reader over the records of a file, skipping a leading byte order mark.
+     *
+     * @param reader file content
+     * @param maxRecordChars longest record kept in memory
+     * @return reader positioned before the first record
+     */
+    ImportRecordReader records(final BufferedReader reader, final int maxRecordChars) throws IOException {
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+        return open(reader, maxRecordChars);
+    }
+
+    abstract ImportRecordReader open(BufferedReader reader, int maxRecordChars) throws IOException;
+
+    /**
+     * Determine the format of an uploaded file from its content type, falling back to its extension.
+     *
+     * @param filename original file name, may be null
+     * @param contentType content type of the upload, may be null
+     * @return detected format
+     * @throws UnsupportedImportFormatException if neither identifies a supported format
+     */
+    public static ImportFormat detect(final String filename, final String contentType) {
+        final String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        final String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new UnsupportedImportFormatException(
+            "Cannot determine import format of " + filename + ", expected NDJSON or CSV");
+    }
+}
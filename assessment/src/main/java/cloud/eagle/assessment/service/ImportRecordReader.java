@@ -0,0 +1,35 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.FieldMappingException;
+
+import java.io.IOException;
+
+/**
+ * Reads the records of a user export file one at a time, so files of any size are read with
+ * constant memory.
+ */
+interface ImportRecordReader {
+
+    /**
+     * Advance to the next record.
+     *
+     * @return false after the last record
+     * @throws FieldMappingException if the file is malformed in a way that later records cannot be read
+     */
+    boolean next() throws IOException;
+
+    /**
+     * The current record as a document the field mappings' JsonPaths are evaluated against.
+     *
+     * @return parsed record
+     * @throws FieldMappingException if only this record is malformed
+     */
+    Object document();
+
+    /**
+     * The current record as text, kept in a dead letter when the record cannot be mapped.
+     *
+     * @return record payload
+     */
+    String payload();
+}
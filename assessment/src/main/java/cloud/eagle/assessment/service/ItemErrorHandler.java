@@ -0,0 +1,27 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.FieldMappingException;
+
+/**
+ * Callback for items of a response that could not be mapped.
+ * Handlers that return normally skip the item; handlers that throw abort the mapping.
+ */
+@FunctionalInterface
+public interface ItemErrorHandler {
+
+    /**
+     * Rethrows the error, so the first bad item fails the whole response.
+     */
+    ItemErrorHandler FAIL_FAST = (index, item, error) -> {
+        throw error;
+    };
+
+    /**
+     * Called on the mapping caller's thread, in response order.
+     *
+     * @param index position of the item in the response
+     * @param item parsed JSON item
+     * @param error why the item could not be mapped
+     */
+    void onItemError(int index, Object item, FieldMappingException error);
+}
@@ -0,0 +1,15 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * What a sync does with an item that cannot be mapped or stored.
+ */
+public enum ItemErrorPolicy {
+    /**
+     * Abort the sync and roll back everything stored so far.
+     */
+    FAIL,
+    /**
+     * Store the item and the reason in the dead-letter table and continue with the next item.
+     */
+    DEAD_LETTER
+}
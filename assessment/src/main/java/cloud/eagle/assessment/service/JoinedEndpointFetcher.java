@@ -0,0 +1,63 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fetches the joined endpoints of a composite source concurrently with each other and with the
+ * source's own endpoint, and indexes their items by join key.
+ */
+@Service
+@Slf4j
+public class JoinedEndpointFetcher {
+
+    private static final String DEFAULT_ROOT_PATH = "$";
+
+    private final ExternalApiService externalApiService;
+
+    public JoinedEndpointFetcher(final ExternalApiService externalApiService) {
+        this.externalApiService = externalApiService;
+    }
+
+    /**
+     * Start fetching every joined endpoint of a source. The requests are sent right away; the caller
+     * fetches its own endpoint meanwhile and waits for the join only when it maps the first items.
+     * Joined endpoints are always requested unconditionally, since they have to be joined in full.
+     *
+     * @param config API configuration, with its joined endpoints loaded
+     * @return join of all endpoints, completed when every endpoint is fetched and indexed
+     */
+    CompletableFuture<CompositeJoin> fetch(final ApiConfiguration config) {
+        if (!config.isComposite()) {
+            return CompletableFuture.completedFuture(CompositeJoin.NONE);
+        }
+        final List<JoinedEndpoint> endpoints = List.copyOf(config.getJoinedEndpoints());
+        log.info("Fetching {} joined endpoints for source: {}", endpoints.size(), config.getSourceName());
+
+        return Flux.fromIterable(endpoints)
+            .flatMapSequential(endpoint -> externalApiService.requestBody(config, endpoint.getEndpointUrl(), null)
+                // Parsing and indexing is CPU work that must not run on the event loop
+                .publishOn(Schedulers.boundedElastic())
+                .map(body -> index(config, endpoint, body)))
+            .collectList()
+            .map(CompositeJoin::new)
+            .toFuture();
+    }
+
+    private CompositeJoin.Index index(final ApiConfiguration config, final JoinedEndpoint endpoint, final ResponseBody body) {
+        try (body) {
+            final String rootPath = endpoint.getResponseRootPath() != null ? endpoint.getResponseRootPath() : DEFAULT_ROOT_PATH;
+            final CompositeJoin.Index index = CompositeJoin.index(endpoint, externalApiService.readPath(body, rootPath, config));
+            log.info("Indexed joined endpoint {} for source: {}, keys={}",
+                endpoint.getName(), config.getSourceName(), index.matches().size());
+            return index;
+        }
+    }
+}
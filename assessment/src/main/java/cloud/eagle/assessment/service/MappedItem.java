@@ -0,0 +1,17 @@
+package cloud.eagle.assessment.service;
+
+import java.util.Map;
+
+/**
+ * Values mapped from one source item, kept next to the item so it can be stored with the user without
+ * ever becoming part of the mapped values.
+ *
+ * @param fields mapped values by internal field name
+ * @param sourceItem parsed item the values were mapped from, or null if there is none to keep
+ */
+record MappedItem(Map<String, Object> fields, Object sourceItem) {
+
+    static MappedItem of(final Map<String, Object> fields) {
+        return new MappedItem(fields, null);
+    }
+}
@@ -0,0 +1,19 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * Strategy used to map and persist items of an external API response.
+ */
+public enum MappingMode {
+    /**
+     * Materializes every mapped item into its own map before persisting.
+     */
+    STANDARD,
+    /**
+     * Streams items one by one through a single reused holder map.
+     */
+    REUSE,
+    /**
+     * Maps chunks of items concurrently on a dedicated fork-join pool, then persists them in order.
+     */
+    PARALLEL
+}
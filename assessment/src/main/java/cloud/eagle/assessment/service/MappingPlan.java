@@ -0,0 +1,183 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Field mappings of an API configuration with every JsonPath expression compiled once.
+ * Reading with a compiled path avoids re-parsing the expression per item, and suppressing
+ * exceptions avoids building a stack trace for every absent optional field.
+ * Plain property paths such as {@code $.user.email} are resolved by walking the parsed maps
+ * directly, which allocates nothing per item. Transform chains are compiled along with the
+ * paths, so a cached plan never parses them again.
+ */
+final class MappingPlan {
+
+    static final Configuration READ_CONFIGURATION = Configuration.defaultConfiguration()
+        .addOptions(Option.SUPPRESS_EXCEPTIONS);
+
+    private static final String DEFAULT_ROOT_PATH = "$";
+    private static final Pattern PROPERTY_PATH = Pattern.compile("^\\$(\\.[A-Za-z_][A-Za-z0-9_-]*|\\['[^'\\]]+'])+$");
+    private static final Pattern PROPERTY_SEGMENT = Pattern.compile("\\.([A-Za-z_][A-Za-z0-9_-]*)|\\['([^'\\]]+)']");
+
+    private final String signature;
+    private final JsonPath rootPath;
+    private final JsonPath totalCountPath;
+    private final CompiledField[] fields;
+
+    private MappingPlan(
+        final String signature,
+        final JsonPath rootPath,
+        final JsonPath totalCountPath,
+        final CompiledField[] fields
+    ) {
+        this.signature = signature;
+        this.rootPath = rootPath;
+        this.totalCountPath = totalCountPath;
+        this.fields = fields;
+    }
+
+    /**
+     * Compiles the root path, the total count path and all field mappings of a configuration.
+     *
+     * @param config API configuration with field mappings
+     * @return compiled mapping plan
+     */
+    static MappingPlan compile(final ApiConfiguration config) {
+        final String root = rootPathOf(config);
+
+        final List<FieldMapping> mappings = config.getFieldMappings();
+        final CompiledField[] compiled = new CompiledField[mappings.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            final FieldMapping mapping = mappings.get(i);
+            compiled[i] = new CompiledField(
+                mapping.getInternalFieldName(),
+                JsonPath.compile(mapping.getJsonPath()),
+                toPropertyChain(mapping.getJsonPath()),
+                mapping.isRequired(),
+                mapping.getDefaultValue(),
+                FieldTransforms.compile(mapping.getTransforms())
+            );
+        }
+        final JsonPath totalCountPath = config.getTotalCountPath() != null
+            ? JsonPath.compile(config.getTotalCountPath())
+            : null;
+        return new MappingPlan(signatureOf(config), JsonPath.compile(root), totalCountPath, compiled);
+    }
+
+    /**
+     * Builds a string identifying everything a plan is compiled from.
+     *
+     * @param config API configuration with field mappings
+     * @return plan signature
+     */
+    static String signatureOf(final ApiConfiguration config) {
+        final StringBuilder signature = new StringBuilder(rootPathOf(config))
+            .append('\u0000').append(config.getTotalCountPath());
+        for (final FieldMapping mapping : config.getFieldMappings()) {
+            signature.append('\u0000').append(mapping.getInternalFieldName())
+                .append('\u0000').append(mapping.getJsonPath())
+                .append('\u0000').append(mapping.isRequired())
+                .append('\u0000').append(mapping.getDefaultValue())
+                .append('\u0000').append(mapping.getTransforms());
+        }
+        return signature.toString();
+    }
+
+    private static String rootPathOf(final ApiConfiguration config) {
+        return config.getResponseRootPath() != null
+            ? config.getResponseRootPath()
+            : DEFAULT_ROOT_PATH;
+    }
+
+    String signature() {
+        return signature;
+    }
+
+    JsonPath rootPath() {
+        return rootPath;
+    }
+
+    /**
+     * @return compiled total count path, or null if the configuration has none
+     */
+    JsonPath totalCountPath() {
+        return totalCountPath;
+    }
+
+    CompiledField[] fields() {
+        return fields;
+    }
+
+    int fieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * Splits a plain property path into its property names.
+     *
+     * @param jsonPath JsonPath expression
+     * @return property names, or null if the path uses filters, wildcards or array indexes
+     */
+    static String[] toPropertyChain(final String jsonPath) {
+        final String path = jsonPath.trim();
+        if (!PROPERTY_PATH.matcher(path).matches()) {
+            return null;
+        }
+        final List<String> properties = new ArrayList<>();
+        final Matcher matcher = PROPERTY_SEGMENT.matcher(path);
+        while (matcher.find()) {
+            properties.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return properties.toArray(String[]::new);
+    }
+
+    /**
+     * A single field mapping with its JsonPath and transform chain already compiled.
+     * {@code propertyChain} is set when the path is a plain property path; {@code transform} is null
+     * when the mapping has no transforms.
+     */
+    record CompiledField(
+        String internalFieldName,
+        JsonPath path,
+        String[] propertyChain,
+        boolean required,
+        String defaultValue,
+        FieldTransform transform
+    ) {
+
+        /**
+         * Reads the field value from a parsed item and applies the transform chain.
+         *
+         * @param item parsed JSON item
+         * @return the value, or null if the path is absent or a transform yields nothing
+         */
+        Object read(final Object item) {
+            final Object value = readPath(item);
+            return transform == null ? value : transform.apply(value, item);
+        }
+
+        private Object readPath(final Object item) {
+            if (propertyChain == null) {
+                return path.read(item, READ_CONFIGURATION);
+            }
+            Object current = item;
+            for (final String property : propertyChain) {
+                if (!(current instanceof Map<?, ?> map)) {
+                    return null;
+                }
+                current = map.get(property);
+            }
+            return current;
+        }
+    }
+}
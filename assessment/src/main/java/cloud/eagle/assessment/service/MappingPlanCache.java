@@ -0,0 +1,53 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled mapping plans keyed by source name.
+ * A cached plan is reused only while the configuration still has the same root path and field mappings,
+ * so edited configurations are recompiled on their next use.
+ */
+@Component
+public class MappingPlanCache {
+
+    private final Map<String, MappingPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled plan for a configuration, compiling it on first use or after a change.
+     *
+     * @param config API configuration with field mappings
+     * @return compiled mapping plan
+     */
+    MappingPlan get(final ApiConfiguration config) {
+        final String signature = MappingPlan.signatureOf(config);
+        final MappingPlan cached = plans.get(config.getSourceName());
+        if (cached != null && cached.signature().equals(signature)) {
+            return cached;
+        }
+        final MappingPlan compiled = MappingPlan.compile(config);
+        plans.put(config.getSourceName(), compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles and caches the plan for a configuration ahead of its first sync.
+     *
+     * @param config API configuration with field mappings
+     */
+    public void precompile(final ApiConfiguration config) {
+        plans.put(config.getSourceName(), MappingPlan.compile(config));
+    }
+
+    /**
+     * Drops the cached plan of a source.
+     *
+     * @param sourceName the source name
+     */
+    public void evict(final String sourceName) {
+        plans.remove(sourceName);
+    }
+}
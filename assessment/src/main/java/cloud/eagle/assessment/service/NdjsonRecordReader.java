@@ -0,0 +1,85 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.FieldMappingException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads newline-delimited JSON, one object per line. Blank lines are skipped. A line longer than the
+ * record limit is skipped up to its end without being kept, and rejected as a record of its own.
+ */
+final class NdjsonRecordReader implements ImportRecordReader {
+
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final int maxRecordChars;
+    private final StringBuilder buffer = new StringBuilder();
+    private String line;
+    private boolean oversized;
+
+    NdjsonRecordReader(final BufferedReader reader, final int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank() && !oversized);
+        return line != null;
+    }
+
+    @Override
+    public Object document() {
+        if (oversized) {
+            throw new FieldMappingException("JSON line exceeds " + maxRecordChars + " characters");
+        }
+        final Object document;
+        try {
+            document = MappingPlan.READ_CONFIGURATION.jsonProvider().parse(line);
+        } catch (final RuntimeException e) {
+            throw new FieldMappingException("Invalid JSON line: " + e.getMessage(), e);
+        }
+        // The lenient parser reads unquoted text as a string, so anything but an object is rejected here
+        if (!(document instanceof Map<?, ?>)) {
+            throw new FieldMappingException("Invalid JSON line: expected an object");
+        }
+        return document;
+    }
+
+    /**
+     * The line, or only its first characters up to the record limit if it is longer.
+     */
+    @Override
+    public String payload() {
+        return line;
+    }
+
+    /**
+     * Reads one line without its terminator, keeping at most the record limit, or null at the end of the file.
+     */
+    private String readLine() throws IOException {
+        int c = reader.read();
+        if (c == END) {
+            return null;
+        }
+        buffer.setLength(0);
+        oversized = false;
+        while (c != END && c != '\n') {
+            if (buffer.length() < maxRecordChars) {
+                buffer.append((char) c);
+            } else {
+                oversized = true;
+            }
+            c = reader.read();
+        }
+        if (!buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+        }
+        return buffer.toString();
+    }
+}
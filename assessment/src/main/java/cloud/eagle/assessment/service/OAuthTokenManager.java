@@ -0,0 +1,245 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.exception.ExternalApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Obtains OAuth2 access tokens with the client credentials grant and keeps one per source.
+ * A cached token is used until shortly before it expires, and a token still in use is refreshed in the
+ * background ahead of its expiry, with its refresh token when the server issued one. However many
+ * requests need a token at once, only one token request per source is in flight.
+ */
+@Service
+@Slf4j
+public class OAuthTokenManager {
+
+    /**
+     * Tokens this close to expiry are not handed out, so they cannot expire while a request is in flight.
+     */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final Duration refreshAhead;
+    private final ScheduledExecutorService refresher;
+    private final ConcurrentHashMap<String, TokenSlot> slots = new ConcurrentHashMap<>();
+
+    public OAuthTokenManager(
+        final WebClient.Builder webClientBuilder,
+        final ObjectMapper objectMapper,
+        @Value("${oauth.refresh-ahead:PT1M}") final Duration refreshAhead
+    ) {
+        this.webClient = webClientBuilder.clone().build();
+        this.objectMapper = objectMapper;
+        this.refreshAhead = refreshAhead;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("oauth-token-refresher").daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Get an access token for a source, requesting one only if no valid token is cached.
+     *
+     * @param config API configuration with OAuth2 client settings
+     * @return access token
+     */
+    public Mono<String> accessToken(final ApiConfiguration config) {
+        return Mono.defer(() -> {
+            final OAuthClient client = OAuthClient.of(config);
+            final TokenSlot slot = slots.compute(config.getSourceName(), (sourceName, existing) ->
+                existing != null && existing.client.equals(client) ? existing : new TokenSlot(sourceName, client));
+            final OAuthToken token = slot.current;
+            final Mono<OAuthToken> valid = token != null && token.isValidAt(Instant.now().plus(EXPIRY_MARGIN))
+                ? Mono.just(token)
+                : Mono.fromFuture(() -> refresh(slot), true);
+            return valid
+                .doOnNext(issued -> slot.lastUsed = Instant.now())
+                .map(OAuthToken::accessToken);
+        });
+    }
+
+    /**
+     * Drop the cached token of a source, such as after the provider rejected it.
+     *
+     * @param config API configuration
+     */
+    public void invalidate(final ApiConfiguration config) {
+        final TokenSlot slot = slots.get(config.getSourceName());
+        if (slot != null) {
+            slot.current = null;
+        }
+    }
+
+    /**
+     * Starts a token request unless one is already in flight for the source, whose result is then shared.
+     */
+    private CompletableFuture<OAuthToken> refresh(final TokenSlot slot) {
+        synchronized (slot) {
+            if (slot.inFlight == null || slot.inFlight.isDone()) {
+                slot.inFlight = requestToken(slot.client, slot.current)
+                    .doOnNext(token -> {
+                        slot.current = token;
+                        scheduleRefresh(slot, token);
+                    })
+                    .toFuture();
+            }
+            return slot.inFlight;
+        }
+    }
+
+    private void scheduleRefresh(final TokenSlot slot, final OAuthToken token) {
+        if (token.expiresAt() == null) {
+            return;
+        }
+        final Duration lifetime = Duration.between(token.issuedAt(), token.expiresAt());
+        final Duration ahead = refreshAhead.compareTo(lifetime.dividedBy(2)) < 0 ? refreshAhead : lifetime.dividedBy(2);
+        refresher.schedule(() -> refreshInBackground(slot, token), lifetime.minus(ahead).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshInBackground(final TokenSlot slot, final OAuthToken token) {
+        // Tokens replaced meanwhile, or not used since they were issued, are left to expire
+        if (slots.get(slot.sourceName) != slot || slot.current != token || slot.lastUsed.isBefore(token.issuedAt())) {
+            return;
+        }
+        log.debug("Refreshing OAuth token ahead of expiry for source: {}", slot.sourceName);
+        refresh(slot).exceptionally(e -> {
+            log.warn("Background OAuth token refresh failed for source: {}, error={}", slot.sourceName, e.getMessage());
+            return null;
+        });
+    }
+
+    private Mono<OAuthToken> requestToken(final OAuthClient client, final OAuthToken previous) {
+        final MultiValueMap<String, String> clientCredentials = new LinkedMultiValueMap<>();
+        clientCredentials.add("grant_type", "client_credentials");
+        if (client.scope() != null) {
+            clientCredentials.add("scope", client.scope());
+        }
+        final Mono<OAuthToken> withClientCredentials = tokenRequest(client, clientCredentials, null);
+        if (previous == null || previous.refreshToken() == null) {
+            return withClientCredentials;
+        }
+
+        final MultiValueMap<String, String> refreshGrant = new LinkedMultiValueMap<>();
+        refreshGrant.add("grant_type", "refresh_token");
+        refreshGrant.add("refresh_token", previous.refreshToken());
+        return tokenRequest(client, refreshGrant, previous.refreshToken())
+            .onErrorResume(e -> {
+                log.info("Refresh token rejected, falling back to client credentials: error={}", e.getMessage());
+                return withClientCredentials;
+            });
+    }
+
+    private Mono<OAuthToken> tokenRequest(
+        final OAuthClient client,
+        final MultiValueMap<String, String> form,
+        final String previousRefreshToken
+    ) {
+        return Mono.defer(() -> {
+            final Instant requestedAt = Instant.now();
+            return webClient.post()
+                .uri(client.tokenUrl())
+                .headers(headers -> headers.setBasicAuth(
+                    client.clientId(), Objects.requireNonNullElse(client.clientSecret(), ""), StandardCharsets.UTF_8))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromFormData(form))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(REQUEST_TIMEOUT)
+                .map(json -> parseToken(json, requestedAt, previousRefreshToken))
+                .onErrorMap(e -> !(e instanceof ExternalApiException),
+                    e -> new ExternalApiException("Failed to obtain OAuth token from " + client.tokenUrl(), e));
+        });
+    }
+
+    private OAuthToken parseToken(final String json, final Instant requestedAt, final String previousRefreshToken) {
+        final JsonNode response;
+        try {
+            response = objectMapper.readTree(json);
+        } catch (final Exception e) {
+            throw new ExternalApiException("Invalid OAuth token response", e);
+        }
+        final JsonNode accessToken = response.get("access_token");
+        if (accessToken == null || !accessToken.isTextual()) {
+            throw new ExternalApiException("OAuth token response has no access_token");
+        }
+        final JsonNode expiresIn = response.get("expires_in");
+        final JsonNode refreshToken = response.get("refresh_token");
+        return new OAuthToken(
+            accessToken.asText(),
+            refreshToken != null && refreshToken.isTextual() ? refreshToken.asText() : previousRefreshToken,
+            requestedAt,
+            expiresIn != null && expiresIn.canConvertToLong() ? requestedAt.plusSeconds(expiresIn.asLong()) : null
+        );
+    }
+
+    /**
+     * OAuth2 client settings of a source; a token is only reused while they stay the same.
+     */
+    private record OAuthClient(String tokenUrl, String clientId, String clientSecret, String scope) {
+
+        static OAuthClient of(final ApiConfiguration config) {
+            if (config.getOauthTokenUrl() == null || config.getOauthClientId() == null) {
+                throw new ExternalApiException("OAuth token URL and client id are required for source: "
+                    + config.getSourceName());
+            }
+            return new OAuthClient(config.getOauthTokenUrl(), config.getOauthClientId(),
+                config.getAuthCredentials(), config.getOauthScope());
+        }
+    }
+
+    /**
+     * Token as issued; a null expiry means the server did not announce one.
+     * Expiry is measured from when the token was requested, so it is never later than the server's.
+     */
+    private record OAuthToken(String accessToken, String refreshToken, Instant issuedAt, Instant expiresAt) {
+
+        boolean isValidAt(final Instant instant) {
+            return expiresAt == null || expiresAt.isAfter(instant);
+        }
+    }
+
+    /**
+     * Cached token of one source and the token request in flight for it, if any.
+     */
+    private static final class TokenSlot {
+
+        private final String sourceName;
+        private final OAuthClient client;
+        private volatile OAuthToken current;
+        private volatile Instant lastUsed = Instant.MIN;
+        private CompletableFuture<OAuthToken> inFlight;
+
+        private TokenSlot(final String sourceName, final OAuthClient client) {
+            this.sourceName = sourceName;
+            this.client = client;
+        }
+    }
+}
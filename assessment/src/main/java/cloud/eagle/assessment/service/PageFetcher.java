@@ -0,0 +1,153 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.HttpCacheValidator;
+import cloud.eagle.assessment.domain.entity.PaginationType;
+import cloud.eagle.assessment.exception.FieldMappingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Fetches all pages of an offset or page number based API.
+ * The first page tells the total count; the remaining pages are then requested concurrently,
+ * capped per source, and emitted either in page order or as they arrive.
+ */
+@Service
+@Slf4j
+public class PageFetcher {
+
+    private final ExternalApiService externalApiService;
+    private final int defaultMaxConcurrentPages;
+
+    public PageFetcher(
+        final ExternalApiService externalApiService,
+        @Value("${pagination.max-concurrent-pages:4}") final int defaultMaxConcurrentPages
+    ) {
+        this.externalApiService = externalApiService;
+        this.defaultMaxConcurrentPages = defaultMaxConcurrentPages;
+    }
+
+    /**
+     * Fetch all pages of a paginated source.
+     * Every page is requested conditionally. An unchanged first page takes its total count from its stored
+     * validator; if none was stored, the first page is fetched again in full to read it. A first page that
+     * comes back in full is still emitted as unchanged when its validators match the stored ones.
+     * Pages not consumed because of an error or cancellation are closed.
+     *
+     * @param config paginated API configuration
+     * @param request request with the templates applied, whose URL the page parameters are added to
+     * @param validators stored validators by request URL
+     * @return pages, which the consumer must close
+     */
+    Flux<FetchedPage> fetchPages(
+        final ApiConfiguration config,
+        final SourceRequest request,
+        final Map<String, HttpCacheValidator> validators
+    ) {
+        final String firstUrl = pageUrl(config, request.url(), 0);
+        final HttpCacheValidator firstValidator = validators.get(firstUrl);
+        return externalApiService.requestBody(config, firstUrl, request.body(), firstValidator)
+            .flatMap(body -> body.isNotModified() && firstValidator.getTotalCount() == null
+                ? externalApiService.requestBody(config, firstUrl, request.body(), null)
+                : Mono.just(body))
+            // Parsing the total count is CPU work that must not run on the event loop
+            .publishOn(Schedulers.boundedElastic())
+            .flatMapMany(body -> {
+                final FetchedPage first;
+                final int pageCount;
+                try {
+                    if (body.isNotModified()) {
+                        first = new FetchedPage(0, firstUrl, body, firstValidator.getTotalCount());
+                    } else {
+                        final long total = externalApiService.readTotalCount(body, config);
+                        first = new FetchedPage(0, firstUrl, matches(firstValidator, body) ? unchanged(body) : body, total);
+                    }
+                    pageCount = pageCount(config, first.totalCount());
+                } catch (final RuntimeException e) {
+                    body.close();
+                    return Flux.error(e);
+                }
+                return Flux.concat(Mono.just(first), remainingPages(config, request, pageCount, validators));
+            })
+            .doOnDiscard(FetchedPage.class, FetchedPage::close);
+    }
+
+    private Flux<FetchedPage> remainingPages(
+        final ApiConfiguration config,
+        final SourceRequest request,
+        final int pageCount,
+        final Map<String, HttpCacheValidator> validators
+    ) {
+        final int concurrency = Objects.requireNonNullElse(config.getMaxConcurrentPages(), defaultMaxConcurrentPages);
+        log.info("Fetching {} pages from source: {}, concurrency={}, ordered={}",
+            pageCount, config.getSourceName(), concurrency, config.isPreservePageOrder());
+
+        final Flux<Integer> indexes = Flux.range(1, pageCount - 1);
+        final Function<Integer, Mono<FetchedPage>> fetch = index -> {
+            final String url = pageUrl(config, request.url(), index);
+            return externalApiService.requestBody(config, url, request.body(), validators.get(url))
+                .map(body -> new FetchedPage(index, url, body, null));
+        };
+        return config.isPreservePageOrder()
+            ? indexes.flatMapSequential(fetch, concurrency)
+            : indexes.flatMap(fetch, concurrency);
+    }
+
+    /**
+     * Pages needed for a total count; a count that is negative or needs more pages than can be indexed is
+     * rejected rather than wrapped around.
+     */
+    static int pageCount(final ApiConfiguration config, final long total) {
+        if (total < 0) {
+            throw new FieldMappingException("Negative total count " + total + " for source: " + config.getSourceName());
+        }
+        final long pages = Math.max(1, Math.ceilDiv(total, (long) config.getPageSize()));
+        if (pages > Integer.MAX_VALUE) {
+            throw new FieldMappingException("Total count " + total + " needs more than " + Integer.MAX_VALUE
+                + " pages for source: " + config.getSourceName());
+        }
+        return (int) pages;
+    }
+
+    private static boolean matches(final HttpCacheValidator validator, final ResponseBody body) {
+        if (validator == null) {
+            return false;
+        }
+        return body.etag() != null && body.etag().equals(validator.getEtag())
+            || body.lastModified() != null && body.lastModified().equals(validator.getLastModified());
+    }
+
+    private static ResponseBody unchanged(final ResponseBody body) {
+        body.close();
+        return ResponseBody.notModified();
+    }
+
+    /**
+     * Builds the URL of a page from the endpoint URL and the pagination parameters.
+     *
+     * @param config paginated API configuration
+     * @param endpointUrl endpoint URL with the query template applied
+     * @param index zero-based page index
+     * @return page URL
+     */
+    static String pageUrl(final ApiConfiguration config, final String endpointUrl, final int index) {
+        final long value = config.getPaginationType() == PaginationType.OFFSET
+            ? Objects.requireNonNullElse(config.getFirstPage(), 0) + (long) index * config.getPageSize()
+            : Objects.requireNonNullElse(config.getFirstPage(), 1) + (long) index;
+        final UriComponentsBuilder url = UriComponentsBuilder.fromUriString(endpointUrl)
+            .replaceQueryParam(config.getPageParameter(), value);
+        if (config.getPageSizeParameter() != null) {
+            url.replaceQueryParam(config.getPageSizeParameter(), config.getPageSize());
+        }
+        return url.build().toUriString();
+    }
+}
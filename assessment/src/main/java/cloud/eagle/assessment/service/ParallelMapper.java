@@ -0,0 +1,161 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.ItemMappingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Maps large item lists in parallel on a dedicated, bounded fork-join pool.
+ * The list is split into chunks that are mapped independently; results keep the item order.
+ * If items fail, the failure of the lowest item index is reported, exactly as a sequential
+ * mapping would, no matter which chunk finishes first.
+ * The common pool is never used, so mapping cannot starve or be starved by other parallel work.
+ */
+@Component
+@Slf4j
+public class ParallelMapper {
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelMapper(
+        @Value("${mapping.parallel.parallelism:0}") final int parallelism,
+        @Value("${mapping.parallel.chunk-size:2048}") final int chunkSize
+    ) {
+        final int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, ParallelMapper::newWorker, null, false);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Map every item, splitting the work across the pool when there is more than one chunk.
+     *
+     * @param items items to map
+     * @param mapper mapping function, which must be safe to call from several threads
+     * @param <T> mapped type
+     * @return mapped items in item order
+     * @throws ItemMappingException for the failing item with the lowest index
+     */
+    public <T> List<T> map(final List<?> items, final Function<Object, T> mapper) {
+        return map(items, chunkSize, mapper);
+    }
+
+    /**
+     * Map every item in chunks of the given size, for callers whose items cost more to map than
+     * response items, so smaller lists are worth splitting.
+     *
+     * @param items items to map
+     * @param itemsPerChunk most items mapped by one task
+     * @param mapper mapping function, which must be safe to call from several threads
+     * @param <T> mapped type
+     * @return mapped items in item order
+     * @throws ItemMappingException for the failing item with the lowest index
+     */
+    public <T> List<T> map(final List<?> items, final int itemsPerChunk, final Function<Object, T> mapper) {
+        final List<?> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        final Object[] results = new Object[source.size()];
+        final Failure failure = new Failure();
+
+        final MapTask task = new MapTask(source, mapper, results, failure, itemsPerChunk, 0, source.size());
+        if (source.size() <= itemsPerChunk) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        if (failure.error != null) {
+            throw new ItemMappingException(failure.index, failure.error);
+        }
+        @SuppressWarnings("unchecked")
+        final List<T> mapped = (List<T>) Arrays.asList(results);
+        return mapped;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static ForkJoinWorkerThread newWorker(final ForkJoinPool pool) {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("mapping-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Lowest failing item index seen so far. Chunks starting after it stop early,
+     * chunks before it still run to completion so a lower failure can win.
+     */
+    private static final class Failure {
+
+        private volatile int index = Integer.MAX_VALUE;
+        private RuntimeException error;
+
+        private synchronized void record(final int itemIndex, final RuntimeException itemError) {
+            if (itemIndex < index) {
+                error = itemError;
+                index = itemIndex;
+            }
+        }
+    }
+
+    private static final class MapTask extends RecursiveAction {
+
+        private final List<?> items;
+        private final Function<Object, ?> mapper;
+        private final Object[] results;
+        private final Failure failure;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        private MapTask(
+            final List<?> items,
+            final Function<Object, ?> mapper,
+            final Object[] results,
+            final Failure failure,
+            final int chunkSize,
+            final int from,
+            final int to
+        ) {
+            this.items = items;
+            this.mapper = mapper;
+            this.results = results;
+            this.failure = failure;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                    new MapTask(items, mapper, results, failure, chunkSize, from, middle),
+                    new MapTask(items, mapper, results, failure, chunkSize, middle, to)
+                );
+                return;
+            }
+            for (int i = from; i < to && i < failure.index; i++) {
+                try {
+                    results[i] = mapper.apply(items.get(i));
+                } catch (final RuntimeException e) {
+                    failure.record(i, e);
+                    return;
+                }
+            }
+        }
+    }
+}
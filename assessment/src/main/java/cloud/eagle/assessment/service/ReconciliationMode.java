@@ -0,0 +1,19 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * What happens to stored users that a complete sync no longer returned.
+ */
+public enum ReconciliationMode {
+    /**
+     * Keep stale users untouched.
+     */
+    NONE,
+    /**
+     * Flag stale users as deleted and hide them from listings.
+     */
+    MARK,
+    /**
+     * Delete stale users.
+     */
+    PURGE
+}
@@ -0,0 +1,146 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.SyncRun;
+import cloud.eagle.assessment.domain.event.UsersRemovedEvent;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.SyncRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tracks sync runs and removes users that a complete sync no longer returned.
+ * Every user stored by a run is stamped with the run id, so the set of users seen by the run
+ * lives in the table itself and stale users are removed with one set-based statement.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ReconciliationService {
+
+    private final SyncRunRepository syncRunRepository;
+    private final FetchedUserRepository fetchedUserRepository;
+    private final UserChangeFeedService userChangeFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReconciliationMode mode;
+
+    public ReconciliationService(
+        final SyncRunRepository syncRunRepository,
+        final FetchedUserRepository fetchedUserRepository,
+        final UserChangeFeedService userChangeFeedService,
+        final ApplicationEventPublisher eventPublisher,
+        @Value("${sync.reconciliation.mode:MARK}") final ReconciliationMode mode
+    ) {
+        this.syncRunRepository = syncRunRepository;
+        this.fetchedUserRepository = fetchedUserRepository;
+        this.userChangeFeedService = userChangeFeedService;
+        this.eventPublisher = eventPublisher;
+        this.mode = mode;
+    }
+
+    /**
+     * Start a new sync run for a source.
+     *
+     * @param sourceName the source name
+     * @return the persisted run whose id stamps every user seen
+     */
+    public SyncRun startRun(final String sourceName) {
+        return startRun(sourceName, false);
+    }
+
+    /**
+     * Start a new sync run for a source.
+     *
+     * @param sourceName the source name
+     * @param incremental whether the run only requests users changed since an earlier run
+     * @return the persisted run whose id stamps every user seen
+     */
+    public SyncRun startRun(final String sourceName, final boolean incremental) {
+        return syncRunRepository.save(new SyncRun(sourceName, incremental));
+    }
+
+    /**
+     * Find when the last completed sync run of a source started. Users changed after that instant may
+     * not have been seen by it.
+     *
+     * @param sourceName the source name
+     * @return start of the last completed run, empty if the source was never synced
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> lastCompletedRunStart(final String sourceName) {
+        return syncRunRepository.findFirstBySourceNameAndCompletedAtIsNotNullOrderByStartedAtDesc(sourceName)
+            .map(SyncRun::getStartedAt);
+    }
+
+    /**
+     * Find when a sync run started.
+     *
+     * @param runId the run id
+     * @return start of the run, empty if it no longer exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> findRunStart(final Long runId) {
+        return syncRunRepository.findById(runId).map(SyncRun::getStartedAt);
+    }
+
+    /**
+     * Find when the last completed sync run of a source that requested every user started.
+     *
+     * @param sourceName the source name
+     * @return start of the last completed full run, empty if the source never had one
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> lastCompletedFullRunStart(final String sourceName) {
+        return syncRunRepository.findFirstBySourceNameAndIncrementalFalseAndCompletedAtIsNotNullOrderByStartedAtDesc(sourceName)
+            .map(SyncRun::getStartedAt);
+    }
+
+    /**
+     * Complete a sync run and, if every returned user was stored, remove the users it did not see.
+     * Incomplete runs are never reconciled, since a user missing from them may still exist upstream.
+     *
+     * @param run the sync run
+     * @param fetchedCount number of users returned by the source
+     * @param savedCount number of users stored
+     * @param complete whether the run saw the full user set of the source
+     * @return number of users removed
+     */
+    public int completeRun(final SyncRun run, final int fetchedCount, final int savedCount, final boolean complete) {
+        run.setCompletedAt(Instant.now());
+        run.setUsersSeen(savedCount);
+
+        if (mode == ReconciliationMode.NONE || !complete || fetchedCount == 0 || savedCount < fetchedCount) {
+            log.info("Skipping reconciliation for source: {}, runId={}, mode={}, complete={}, fetched={}, saved={}",
+                run.getSourceName(), run.getId(), mode, complete, fetchedCount, savedCount);
+            syncRunRepository.save(run);
+            return 0;
+        }
+
+        final String sourceName = run.getSourceName();
+        final List<Long> staleIds = fetchedUserRepository.findUnseenIds(sourceName, run.getId(), run.getStartedAt());
+        if (!staleIds.isEmpty()) {
+            userChangeFeedService.recordDeletionsOfUnseen(sourceName, run.getId(), run.getStartedAt());
+        }
+        final int removed = staleIds.isEmpty() ? 0 : switch (mode) {
+            case MARK -> fetchedUserRepository.markUnseenDeleted(sourceName, run.getId(), run.getStartedAt(), run.getCompletedAt());
+            case PURGE -> fetchedUserRepository.deleteUnseen(sourceName, run.getId(), run.getStartedAt());
+            case NONE -> 0;
+        };
+
+        run.setUsersRemoved(removed);
+        run.setReconciled(true);
+        syncRunRepository.save(run);
+
+        if (!staleIds.isEmpty()) {
+            eventPublisher.publishEvent(new UsersRemovedEvent(sourceName, staleIds));
+        }
+        log.info("Reconciled source: {}, runId={}, mode={}, removed={}", sourceName, run.getId(), mode, removed);
+        return removed;
+    }
+}
@@ -0,0 +1,10 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * Outcome of applying one batch of remapped users.
+ *
+ * @param updated users whose stored values changed
+ * @param failed users whose source item no longer maps to a valid user
+ */
+record RemapBatchResult(int updated, int failed) {
+}
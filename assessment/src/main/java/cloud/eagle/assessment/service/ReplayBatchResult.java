@@ -0,0 +1,10 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * Outcome of replaying one batch of dead-letter items.
+ *
+ * @param replayed items stored or found superseded
+ * @param failed items that failed again and stay pending
+ */
+record ReplayBatchResult(int replayed, int failed) {
+}
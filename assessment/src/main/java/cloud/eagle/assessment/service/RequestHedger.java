@@ -0,0 +1,189 @@
+package cloud.eagle.assessment.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Hedges idempotent requests against slow responses.
+ * When a request has not answered within a percentile of the source's recent response times, a
+ * duplicate is sent and whichever response arrives first is used; the other request is cancelled.
+ * Each request earns the source a fraction of a hedge, so hedges never exceed that fraction of the
+ * requests however slow the provider gets.
+ */
+@Service
+@Slf4j
+public class RequestHedger {
+
+    static final String HEDGES_METRIC = "sync.hedging.hedges";
+    static final String WINS_METRIC = "sync.hedging.wins";
+
+    /**
+     * Response times kept per source for the percentile.
+     */
+    private static final int LATENCY_WINDOW = 256;
+
+    /**
+     * Unused hedges a source can save up, so a quiet period does not allow a burst of duplicates.
+     */
+    private static final double MAX_CREDITS = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double percentile;
+    private final double budgetRatio;
+    private final int minSamples;
+    private final ConcurrentHashMap<String, SourceLatency> latencies = new ConcurrentHashMap<>();
+
+    public RequestHedger(
+        final MeterRegistry meterRegistry,
+        @Value("${sync.hedging.enabled:false}") final boolean enabled,
+        @Value("${sync.hedging.percentile:0.95}") final double percentile,
+        @Value("${sync.hedging.budget-ratio:0.05}") final double budgetRatio,
+        @Value("${sync.hedging.min-samples:20}") final int minSamples
+    ) {
+        if (percentile <= 0 || percentile >= 1 || budgetRatio < 0 || budgetRatio > 1) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 1 and budget ratio at most 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.budgetRatio = budgetRatio;
+        this.minSamples = Math.clamp(minSamples, 1, LATENCY_WINDOW);
+    }
+
+    /**
+     * Run a request, hedging it once it is slower than the source's recent responses.
+     * The request must be idempotent, as it may be sent twice.
+     *
+     * @param sourceName source the request goes to
+     * @param request creates one attempt of the request per call
+     * @return the first response; a late response of the other attempt is closed
+     */
+    public Mono<ResponseBody> hedge(final String sourceName, final Supplier<Mono<ResponseBody>> request) {
+        return hedge(sourceName, request, UnaryOperator.identity());
+    }
+
+    /**
+     * Run a request, hedging it once it is slower than the source's recent responses, and let the
+     * duplicate be admitted separately, such as by a concurrency limit it must not exceed.
+     * A duplicate the admission completes empty is not sent, and its hedge is given back to the budget.
+     *
+     * @param sourceName source the request goes to
+     * @param request creates one attempt of the request per call
+     * @param admission wraps the duplicate attempt; may complete empty without subscribing to it
+     * @return the first response; a late response of the other attempt is closed
+     */
+    public Mono<ResponseBody> hedge(
+        final String sourceName,
+        final Supplier<Mono<ResponseBody>> request,
+        final UnaryOperator<Mono<ResponseBody>> admission
+    ) {
+        if (!enabled) {
+            return request.get();
+        }
+        return Mono.defer(() -> {
+            final SourceLatency latency = latencies.computeIfAbsent(sourceName, name -> new SourceLatency());
+            final Duration delay = latency.hedgeDelay();
+            final AtomicBoolean decided = new AtomicBoolean();
+            final Mono<ResponseBody> primary = attempt(latency, request, decided);
+            if (delay == null) {
+                return primary;
+            }
+
+            // A failed or unadmitted hedge leaves the answer to the primary request
+            final Mono<ResponseBody> duplicate = Mono.defer(request)
+                .doOnSubscribe(subscription -> {
+                    log.debug("Hedging request after {}ms: sourceName={}", delay.toMillis(), sourceName);
+                    meterRegistry.counter(HEDGES_METRIC, "source", sourceName).increment();
+                });
+            final Mono<ResponseBody> hedged = Mono.delay(delay)
+                .flatMap(tick -> {
+                    if (!latency.tryHedge()) {
+                        return Mono.never();
+                    }
+                    return attempt(latency, () -> admission.apply(duplicate), decided)
+                        .doOnNext(body -> meterRegistry.counter(WINS_METRIC, "source", sourceName).increment())
+                        .switchIfEmpty(Mono.defer(() -> {
+                            latency.refundHedge();
+                            return Mono.never();
+                        }));
+                })
+                .onErrorResume(e -> Mono.never());
+            return Mono.firstWithSignal(primary, hedged);
+        });
+    }
+
+    /**
+     * Only the first response is passed on; one arriving after it never signals, so it cannot win the race.
+     */
+    private static Mono<ResponseBody> attempt(
+        final SourceLatency latency,
+        final Supplier<Mono<ResponseBody>> request,
+        final AtomicBoolean decided
+    ) {
+        return Mono.defer(() -> {
+            final long started = System.nanoTime();
+            return request.get().flatMap(body -> {
+                latency.record(System.nanoTime() - started);
+                if (decided.compareAndSet(false, true)) {
+                    return Mono.just(body);
+                }
+                body.close();
+                return Mono.never();
+            });
+        });
+    }
+
+    /**
+     * Recent response times and hedge credits of one source, guarded by its monitor.
+     */
+    private final class SourceLatency {
+
+        private final long[] samples = new long[LATENCY_WINDOW];
+        private int count;
+        private int next;
+        private double credits;
+
+        synchronized void record(final long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % LATENCY_WINDOW;
+            count = Math.min(count + 1, LATENCY_WINDOW);
+        }
+
+        /**
+         * Earns this request's share of a hedge and returns when to send it, or null while too few
+         * responses have been seen to tell a slow one.
+         */
+        synchronized Duration hedgeDelay() {
+            credits = Math.min(MAX_CREDITS, credits + budgetRatio);
+            if (count < minSamples) {
+                return null;
+            }
+            final long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return Duration.ofNanos(sorted[(int) Math.ceil(percentile * count) - 1]);
+        }
+
+        synchronized boolean tryHedge() {
+            if (credits < 1) {
+                return false;
+            }
+            credits--;
+            return true;
+        }
+
+        synchronized void refundHedge() {
+            credits = Math.min(MAX_CREDITS, credits + 1);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the request templates of an API configuration, so that filtering and projection happen at
+ * the provider instead of after the whole resource was downloaded and parsed.
+ * Templates reference these variables:
+ * <ul>
+ *     <li>{@code {fields}} top-level properties the field mappings read, comma-separated in a query
+ *     and an array in a body</li>
+ *     <li>{@code {pageSize}} the configured page size</li>
+ *     <li>{@code {since}} start of the last completed sync, as an ISO-8601 instant</li>
+ * </ul>
+ * A query parameter or body property referencing a variable without a value is left out, so the
+ * first sync of a source and sources whose fields cannot be derived still request everything.
+ */
+final class RequestTemplate {
+
+    static final String FIELDS = "fields";
+    static final String PAGE_SIZE = "pageSize";
+    static final String SINCE = "since";
+    static final Set<String> VARIABLES = Set.of(FIELDS, PAGE_SIZE, SINCE);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z]+)}");
+    private static final Pattern FIRST_PROPERTY = Pattern.compile("^\\$(?:\\.([A-Za-z_][A-Za-z0-9_-]*)|\\['([^'\\]]+)'])");
+
+    private RequestTemplate() {
+        // Utility class
+    }
+
+    /**
+     * Renders the request to a source's endpoint.
+     *
+     * @param config API configuration with field mappings and joined endpoints
+     * @param since start of the last completed sync, or null if there is none
+     * @return request with the query template appended and the body template rendered
+     */
+    static SourceRequest render(final ApiConfiguration config, final Instant since) {
+        final Map<String, Object> variables = new HashMap<>();
+        variables.put(FIELDS, projectedFields(config));
+        variables.put(PAGE_SIZE, config.getPageSize());
+        variables.put(SINCE, since != null ? since.toString() : null);
+
+        final String url = renderQuery(config.getEndpointUrl(), config.getRequestQueryTemplate(), variables);
+        final String body = renderBody(config.getRequestBodyTemplate(), variables);
+        final boolean incremental = since != null
+            && (references(config.getRequestQueryTemplate(), SINCE) || references(config.getRequestBodyTemplate(), SINCE));
+        return new SourceRequest(url, body, incremental);
+    }
+
+    /**
+     * Whether a template references a variable.
+     */
+    static boolean references(final String template, final String variable) {
+        return template != null && template.contains("{" + variable + "}");
+    }
+
+    /**
+     * Names of the variables a template references.
+     */
+    static Set<String> placeholders(final String template) {
+        final Set<String> names = new LinkedHashSet<>();
+        if (template != null) {
+            final Matcher matcher = PLACEHOLDER.matcher(template);
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Top-level properties of the user items that the field mappings, their transform chains and the
+     * join keys read. Properties attached by joined endpoints are not requested from the provider.
+     *
+     * @return property names, or null if a path does not start with a plain property
+     */
+    static List<String> projectedFields(final ApiConfiguration config) {
+        final Set<String> fields = new LinkedHashSet<>();
+        final List<String> paths = new ArrayList<>();
+        for (final FieldMapping mapping : config.getFieldMappings()) {
+            paths.add(mapping.getJsonPath());
+            paths.addAll(FieldTransforms.referencedPaths(mapping.getTransforms()));
+        }
+        config.getJoinedEndpoints().stream().map(JoinedEndpoint::getParentKeyPath).forEach(paths::add);
+        for (final String path : paths) {
+            final Matcher matcher = FIRST_PROPERTY.matcher(path.trim());
+            if (!matcher.find()) {
+                return null;
+            }
+            fields.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        config.getJoinedEndpoints().stream().map(JoinedEndpoint::getName).forEach(fields::remove);
+        return fields.isEmpty() ? null : List.copyOf(fields);
+    }
+
+    private static String renderQuery(final String url, final String template, final Map<String, Object> variables) {
+        if (template == null || template.isBlank()) {
+            return url;
+        }
+        final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
+        for (final String parameter : template.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            final String value = substitute(parameter.substring(separator + 1), variables);
+            if (value != null) {
+                builder.replaceQueryParam(parameter.substring(0, separator), value);
+            }
+        }
+        return builder.build().toUriString();
+    }
+
+    private static String renderBody(final String template, final Map<String, Object> variables) {
+        if (template == null || template.isBlank()) {
+            return null;
+        }
+        final Object body = MappingPlan.READ_CONFIGURATION.jsonProvider().parse(template);
+        return ExternalApiService.toItemJson(renderValue(body, variables));
+    }
+
+    /**
+     * Replaces placeholders in a parsed body template. A string that is a placeholder alone takes the
+     * variable's value with its type; null marks a value to leave out.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object renderValue(final Object value, final Map<String, Object> variables) {
+        if (value instanceof Map<?, ?> map) {
+            final Iterator<Map.Entry<String, Object>> entries = ((Map<String, Object>) map).entrySet().iterator();
+            while (entries.hasNext()) {
+                final Map.Entry<String, Object> entry = entries.next();
+                final Object rendered = renderValue(entry.getValue(), variables);
+                if (rendered == null && entry.getValue() != null) {
+                    entries.remove();
+                } else {
+                    entry.setValue(rendered);
+                }
+            }
+            return map;
+        }
+        if (value instanceof List<?> list) {
+            final List<Object> rendered = new ArrayList<>(list.size());
+            for (final Object element : list) {
+                final Object renderedElement = renderValue(element, variables);
+                if (renderedElement != null || element == null) {
+                    rendered.add(renderedElement);
+                }
+            }
+            return rendered;
+        }
+        if (value instanceof String text) {
+            final Matcher matcher = PLACEHOLDER.matcher(text);
+            if (matcher.matches()) {
+                return variables.get(matcher.group(1));
+            }
+            return substitute(text, variables);
+        }
+        return value;
+    }
+
+    /**
+     * Replaces placeholders within a text; lists are joined with commas.
+     *
+     * @return the text, or null if a referenced variable has no value
+     */
+    private static String substitute(final String text, final Map<String, Object> variables) {
+        final Matcher matcher = PLACEHOLDER.matcher(text);
+        final StringBuilder result = new StringBuilder(text.length());
+        while (matcher.find()) {
+            final Object variable = variables.get(matcher.group(1));
+            if (variable == null) {
+                return null;
+            }
+            final String replacement = variable instanceof List<?> names
+                ? String.join(",", names.stream().map(Object::toString).toList())
+                : variable.toString();
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
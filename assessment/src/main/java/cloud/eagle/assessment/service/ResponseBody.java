@@ -0,0 +1,220 @@
+package cloud.eagle.assessment.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Body of an external API response, held either in memory or spilled to a temporary file.
+ * Spilled bodies are read back through memory-mapped regions, so their raw bytes stay off the heap;
+ * the document parsed from them does not, and is as large as the export it holds.
+ * Closing a spilled body deletes its file.
+ * A body also carries the cache validators of its response, or marks a 304 Not Modified response.
+ */
+public final class ResponseBody implements AutoCloseable {
+
+    private static final long MAP_REGION_BYTES = 256L * 1_024 * 1_024;
+
+    private static final ResponseBody NOT_MODIFIED = new ResponseBody(new byte[0], null, 0, true, null, null);
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final boolean notModified;
+    private final String etag;
+    private final String lastModified;
+
+    /**
+     * Document parsed by an earlier read that the body's mapping reuses, such as the first page of a
+     * paginated source, whose total count is read before it is mapped.
+     */
+    private Object document;
+
+    private ResponseBody(
+        final byte[] bytes,
+        final Path file,
+        final long size,
+        final boolean notModified,
+        final String etag,
+        final String lastModified
+    ) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.notModified = notModified;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    static ResponseBody inMemory(final byte[] bytes) {
+        return new ResponseBody(bytes, null, bytes.length, false, null, null);
+    }
+
+    static ResponseBody spilled(final Path file, final long size) {
+        return new ResponseBody(null, file, size, false, null, null);
+    }
+
+    static ResponseBody notModified() {
+        return NOT_MODIFIED;
+    }
+
+    /**
+     * Returns the same body carrying the cache validators of its response.
+     *
+     * @param etag ETag header, or null
+     * @param lastModified Last-Modified header, or null
+     * @return body with validators
+     */
+    ResponseBody withValidators(final String etag, final String lastModified) {
+        return new ResponseBody(bytes, file, size, notModified, etag, lastModified);
+    }
+
+    /**
+     * Wraps an already materialized response.
+     *
+     * @param json response body
+     * @return in-memory response body
+     */
+    public static ResponseBody of(final String json) {
+        return inMemory(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * Whether the source answered a conditional request with 304 Not Modified.
+     * Such a body is empty and must not be parsed.
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public String lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Opens a stream over the body, memory-mapping spilled bodies region by region.
+     *
+     * @return input stream positioned at the first byte
+     */
+    public InputStream openStream() throws IOException {
+        return file == null
+            ? new ByteArrayInputStream(bytes)
+            : new MappedFileInputStream(FileChannel.open(file, StandardOpenOption.READ), size);
+    }
+
+    /**
+     * Keeps the parsed document, so later reads of this body reuse it instead of parsing again.
+     *
+     * @param parsed document parsed from this body
+     */
+    void keepDocument(final Object parsed) {
+        if (!notModified) {
+            document = parsed;
+        }
+    }
+
+    /**
+     * @return the kept parsed document, or null if none was kept
+     */
+    Object keptDocument() {
+        return document;
+    }
+
+    /**
+     * Reads the whole body into a string. Only meant for bodies known to be small.
+     *
+     * @return body decoded as UTF-8
+     */
+    public String asString() {
+        try (InputStream in = openStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        document = null;
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Input stream over a file mapped in regions of at most {@link #MAP_REGION_BYTES},
+     * which also covers files larger than a single mapping can address.
+     */
+    private static final class MappedFileInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long size;
+        private long regionStart;
+        private MappedByteBuffer region;
+
+        private MappedFileInputStream(final FileChannel channel, final long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextRegion() ? region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] target, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextRegion()) {
+                return -1;
+            }
+            final int count = Math.min(length, region.remaining());
+            region.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private boolean nextRegion() throws IOException {
+            if (region != null && region.hasRemaining()) {
+                return true;
+            }
+            if (region != null) {
+                regionStart += region.capacity();
+            }
+            if (regionStart >= size) {
+                return false;
+            }
+            region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(MAP_REGION_BYTES, size - regionStart));
+            return true;
+        }
+    }
+}
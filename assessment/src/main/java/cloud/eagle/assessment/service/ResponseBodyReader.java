@@ -0,0 +1,166 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.exception.ExternalApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Collects streamed response bodies while enforcing a size limit per configuration.
+ * Bodies stay in memory up to the spill threshold; larger ones are written to a temporary
+ * file through a {@link FileChannel} as they arrive, so the raw bytes of a huge export never sit on the heap.
+ */
+@Component
+@Slf4j
+public class ResponseBodyReader {
+
+    private final long defaultMaxBytes;
+    private final long defaultSpillThresholdBytes;
+    private final Path spillDirectory;
+
+    public ResponseBodyReader(
+        @Value("${webclient.max-response-bytes:268435456}") final long defaultMaxBytes,
+        @Value("${webclient.spill-threshold-bytes:8388608}") final long defaultSpillThresholdBytes,
+        @Value("${webclient.spill-directory:#{systemProperties['java.io.tmpdir']}}") final Path spillDirectory
+    ) {
+        this.defaultMaxBytes = defaultMaxBytes;
+        this.defaultSpillThresholdBytes = defaultSpillThresholdBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Collects a streamed body, spilling it to disk once it grows past the spill threshold.
+     *
+     * @param body streamed response body
+     * @param config API configuration carrying optional per-source limits
+     * @return collected body, which the caller must close
+     */
+    public Mono<ResponseBody> read(final Flux<DataBuffer> body, final ApiConfiguration config) {
+        final long maxBytes = config.getMaxResponseBytes() != null
+            ? config.getMaxResponseBytes()
+            : defaultMaxBytes;
+        final long spillThresholdBytes = config.getSpillThresholdBytes() != null
+            ? config.getSpillThresholdBytes()
+            : defaultSpillThresholdBytes;
+
+        return Mono.using(
+            () -> new Spool(config.getSourceName(), maxBytes, spillThresholdBytes),
+            spool -> body
+                // File writes must not run on the event loop
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(buffer -> {
+                    try {
+                        spool.write(buffer);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then(Mono.fromCallable(spool::finish)),
+            Spool::abandon
+        );
+    }
+
+    /**
+     * Accumulates the bytes of a single response. Ownership of a spill file passes to the
+     * returned {@link ResponseBody} on finish; otherwise the file is deleted on abandon.
+     */
+    private final class Spool {
+
+        private final String sourceName;
+        private final long maxBytes;
+        private final long spillThresholdBytes;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private FileChannel channel;
+        private long size;
+        private boolean finished;
+
+        private Spool(final String sourceName, final long maxBytes, final long spillThresholdBytes) {
+            this.sourceName = sourceName;
+            this.maxBytes = maxBytes;
+            this.spillThresholdBytes = spillThresholdBytes;
+        }
+
+        private void write(final DataBuffer buffer) {
+            final int readable = buffer.readableByteCount();
+            size += readable;
+            if (size > maxBytes) {
+                throw new ExternalApiException(
+                    "Response body for source " + sourceName + " exceeds the limit of " + maxBytes + " bytes");
+            }
+            try {
+                if (channel == null && size > spillThresholdBytes) {
+                    spill();
+                }
+                if (channel == null) {
+                    final byte[] chunk = new byte[readable];
+                    buffer.read(chunk);
+                    memory.write(chunk);
+                    return;
+                }
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    while (iterator.hasNext()) {
+                        writeFully(iterator.next());
+                    }
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void spill() throws IOException {
+            // Source names may hold path characters, which a file name prefix must not
+            final String prefix = "response-" + sourceName.replaceAll("[^A-Za-z0-9_-]", "_") + "-";
+            file = Files.createTempFile(spillDirectory, prefix, ".json");
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            writeFully(ByteBuffer.wrap(memory.toByteArray()));
+            memory = null;
+            log.info("Spilling response body for source: {} to {}", sourceName, file);
+        }
+
+        private void writeFully(final ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+
+        private ResponseBody finish() throws IOException {
+            if (channel == null) {
+                finished = true;
+                return ResponseBody.inMemory(memory.toByteArray());
+            }
+            channel.close();
+            finished = true;
+            log.info("Spilled {} bytes of response body for source: {}", size, sourceName);
+            return ResponseBody.spilled(file, size);
+        }
+
+        private void abandon() {
+            if (finished || file == null) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                log.warn("Failed to delete spill file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package cloud.eagle.assessment.service;
+
+/**
+ * Request a sync sends to a source's endpoint once the configured templates are applied.
+ *
+ * @param url endpoint URL with the query template appended
+ * @param body JSON body for POST requests, or null to send none
+ * @param incremental whether the request asks only for users changed since an earlier sync
+ */
+record SourceRequest(String url, String body, boolean incremental) {
+}
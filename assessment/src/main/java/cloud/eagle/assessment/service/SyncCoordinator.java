@@ -0,0 +1,106 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs at most one sync per source at a time. Callers asking for a source that is already syncing
+ * attach to the running sync and receive its response instead of starting another one.
+ * Within the optional freshness window after a sync completed, callers receive that sync's response.
+ */
+@Service
+@Slf4j
+public class SyncCoordinator {
+
+    private final UserFetchService userFetchService;
+    private final Duration freshnessWindow;
+    private final Clock clock;
+
+    private final Map<String, CompletableFuture<FetchUsersResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CompletedSync> lastCompleted = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SyncCoordinator(
+        final UserFetchService userFetchService,
+        @Value("${sync.freshness-window:0}") final long freshnessWindowMillis
+    ) {
+        this(userFetchService, Duration.ofMillis(freshnessWindowMillis), Clock.systemUTC());
+    }
+
+    SyncCoordinator(final UserFetchService userFetchService, final Duration freshnessWindow, final Clock clock) {
+        this.userFetchService = userFetchService;
+        this.freshnessWindow = freshnessWindow;
+        this.clock = clock;
+    }
+
+    /**
+     * Sync a source, sharing the sync with every concurrent caller for the same source.
+     *
+     * @param sourceName the source name
+     * @return response of the sync this call ran, joined or found fresh
+     */
+    public FetchUsersResponse sync(final String sourceName) {
+        final CompletedSync recent = lastCompleted.get(sourceName);
+        if (recent != null && recent.isFresh(clock.instant(), freshnessWindow)) {
+            log.info("Serving sync of source: {} completed at {}", sourceName, recent.completedAt());
+            return recent.response();
+        }
+
+        final CompletableFuture<FetchUsersResponse> sync = new CompletableFuture<>();
+        final CompletableFuture<FetchUsersResponse> running = inFlight.putIfAbsent(sourceName, sync);
+        if (running != null) {
+            log.info("Joining running sync of source: {}", sourceName);
+            return join(running);
+        }
+
+        try {
+            final FetchUsersResponse response = userFetchService.fetchUsersFromSource(sourceName);
+            // Published before the sync leaves the in-flight map, so late callers find one or the other
+            lastCompleted.put(sourceName, new CompletedSync(response, clock.instant()));
+            sync.complete(response);
+            return response;
+        } catch (final Throwable e) {
+            // Errors too, or followers already waiting on the sync would wait forever
+            sync.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(sourceName, sync);
+        }
+    }
+
+    private static FetchUsersResponse join(final CompletableFuture<FetchUsersResponse> running) {
+        try {
+            return running.join();
+        } catch (final CompletionException e) {
+            // Followers see the leader's own exception, so they get the same error response
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Response of the last successful sync of a source and when it committed.
+     */
+    private record CompletedSync(FetchUsersResponse response, Instant completedAt) {
+
+        boolean isFresh(final Instant now, final Duration window) {
+            return !window.isZero() && completedAt.plus(window).isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.ChangeFeedResponse;
+import cloud.eagle.assessment.domain.dto.FieldChangeDto;
+import cloud.eagle.assessment.domain.dto.UserChangeEventDto;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.UserChangeEvent;
+import cloud.eagle.assessment.domain.entity.UserChangeType;
+import cloud.eagle.assessment.exception.ApplicationException;
+import cloud.eagle.assessment.repository.UserChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional outbox of user changes and the change feed downstream consumers read it through.
+ * <p>
+ * Events are written in the transaction that changes the user, so the feed never shows a change that
+ * was rolled back. Event ids are assigned at insert time but become visible at commit, so a long sync
+ * can commit ids lower than ones already served. The feed therefore only serves ids below the lowest
+ * id any still-open writing transaction of the requested source may use, which keeps the cursor from
+ * skipping late commits while a long sync of one source does not hold back the feed of another.
+ * Floors come from the highest event id this service has seen assigned, so opening a writer costs no
+ * query. Long-polling readers are woken as soon as a writing transaction completes.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class UserChangeFeedService {
+
+    private static final TypeReference<Map<String, FieldChangeDto>> CHANGES_TYPE = new TypeReference<>() {
+    };
+
+    private final UserChangeEventRepository userChangeEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Lowest event id each open writing transaction may insert for a source, keyed by a per-source token
+     * of the transaction.
+     */
+    private final Map<Object, WriterFloor> openWriterFloors = new ConcurrentHashMap<>();
+
+    /**
+     * Highest event id known to be assigned, or -1 until it was read from the outbox. Identity values
+     * only grow, so every id assigned after this was read is above it.
+     */
+    private final AtomicLong highestAssignedId = new AtomicLong(-1);
+    private final AtomicLong completedWriters = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writerCompleted = lock.newCondition();
+
+    public UserChangeFeedService(
+        final UserChangeEventRepository userChangeEventRepository,
+        final ObjectMapper objectMapper
+    ) {
+        this.userChangeEventRepository = userChangeEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Record the change of an upserted user: always for a new user, otherwise only if a stored field changed.
+     *
+     * @param user the saved user
+     * @param before the user's fields before the upsert, or {@link UserSnapshot#ABSENT} for a new user
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void recordUpsert(final FetchedUser user, final UserSnapshot before) {
+        final boolean created = before == UserSnapshot.ABSENT;
+        final Map<String, FieldChangeDto> changes = before.diff(UserSnapshot.of(user));
+        if (!created && changes.isEmpty()) {
+            return;
+        }
+        registerWriter(user.getSourceName());
+        final UserChangeType changeType = created ? UserChangeType.CREATED : UserChangeType.UPDATED;
+        final UserChangeEvent event = userChangeEventRepository.save(new UserChangeEvent(
+            user.getSourceName(), user.getId(), user.getExternalId(), changeType, toJson(changes)));
+        highestAssignedId.accumulateAndGet(event.getId(), Math::max);
+    }
+
+    /**
+     * Record a deletion for every user of a source that a sync run did not see, before they are removed.
+     *
+     * @param sourceName the source name
+     * @param runId the sync run id
+     * @param runStartedAt start of the run
+     * @return number of deletions recorded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    int recordDeletionsOfUnseen(final String sourceName, final Long runId, final Instant runStartedAt) {
+        registerWriter(sourceName);
+        final int recorded = userChangeEventRepository.insertDeletionsOfUnseen(sourceName, runId, runStartedAt, Instant.now());
+        if (recorded > 0) {
+            // Bulk-inserted ids are not returned, so the outbox is asked once per reconciliation
+            highestAssignedId.accumulateAndGet(userChangeEventRepository.findMaxId(), Math::max);
+        }
+        return recorded;
+    }
+
+    /**
+     * Read the change feed after a cursor, waiting up to {@code maxWait} for changes if there are none yet.
+     *
+     * @param after cursor from the previous response, 0 to start from the beginning
+     * @param sourceName only return changes of this source, or null for all sources
+     * @param limit maximum number of events returned
+     * @param maxWait how long to wait for the first change
+     * @return events in commit-safe cursor order and the cursor to continue from
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChangeFeedResponse poll(final long after, final String sourceName, final int limit, final Duration maxWait) {
+        final long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            // Read the completion count first, so a writer finishing during the query is not missed
+            final long observed = completedWriters.get();
+            final List<UserChangeEvent> events = read(after, sourceName, limit);
+            final long remaining = deadline - System.nanoTime();
+            if (!events.isEmpty() || remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                return toResponse(events, after);
+            }
+            awaitWriter(observed, remaining);
+        }
+    }
+
+    /**
+     * Only ids known to be assigned when the read starts are served, since any id assigned later may
+     * belong to a writer that registered after the bound was taken. A writer registering while the query
+     * runs is caught by taking the bound again afterwards and holding back events at or above it.
+     */
+    private List<UserChangeEvent> read(final long after, final String sourceName, final int limit) {
+        final long before = Math.min(safeUpperBound(sourceName), highestAssignedId() + 1);
+        final PageRequest page = PageRequest.of(0, limit);
+        final List<UserChangeEvent> events = sourceName == null
+            ? userChangeEventRepository.findByIdGreaterThanAndIdLessThanOrderById(after, before, page)
+            : userChangeEventRepository.findBySourceNameAndIdGreaterThanAndIdLessThanOrderById(sourceName, after, before, page);
+        final long bound = safeUpperBound(sourceName);
+        return events.stream()
+            .takeWhile(event -> event.getId() < bound)
+            .toList();
+    }
+
+    private long safeUpperBound(final String sourceName) {
+        return openWriterFloors.values().stream()
+            .filter(floor -> sourceName == null || floor.sourceName().equals(sourceName))
+            .mapToLong(WriterFloor::firstId)
+            .min()
+            .orElse(Long.MAX_VALUE);
+    }
+
+    private long highestAssignedId() {
+        final long known = highestAssignedId.get();
+        if (known >= 0) {
+            return known;
+        }
+        return highestAssignedId.accumulateAndGet(userChangeEventRepository.findMaxId(), Math::max);
+    }
+
+    private void awaitWriter(final long observed, final long remainingNanos) {
+        lock.lock();
+        try {
+            long nanos = remainingNanos;
+            while (completedWriters.get() == observed && nanos > 0) {
+                nanos = writerCompleted.awaitNanos(nanos);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the current transaction as an outbox writer of a source once. Every id it inserts is above
+     * the highest id known to be assigned now, so that id bounds what readers of the source may be served
+     * until the transaction completes.
+     */
+    private void registerWriter(final String sourceName) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> tokens = (Map<String, Object>) TransactionSynchronizationManager.getResource(this);
+        if (tokens == null) {
+            final Map<String, Object> registered = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, registered);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserChangeFeedService.this);
+                    registered.values().forEach(openWriterFloors::remove);
+                    signalWriterCompleted();
+                }
+            });
+            tokens = registered;
+        }
+        tokens.computeIfAbsent(sourceName, name -> {
+            final Object token = new Object();
+            openWriterFloors.put(token, new WriterFloor(name, highestAssignedId() + 1));
+            return token;
+        });
+    }
+
+    private void signalWriterCompleted() {
+        completedWriters.incrementAndGet();
+        lock.lock();
+        try {
+            writerCompleted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ChangeFeedResponse toResponse(final List<UserChangeEvent> events, final long after) {
+        final List<UserChangeEventDto> dtos = events.stream()
+            .map(this::toDto)
+            .toList();
+        final long nextCursor = events.isEmpty() ? after : events.getLast().getId();
+        return new ChangeFeedResponse(dtos, nextCursor);
+    }
+
+    private UserChangeEventDto toDto(final UserChangeEvent event) {
+        return new UserChangeEventDto(
+            event.getId(),
+            event.getSourceName(),
+            event.getUserId(),
+            event.getExternalId(),
+            event.getChangeType(),
+            fromJson(event.getChanges()),
+            event.getCreatedAt()
+        );
+    }
+
+    private String toJson(final Map<String, FieldChangeDto> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (final JsonProcessingException e) {
+            throw new ApplicationException("Failed to serialize user changes", e);
+        }
+    }
+
+    private Map<String, FieldChangeDto> fromJson(final String changes) {
+        if (changes == null) {
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(changes, CHANGES_TYPE);
+        } catch (final JsonProcessingException e) {
+            throw new ApplicationException("Failed to read user changes", e);
+        }
+    }
+
+    /**
+     * Lowest event id an open writing transaction may insert for a source.
+     */
+    private record WriterFloor(String sourceName, long firstId) {
+    }
+}
@@ -2,19 +2,44 @@ package cloud.eagle.assessment.service;
 
 import cloud.eagle.assessment.domain.dto.FetchedUserDto;
 import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import cloud.eagle.assessment.domain.dto.ReplayDeadLettersResponse;
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
 import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.HttpCacheValidator;
+import cloud.eagle.assessment.domain.entity.SyncRun;
+import cloud.eagle.assessment.domain.entity.UserSourceItem;
+import cloud.eagle.assessment.domain.event.UsersSyncedEvent;
+import cloud.eagle.assessment.exception.FieldMappingException;
 import cloud.eagle.assessment.mapper.EntityMapper;
 import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.UserSourceItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for fetching and storing users from external systems.
@@ -25,21 +50,63 @@ import java.util.Map;
 @Transactional(readOnly = true)
 public class UserFetchService {
 
+    private static final TypeReference<Map<String, Object>> USER_DATA_TYPE = new TypeReference<>() {
+    };
+
     private final ApiConfigService apiConfigService;
     private final ExternalApiService externalApiService;
     private final FetchedUserRepository fetchedUserRepository;
+    private final UserSourceItemRepository userSourceItemRepository;
     private final ObjectMapper objectMapper;
+    private final PageFetcher pageFetcher;
+    private final JoinedEndpointFetcher joinedEndpointFetcher;
+    private final ReconciliationService reconciliationService;
+    private final HttpCacheValidatorService httpCacheValidatorService;
+    private final DeadLetterService deadLetterService;
+    private final UserChangeFeedService userChangeFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MappingMode mappingMode;
+    private final ItemErrorPolicy itemErrorPolicy;
+    private final boolean storeSourceItems;
+    private final Duration incrementalOverlap;
+    private final Duration fullSyncInterval;
 
     public UserFetchService(
         final ApiConfigService apiConfigService,
         final ExternalApiService externalApiService,
         final FetchedUserRepository fetchedUserRepository,
-        final ObjectMapper objectMapper
+        final UserSourceItemRepository userSourceItemRepository,
+        final ObjectMapper objectMapper,
+        final PageFetcher pageFetcher,
+        final JoinedEndpointFetcher joinedEndpointFetcher,
+        final ReconciliationService reconciliationService,
+        final HttpCacheValidatorService httpCacheValidatorService,
+        final DeadLetterService deadLetterService,
+        final UserChangeFeedService userChangeFeedService,
+        final ApplicationEventPublisher eventPublisher,
+        @Value("${mapping.mode:STANDARD}") final MappingMode mappingMode,
+        @Value("${sync.item-error-policy:FAIL}") final ItemErrorPolicy itemErrorPolicy,
+        @Value("${sync.store-source-items:true}") final boolean storeSourceItems,
+        @Value("${sync.incremental-overlap:PT1M}") final Duration incrementalOverlap,
+        @Value("${sync.full-sync-interval:PT24H}") final Duration fullSyncInterval
     ) {
         this.apiConfigService = apiConfigService;
         this.externalApiService = externalApiService;
         this.fetchedUserRepository = fetchedUserRepository;
+        this.userSourceItemRepository = userSourceItemRepository;
         this.objectMapper = objectMapper;
+        this.pageFetcher = pageFetcher;
+        this.joinedEndpointFetcher = joinedEndpointFetcher;
+        this.reconciliationService = reconciliationService;
+        this.httpCacheValidatorService = httpCacheValidatorService;
+        this.deadLetterService = deadLetterService;
+        this.userChangeFeedService = userChangeFeedService;
+        this.eventPublisher = eventPublisher;
+        this.mappingMode = mappingMode;
+        this.itemErrorPolicy = itemErrorPolicy;
+        this.storeSourceItems = storeSourceItems;
+        this.incrementalOverlap = incrementalOverlap;
+        this.fullSyncInterval = fullSyncInterval;
     }
 
     /**
@@ -55,27 +122,218 @@ public class UserFetchService {
         // Get API configuration
         final ApiConfiguration config = apiConfigService.findActiveConfiguration(sourceName);
 
-        // Call external API
-        final String jsonResponse = externalApiService.callExternalApi(config);
+        return config.isPaginated()
+            ? fetchPaginated(config)
+            : fetchSingle(config);
+    }
+
+    private FetchUsersResponse fetchSingle(final ApiConfiguration config) {
+        final String sourceName = config.getSourceName();
+        final CompletableFuture<CompositeJoin> pendingJoin = joinedEndpointFetcher.fetch(config);
+        final SourceRequest request = sourceRequest(config);
+
+        // Call external API, conditionally if the previous response carried validators
+        final String requestUrl = request.url();
+        final boolean conditional = isConditional(config, request);
+        final HttpCacheValidator validator = conditional ? httpCacheValidatorService.find(config, requestUrl) : null;
+
+        // Large bodies are spilled to disk and deleted once parsed
+        try (ResponseBody responseBody = externalApiService.fetchResponseBody(config, requestUrl, request.body(), validator)) {
+            if (responseBody.isNotModified()) {
+                return notModified(sourceName);
+            }
+
+            // Parse, map and store users, stamping each with the run id
+            final SyncRun run = reconciliationService.startRun(sourceName, request.incremental());
+            final List<Long> savedUserIds = new ArrayList<>();
+            final ItemFailures failures = new ItemFailures(sourceName, run);
+            final int fetchedCount = mapAndStore(config, awaitJoin(pendingJoin), responseBody,
+                storeInto(sourceName, run, savedUserIds, failures), failures);
+
+            // Only a fully stored response may be skipped by later conditional requests
+            if (conditional && savedUserIds.size() == fetchedCount) {
+                httpCacheValidatorService.update(config, requestUrl, responseBody);
+            }
+            // An incremental response leaves out unchanged users, so it cannot tell who disappeared
+            return complete(sourceName, run, savedUserIds, fetchedCount, failures.count(), !request.incremental());
+        }
+    }
+
+    private FetchUsersResponse fetchPaginated(final ApiConfiguration config) {
+        final String sourceName = config.getSourceName();
+        final CompletableFuture<CompositeJoin> pendingJoin = joinedEndpointFetcher.fetch(config);
+        final SourceRequest request = sourceRequest(config);
+        final boolean conditional = isConditional(config, request);
+        final Map<String, HttpCacheValidator> validators = conditional
+            ? httpCacheValidatorService.findAll(config)
+            : Map.of();
 
-        // Parse and map response
-        final List<Map<String, Object>> mappedUsers = externalApiService.parseAndMapResponse(jsonResponse, config);
+        final SyncRun run = reconciliationService.startRun(sourceName, request.incremental());
+        final List<Long> savedUserIds = new ArrayList<>();
+        final ItemFailures failures = new ItemFailures(sourceName, run);
+        final BiConsumer<Map<String, Object>, Object> store = storeInto(sourceName, run, savedUserIds, failures);
+        int fetchedCount = 0;
+        int pageCount = 0;
+        int unchangedPages = 0;
 
-        // Store users
-        int savedCount = 0;
-        for (final Map<String, Object> userData : mappedUsers) {
-            if (saveOrUpdateUser(sourceName, userData)) {
-                savedCount++;
+        // Pages are fetched concurrently but mapped and stored here, on the transaction's thread
+        for (final FetchedPage page : pageFetcher.fetchPages(config, request, validators).toIterable(1)) {
+            try (page) {
+                pageCount++;
+                if (page.isUnchanged()) {
+                    unchangedPages++;
+                    continue;
+                }
+                final int savedBefore = savedUserIds.size();
+                final int pageFetched = mapAndStore(config, awaitJoin(pendingJoin), page.body(), store, failures);
+                fetchedCount += pageFetched;
+                if (conditional && savedUserIds.size() - savedBefore == pageFetched) {
+                    httpCacheValidatorService.update(config, page.requestUrl(), page.body(), page.totalCount());
+                }
             }
         }
 
-        log.info("Completed user fetch from source: {}, fetched={}, saved={}",
-            sourceName, mappedUsers.size(), savedCount);
+        if (unchangedPages == pageCount) {
+            reconciliationService.completeRun(run, 0, 0, false);
+            return notModified(sourceName);
+        }
+        // Users on unchanged pages are not stamped by this run, so it cannot tell who disappeared
+        return complete(sourceName, run, savedUserIds, fetchedCount, failures.count(),
+            unchangedPages == 0 && !request.incremental());
+    }
+
+    /**
+     * Applies the request templates of a source. When they reference {@code {since}}, only users changed
+     * since the last completed run are requested, reaching back by the configured overlap to absorb
+     * clock skew between the provider and this service. Incremental runs cannot see deletions, so once
+     * the last full run is older than the full sync interval, every user is requested again.
+     */
+    private SourceRequest sourceRequest(final ApiConfiguration config) {
+        final boolean filtersBySince = RequestTemplate.references(config.getRequestQueryTemplate(), RequestTemplate.SINCE)
+            || RequestTemplate.references(config.getRequestBodyTemplate(), RequestTemplate.SINCE);
+        return RequestTemplate.render(config, filtersBySince ? incrementalSince(config.getSourceName()) : null);
+    }
+
+    private Instant incrementalSince(final String sourceName) {
+        final boolean fullSyncDue = reconciliationService.lastCompletedFullRunStart(sourceName)
+            .map(started -> started.isBefore(Instant.now().minus(fullSyncInterval)))
+            .orElse(true);
+        if (fullSyncDue) {
+            return null;
+        }
+        return reconciliationService.lastCompletedRunStart(sourceName)
+            .map(started -> started.minus(incrementalOverlap))
+            .orElse(null);
+    }
+
+    /**
+     * Whether stored validators apply. A composite source changes whenever a joined endpoint does,
+     * and incremental URLs change with every sync, so neither is requested conditionally.
+     */
+    private static boolean isConditional(final ApiConfiguration config, final SourceRequest request) {
+        return !config.isComposite() && !request.incremental();
+    }
+
+    private BiConsumer<Map<String, Object>, Object> storeInto(
+        final String sourceName,
+        final SyncRun run,
+        final List<Long> savedUserIds,
+        final ItemFailures failures
+    ) {
+        return (userData, sourceItem) -> {
+            try {
+                savedUserIds.add(saveOrUpdateUser(sourceName, run.getId(), userData, sourceItem).getId());
+            } catch (final FieldMappingException e) {
+                failures.onStoreError(userData, e);
+            }
+        };
+    }
+
+    /**
+     * Maps and stores the items of one response or page.
+     *
+     * @return number of items in the response, including those that were dead-lettered while mapping
+     */
+    private int mapAndStore(
+        final ApiConfiguration config,
+        final CompositeJoin join,
+        final ResponseBody responseBody,
+        final BiConsumer<Map<String, Object>, Object> store,
+        final ItemFailures failures
+    ) {
+        // Fail-fast keeps the parallel mapper's early cancellation on the first bad item
+        final ItemErrorHandler onMappingError = itemErrorPolicy == ItemErrorPolicy.DEAD_LETTER
+            ? failures
+            : ItemErrorHandler.FAIL_FAST;
+        final int mappingFailuresBefore = failures.mappingCount();
+        final int mappedCount = switch (mappingMode) {
+            case STANDARD -> {
+                final List<MappedItem> mappedUsers =
+                    externalApiService.parseAndMapResponse(responseBody, config, onMappingError, join);
+                mappedUsers.forEach(user -> store.accept(user.fields(), user.sourceItem()));
+                yield mappedUsers.size();
+            }
+            case REUSE -> externalApiService.forEachMappedItem(responseBody, config, store, onMappingError, join);
+            case PARALLEL -> {
+                final List<MappedItem> mappedUsers =
+                    externalApiService.parseAndMapResponseParallel(responseBody, config, onMappingError, join);
+                mappedUsers.forEach(user -> store.accept(user.fields(), user.sourceItem()));
+                yield mappedUsers.size();
+            }
+        };
+        return mappedCount + failures.mappingCount() - mappingFailuresBefore;
+    }
+
+    /**
+     * Waits for the joined endpoints of a composite source, rethrowing their failure as it was raised.
+     */
+    private static CompositeJoin awaitJoin(final CompletableFuture<CompositeJoin> pendingJoin) {
+        try {
+            return pendingJoin.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private FetchUsersResponse complete(
+        final String sourceName,
+        final SyncRun run,
+        final List<Long> savedUserIds,
+        final int fetchedCount,
+        final int deadLetteredCount,
+        final boolean fullSync
+    ) {
+        final int savedCount = savedUserIds.size();
+        eventPublisher.publishEvent(new UsersSyncedEvent(sourceName, savedUserIds));
+
+        // Remove users the source no longer returns; skipped whenever an item was dead-lettered
+        final int removedCount = reconciliationService.completeRun(run, fetchedCount, savedCount, fullSync);
+
+        log.info("Completed user fetch from source: {}, fetched={}, saved={}, removed={}, deadLettered={}",
+            sourceName, fetchedCount, savedCount, removedCount, deadLetteredCount);
 
         return new FetchUsersResponse(
             sourceName,
             savedCount,
-            "Successfully fetched " + savedCount + " users from " + sourceName
+            removedCount,
+            deadLetteredCount,
+            deadLetteredCount == 0
+                ? "Successfully fetched " + savedCount + " users from " + sourceName
+                : "Fetched " + savedCount + " users from " + sourceName + ", " + deadLetteredCount + " items dead-lettered"
+        );
+    }
+
+    private static FetchUsersResponse notModified(final String sourceName) {
+        log.info("Skipping sync of unchanged source: {}", sourceName);
+        return new FetchUsersResponse(
+            sourceName,
+            0,
+            0,
+            0,
+            "No changes from " + sourceName + " since the last sync"
         );
     }
 
@@ -87,7 +345,7 @@ public class UserFetchService {
      */
     public Page<FetchedUserDto> getAllUsers(final Pageable pageable) {
         log.debug("Retrieving all fetched users, page: {}", pageable.getPageNumber());
-        return fetchedUserRepository.findAll(pageable)
+        return fetchedUserRepository.findByDeletedFalse(pageable)
             .map(EntityMapper::toDto);
     }
 
@@ -100,51 +358,419 @@ public class UserFetchService {
      */
     public Page<FetchedUserDto> getUsersBySource(final String sourceName, final Pageable pageable) {
         log.debug("Retrieving users from source: {}, page: {}", sourceName, pageable.getPageNumber());
-        return fetchedUserRepository.findBySourceName(sourceName, pageable)
+        return fetchedUserRepository.findBySourceNameAndDeletedFalse(sourceName, withSourceNameSort(pageable))
             .map(EntityMapper::toDto);
     }
 
-    private boolean saveOrUpdateUser(final String sourceName, final Map<String, Object> userData) {
-        try {
-            final String externalId = extractRequiredField(userData, "externalId");
-
-            // Check if user already exists
-            final FetchedUser user = fetchedUserRepository
-                .findBySourceNameAndExternalId(sourceName, externalId)
-                .orElseGet(() -> new FetchedUser(sourceName, externalId));
-
-            // Map fields
-            user.setEmail(extractField(userData, "email"));
-            user.setName(extractField(userData, "name"));
-            user.setFirstName(extractField(userData, "firstName"));
-            user.setLastName(extractField(userData, "lastName"));
-            user.setTimezone(extractField(userData, "timezone"));
-            user.setAvatarUrl(extractField(userData, "avatarUrl"));
-
-            // Store raw data as JSON
-            user.setRawData(objectMapper.writeValueAsString(userData));
-
-            fetchedUserRepository.save(user);
-            log.debug("Saved user: sourceName={}, externalId={}", sourceName, externalId);
-            return true;
+    /**
+     * Prefixes the requested sort (id by default) with the constant source name, so the database
+     * can page through the (sourceName, id) or (sourceName, fetchedAt) index without sorting.
+     */
+    private Pageable withSourceNameSort(final Pageable pageable) {
+        final Sort requested = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        final Sort.Direction direction = requested.iterator().next().getDirection();
+        return PageRequest.of(
+            pageable.getPageNumber(),
+            pageable.getPageSize(),
+            Sort.by(direction, "sourceName").and(requested)
+        );
+    }
+
+    /**
+     * Replay one batch of pending dead-letter items of a source with its current field mappings, in one
+     * transaction. Items that fail again stay pending with the new reason; items whose user changed
+     * after they failed are marked replayed without touching the user.
+     *
+     * @param sourceName the source name
+     * @param itemIds ids of the pending items to replay
+     * @return number of items replayed and still failing
+     */
+    @Transactional
+    ReplayBatchResult replayDeadLetterBatch(final String sourceName, final List<Long> itemIds) {
+        final ApiConfiguration config = apiConfigService.findActiveConfiguration(sourceName);
+        final List<Long> savedUserIds = new ArrayList<>();
+        int replayedCount = 0;
+        int failedCount = 0;
+
+        for (final DeadLetterItem item : deadLetterService.findAllById(itemIds)) {
+            try {
+                final MappedItem mapped = item.getStage() == DeadLetterStage.MAPPING
+                    ? externalApiService.mapItemJson(item.getPayload(), config)
+                    : MappedItem.of(readUserData(item.getPayload()));
+                if (!isSuperseded(sourceName, item, mapped.fields())) {
+                    savedUserIds.add(
+                        saveOrUpdateUser(sourceName, item.getRunId(), mapped.fields(), mapped.sourceItem()).getId());
+                }
+                deadLetterService.markReplayed(item);
+                replayedCount++;
+            } catch (final FieldMappingException e) {
+                deadLetterService.markFailedAgain(item, e.getMessage());
+                failedCount++;
+            }
+        }
+        if (!savedUserIds.isEmpty()) {
+            eventPublisher.publishEvent(new UsersSyncedEvent(sourceName, savedUserIds));
+        }
+        return new ReplayBatchResult(replayedCount, failedCount);
+    }
+
+    /**
+     * The user was written or removed after the item failed, so it already holds newer data than the
+     * item. An item of a run is older than any later run; other items are compared by when they failed.
+     */
+    private boolean isSuperseded(final String sourceName, final DeadLetterItem item, final Map<String, Object> userData) {
+        final Object externalId = userData.get("externalId");
+        if (externalId == null) {
+            return false;
+        }
+        return fetchedUserRepository.findBySourceNameAndExternalId(sourceName, externalId.toString())
+            .filter(user -> isChangedSince(user, item))
+            .isPresent();
+    }
 
-        } catch (final Exception e) {
-            log.error("Failed to save user from source: {}, error={}", sourceName, e.getMessage(), e);
+    private boolean isChangedSince(final FetchedUser user, final DeadLetterItem item) {
+        final Instant failedAt = item.getCreatedAt();
+        if (user.isDeleted() && user.getDeletedAt() != null && user.getDeletedAt().isAfter(failedAt)) {
+            return true;
+        }
+        if (user.getPushedAt() != null && user.getPushedAt().isAfter(failedAt)) {
+            return true;
+        }
+        final Long lastSeenRunId = user.getLastSeenRunId();
+        if (lastSeenRunId == null) {
             return false;
         }
+        if (item.getRunId() != null) {
+            return lastSeenRunId > item.getRunId();
+        }
+        return reconciliationService.findRunStart(lastSeenRunId)
+            .filter(runStart -> runStart.isAfter(failedAt))
+            .isPresent();
+    }
+
+    private Map<String, Object> readUserData(final String json) {
+        try {
+            return objectMapper.readValue(json, USER_DATA_TYPE);
+        } catch (final JsonProcessingException e) {
+            throw new FieldMappingException("Invalid dead-letter payload: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Store users a source pushed outside of a sync, such as webhook deliveries, in one transaction.
+     * Existing users are looked up with a single query, and when a user was pushed several times only
+     * the latest version is written. Users that cannot be stored are dead-lettered, since the source
+     * has already been told the delivery was accepted.
+     *
+     * @param sourceName the source name
+     * @param users mapped user data with the items they were mapped from, in delivery order
+     * @return number of users stored
+     */
+    @Transactional
+    int storePushedUsers(final String sourceName, final List<MappedItem> users) {
+        final Map<Object, MappedItem> latest = new LinkedHashMap<>();
+        for (final MappedItem user : users) {
+            final Object externalId = user.fields().get("externalId");
+            latest.put(externalId != null ? externalId.toString() : new Object(), user);
+        }
+        final List<String> externalIds = latest.keySet().stream()
+            .filter(String.class::isInstance)
+            .map(String.class::cast)
+            .toList();
+        final Map<String, FetchedUser> existing = fetchedUserRepository
+            .findBySourceNameAndExternalIdIn(sourceName, externalIds).stream()
+            .collect(Collectors.toMap(FetchedUser::getExternalId, Function.identity()));
+
+        final List<Long> savedUserIds = new ArrayList<>(latest.size());
+        for (final MappedItem user : latest.values()) {
+            try {
+                final FetchedUser saved = saveOrUpdateUser(sourceName, null, user.fields(), user.sourceItem(),
+                    externalId -> Optional.ofNullable(existing.get(externalId)));
+                savedUserIds.add(saved.getId());
+            } catch (final FieldMappingException e) {
+                deadLetterService.record(sourceName, null, null, DeadLetterStage.PERSISTENCE,
+                    toPayload(user.fields()), e.getMessage());
+            }
+        }
+        eventPublisher.publishEvent(new UsersSyncedEvent(sourceName, savedUserIds));
+
+        log.debug("Stored pushed users from source: {}, received={}, stored={}",
+            sourceName, users.size(), savedUserIds.size());
+        return savedUserIds.size();
+    }
+
+    /**
+     * Dead-letter a pushed user that could not be stored, so it can be replayed once the cause is fixed.
+     *
+     * @param sourceName the source name
+     * @param userData mapped user data
+     * @param reason why the user could not be stored
+     */
+    public void deadLetterPushedUser(final String sourceName, final Map<String, Object> userData, final String reason) {
+        deadLetterService.record(sourceName, null, null, DeadLetterStage.PERSISTENCE, toPayload(userData), reason);
+    }
+
+    /**
+     * Upserts a single mapped user. Everything needed from {@code userData} is copied before returning,
+     * so callers may reuse the map for the next item.
+     * All values are validated before the user is touched, so invalid data never reaches the database
+     * and never leaves the surrounding transaction rollback-only. Changed fields are recorded in the
+     * change outbox in the same transaction.
+     *
+     * @param runId sync run that returned the user, or null to keep the user's last stamp
+     * @throws FieldMappingException if the mapped data does not fit a stored user
+     */
+    FetchedUser saveOrUpdateUser(final String sourceName, final Long runId, final Map<String, Object> userData) {
+        return saveOrUpdateUser(sourceName, runId, userData, null);
+    }
+
+    /**
+     * Upserts a single mapped user and keeps the item it was mapped from.
+     *
+     * @param sourceItem parsed item the user was mapped from, or null to leave the stored item alone
+     * @see #saveOrUpdateUser(String, Long, Map)
+     */
+    FetchedUser saveOrUpdateUser(
+        final String sourceName,
+        final Long runId,
+        final Map<String, Object> userData,
+        final Object sourceItem
+    ) {
+        return saveOrUpdateUser(sourceName, runId, userData, sourceItem,
+            externalId -> fetchedUserRepository.findBySourceNameAndExternalId(sourceName, externalId));
+    }
+
+    private FetchedUser saveOrUpdateUser(
+        final String sourceName,
+        final Long runId,
+        final Map<String, Object> userData,
+        final Object sourceItem,
+        final Function<String, Optional<FetchedUser>> existingUser
+    ) {
+        final MappedUser mapped = toMappedUser(userData);
+
+        // Check if user already exists
+        final FetchedUser user = existingUser.apply(mapped.externalId())
+            .orElseGet(() -> new FetchedUser(sourceName, mapped.externalId()));
+        final UserSnapshot before = user.getId() != null ? UserSnapshot.of(user) : UserSnapshot.ABSENT;
+        mapped.applyTo(user);
+
+        // Mark as seen by this run, restoring users that were removed earlier; a write outside a run is
+        // stamped so that a run reconciling at the same time keeps the user. A replayed item of an older
+        // run never moves the stamp back, so the newer run does not reconcile the user away
+        if (runId != null) {
+            if (user.getLastSeenRunId() == null || user.getLastSeenRunId() < runId) {
+                user.setLastSeenRunId(runId);
+            }
+        } else {
+            user.setPushedAt(Instant.now());
+        }
+        user.setDeleted(false);
+        user.setDeletedAt(null);
+
+        final FetchedUser saved = fetchedUserRepository.save(user);
+        userChangeFeedService.recordUpsert(saved, before);
+        storeSourceItem(saved, before == UserSnapshot.ABSENT, sourceItem);
+        log.debug("Saved user: sourceName={}, externalId={}", sourceName, mapped.externalId());
+        return saved;
+    }
+
+    /**
+     * Apply the data of users mapped again from their stored source items, in one transaction.
+     * Only users whose values changed are written, and only their changed columns. A user whose external
+     * id would change is left alone, since that needs a sync to tell which user it now is.
+     *
+     * @param sourceName the source name
+     * @param remapped mapped data by user id, null for users whose source item could not be mapped
+     * @return number of users updated and failed
+     */
+    @Transactional
+    RemapBatchResult applyRemappedUsers(final String sourceName, final Map<Long, Map<String, Object>> remapped) {
+        final List<Long> changedUserIds = new ArrayList<>();
+        int failed = 0;
+        for (final FetchedUser user : fetchedUserRepository.findAllById(remapped.keySet())) {
+            final Map<String, Object> userData = remapped.get(user.getId());
+            final MappedUser mapped;
+            try {
+                if (userData == null) {
+                    throw new FieldMappingException("Source item could not be mapped");
+                }
+                mapped = toMappedUser(userData);
+            } catch (final FieldMappingException e) {
+                log.debug("Cannot remap user: sourceName={}, id={}: {}", sourceName, user.getId(), e.getMessage());
+                failed++;
+                continue;
+            }
+            if (!mapped.externalId().equals(user.getExternalId())) {
+                log.debug("Cannot remap user: sourceName={}, id={}: external id changed", sourceName, user.getId());
+                failed++;
+                continue;
+            }
+
+            final UserSnapshot before = UserSnapshot.of(user);
+            mapped.applyTo(user);
+            if (!before.equals(UserSnapshot.of(user))) {
+                userChangeFeedService.recordUpsert(user, before);
+                changedUserIds.add(user.getId());
+            }
+        }
+        if (!changedUserIds.isEmpty()) {
+            eventPublisher.publishEvent(new UsersSyncedEvent(sourceName, changedUserIds));
+        }
+        return new RemapBatchResult(changedUserIds.size(), failed);
+    }
+
+    /**
+     * Validates mapped data and copies what a stored user needs out of it.
+     *
+     * @throws FieldMappingException if the mapped data does not fit a stored user
+     */
+    private MappedUser toMappedUser(final Map<String, Object> userData) {
+        return new MappedUser(
+            extractRequiredField(userData, "externalId"),
+            extractField(userData, "email"),
+            extractField(userData, "name"),
+            extractField(userData, "firstName"),
+            extractField(userData, "lastName"),
+            extractField(userData, "timezone"),
+            extractField(userData, "avatarUrl"),
+            toRawData(userData)
+        );
+    }
+
+    /**
+     * Keeps the item a user was mapped from, writing it only if it is new or differs from the stored one.
+     * The stored item's hash lives on the user, so an unchanged item is neither serialized nor looked up,
+     * and a changed one is updated in place without loading the old payload.
+     */
+    private void storeSourceItem(final FetchedUser user, final boolean created, final Object sourceItem) {
+        if (!storeSourceItems || sourceItem == null) {
+            return;
+        }
+        final long hash = ExternalApiService.itemHash(sourceItem);
+        final Long storedHash = user.getSourceItemHash();
+        if (!created && storedHash != null && storedHash == hash) {
+            return;
+        }
+        final String payload = ExternalApiService.toItemJson(sourceItem);
+        if (created) {
+            // A new user has no item yet, so it is inserted without looking it up
+            userSourceItemRepository.save(new UserSourceItem(user, payload, true));
+        } else if (storedHash == null || userSourceItemRepository.updatePayload(user.getId(), payload, Instant.now()) == 0) {
+            // Only items stored before their hash was kept, or never stored, are looked up
+            userSourceItemRepository.findById(user.getId()).ifPresentOrElse(
+                item -> item.setPayload(payload),
+                () -> userSourceItemRepository.save(new UserSourceItem(user, payload, true)));
+        }
+        user.setSourceItemHash(hash);
     }
 
     private String extractRequiredField(final Map<String, Object> data, final String fieldName) {
-        final Object value = data.get(fieldName);
-        if (value == null) {
-            throw new IllegalArgumentException("Required field missing: " + fieldName);
+        final String value = extractField(data, fieldName);
+        if (value == null || value.isBlank()) {
+            throw new FieldMappingException("Required field missing: " + fieldName);
         }
-        return value.toString();
+        return value;
     }
 
     private String extractField(final Map<String, Object> data, final String fieldName) {
         final Object value = data.get(fieldName);
-        return value != null ? value.toString() : null;
+        if (value == null) {
+            return null;
+        }
+        final String text = value.toString();
+        if (text.length() > FetchedUser.FIELD_LENGTH) {
+            throw new FieldMappingException("Field " + fieldName + " exceeds " + FetchedUser.FIELD_LENGTH + " characters");
+        }
+        return text;
+    }
+
+    private String toRawData(final Map<String, Object> data) {
+        final String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (final JsonProcessingException e) {
+            throw new FieldMappingException("Failed to serialize user data: " + e.getOriginalMessage(), e);
+        }
+        if (json.length() > FetchedUser.RAW_DATA_LENGTH) {
+            throw new FieldMappingException("Raw user data exceeds " + FetchedUser.RAW_DATA_LENGTH + " characters");
+        }
+        return json;
+    }
+
+    private String toPayload(final Map<String, Object> userData) {
+        try {
+            return objectMapper.writeValueAsString(userData);
+        } catch (final JsonProcessingException e) {
+            return String.valueOf(userData);
+        }
+    }
+
+    /**
+     * Validated values of a mapped user.
+     */
+    private record MappedUser(
+        String externalId,
+        String email,
+        String name,
+        String firstName,
+        String lastName,
+        String timezone,
+        String avatarUrl,
+        String rawData
+    ) {
+
+        void applyTo(final FetchedUser user) {
+            user.setEmail(email);
+            user.setName(name);
+            user.setFirstName(firstName);
+            user.setLastName(lastName);
+            user.setTimezone(timezone);
+            user.setAvatarUrl(avatarUrl);
+            user.setRawData(rawData);
+        }
+    }
+
+    /**
+     * Counts the items of a sync that could not be mapped or stored and dead-letters them.
+     * Under {@link ItemErrorPolicy#FAIL} store errors are rethrown and the whole sync rolls back;
+     * mapping errors never get here, since the mapping itself fails fast.
+     */
+    private final class ItemFailures implements ItemErrorHandler {
+
+        private final String sourceName;
+        private final Long runId;
+        private int mappingCount;
+        private int storeCount;
+
+        private ItemFailures(final String sourceName, final SyncRun run) {
+            this.sourceName = sourceName;
+            this.runId = run.getId();
+        }
+
+        @Override
+        public void onItemError(final int index, final Object item, final FieldMappingException error) {
+            deadLetterService.record(sourceName, runId, index, DeadLetterStage.MAPPING,
+                ExternalApiService.toItemJson(item), error.getMessage());
+            mappingCount++;
+        }
+
+        void onStoreError(final Map<String, Object> userData, final FieldMappingException error) {
+            if (itemErrorPolicy == ItemErrorPolicy.FAIL) {
+                throw new FieldMappingException("Failed to store user from source: " + sourceName, error);
+            }
+            deadLetterService.record(sourceName, runId, null, DeadLetterStage.PERSISTENCE,
+                toPayload(userData), error.getMessage());
+            storeCount++;
+        }
+
+        int mappingCount() {
+            return mappingCount;
+        }
+
+        int count() {
+            return mappingCount + storeCount;
+        }
     }
 }
 
@@ -0,0 +1,178 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.ImportUsersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
+import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import cloud.eagle.assessment.exception.ApplicationException;
+import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingests user export files that vendors deliver instead of an API.
+ * The file is read record by record and mapped with the source's field mappings; mapped users are
+ * stored in chunks, each in its own transaction, so memory use stays constant however large the file
+ * is. Chunks stored before a failure stay stored.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    private final ApiConfigurationRepository apiConfigurationRepository;
+    private final ExternalApiService externalApiService;
+    private final MappingPlanCache mappingPlanCache;
+    private final UserFetchService userFetchService;
+    private final DeadLetterService deadLetterService;
+    private final ItemErrorPolicy itemErrorPolicy;
+    private final int chunkSize;
+    private final int maxRecordChars;
+
+    public UserImportService(
+        final ApiConfigurationRepository apiConfigurationRepository,
+        final ExternalApiService externalApiService,
+        final MappingPlanCache mappingPlanCache,
+        final UserFetchService userFetchService,
+        final DeadLetterService deadLetterService,
+        @Value("${sync.item-error-policy:FAIL}") final ItemErrorPolicy itemErrorPolicy,
+        @Value("${import.chunk-size:1000}") final int chunkSize,
+        @Value("${import.max-record-chars:1048576}") final int maxRecordChars
+    ) {
+        this.apiConfigurationRepository = apiConfigurationRepository;
+        this.externalApiService = externalApiService;
+        this.mappingPlanCache = mappingPlanCache;
+        this.userFetchService = userFetchService;
+        this.deadLetterService = deadLetterService;
+        this.itemErrorPolicy = itemErrorPolicy;
+        this.chunkSize = chunkSize;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * Map and store every record of a user export file.
+     * Records that cannot be mapped abort the import under the {@code FAIL} item error policy and are
+     * dead-lettered under {@code DEAD_LETTER}.
+     *
+     * @param sourceName the source whose field mappings apply
+     * @param format format of the file
+     * @param content file content, read once and not closed
+     * @return import and throughput statistics
+     */
+    public ImportUsersResponse importUsers(final String sourceName, final ImportFormat format, final InputStream content) {
+        log.info("Starting {} import for source: {}", format, sourceName);
+        final ApiConfiguration config = apiConfigurationRepository
+            .findWithFieldMappingsBySourceNameAndActive(sourceName, true)
+            .orElseThrow(() -> new ApiConfigurationNotFoundException(sourceName));
+        final MappingPlan plan = mappingPlanCache.get(config);
+
+        final long started = System.nanoTime();
+        final CountingInputStream counted = new CountingInputStream(content);
+        long recordsRead = 0;
+        long recordsRejected = 0;
+        long usersStored = 0;
+        try {
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(counted, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+            final ImportRecordReader records = format.records(reader, maxRecordChars);
+            final List<MappedItem> chunk = new ArrayList<>(chunkSize);
+            while (records.next()) {
+                final long recordIndex = recordsRead++;
+                try {
+                    chunk.add(externalApiService.mapItem(records.document(), plan));
+                } catch (final FieldMappingException e) {
+                    reject(sourceName, recordIndex, records.payload(), e);
+                    recordsRejected++;
+                }
+                if (chunk.size() == chunkSize) {
+                    usersStored += userFetchService.storePushedUsers(sourceName, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                usersStored += userFetchService.storePushedUsers(sourceName, chunk);
+            }
+        } catch (final IOException e) {
+            throw new ApplicationException("Failed to read import file for source: " + sourceName, e);
+        }
+
+        final long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        final long recordsPerSecond = recordsRead * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        log.info("Completed {} import for source: {}, records={}, stored={}, rejected={}, bytes={}, records/s={}",
+            format, sourceName, recordsRead, usersStored, recordsRejected, counted.count(), recordsPerSecond);
+        return new ImportUsersResponse(
+            sourceName,
+            format.name(),
+            recordsRead,
+            usersStored,
+            recordsRejected,
+            counted.count(),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            recordsPerSecond,
+            String.format("Imported %d users from %d records for %s", usersStored, recordsRead, sourceName)
+        );
+    }
+
+    private void reject(final String sourceName, final long recordIndex, final String payload, final FieldMappingException e) {
+        if (itemErrorPolicy == ItemErrorPolicy.FAIL) {
+            throw new FieldMappingException("Failed to map record " + recordIndex + " of import for source: " + sourceName, e);
+        }
+        final Integer itemIndex = recordIndex <= Integer.MAX_VALUE ? (int) recordIndex : null;
+        deadLetterService.record(sourceName, null, itemIndex, DeadLetterStage.MAPPING, payload, e.getMessage());
+    }
+
+    /**
+     * Counts the bytes read from the file for the throughput statistics.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.RemapUsersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.UserSourceItem;
+import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.UserSourceItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies changed field mappings to the users already stored for a source, without fetching them again.
+ * The stored source items are read in batches ordered by user id, each batch continuing after the last
+ * id of the previous one, so every batch is an index range scan however far the backfill got.
+ * Each batch is mapped in parallel with the source's current mapping plan and written in its own
+ * transaction.
+ */
+@Service
+@Slf4j
+public class UserRemapService {
+
+    private final ApiConfigurationRepository apiConfigurationRepository;
+    private final UserSourceItemRepository userSourceItemRepository;
+    private final ExternalApiService externalApiService;
+    private final MappingPlanCache mappingPlanCache;
+    private final ParallelMapper parallelMapper;
+    private final UserFetchService userFetchService;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public UserRemapService(
+        final ApiConfigurationRepository apiConfigurationRepository,
+        final UserSourceItemRepository userSourceItemRepository,
+        final ExternalApiService externalApiService,
+        final MappingPlanCache mappingPlanCache,
+        final ParallelMapper parallelMapper,
+        final UserFetchService userFetchService,
+        @Value("${remap.batch-size:2000}") final int batchSize,
+        @Value("${remap.chunk-size:250}") final int chunkSize
+    ) {
+        this.apiConfigurationRepository = apiConfigurationRepository;
+        this.userSourceItemRepository = userSourceItemRepository;
+        this.externalApiService = externalApiService;
+        this.mappingPlanCache = mappingPlanCache;
+        this.parallelMapper = parallelMapper;
+        this.userFetchService = userFetchService;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Map every stored user of a source again from its stored source item.
+     * Users stored before source items were kept, or while keeping them was disabled, are not touched.
+     *
+     * @param sourceName the source name
+     * @return remap statistics
+     */
+    public RemapUsersResponse remap(final String sourceName) {
+        log.info("Starting remap of source: {}", sourceName);
+        final ApiConfiguration config = apiConfigurationRepository
+            .findWithFieldMappingsBySourceNameAndActive(sourceName, true)
+            .orElseThrow(() -> new ApiConfigurationNotFoundException(sourceName));
+        final MappingPlan plan = mappingPlanCache.get(config);
+
+        final long started = System.nanoTime();
+        long scanned = 0;
+        long updated = 0;
+        long failed = 0;
+        long lastUserId = 0;
+        while (true) {
+            final List<UserSourceItem> batch = userSourceItemRepository
+                .findBySourceNameAndUserIdGreaterThanOrderByUserId(sourceName, lastUserId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastUserId = batch.getLast().getUserId();
+
+            final List<Map<String, Object>> mapped = parallelMapper.map(batch, chunkSize,
+                item -> remapItem((UserSourceItem) item, plan));
+            final Map<Long, Map<String, Object>> remapped = new HashMap<>(batch.size() * 2);
+            for (int i = 0; i < batch.size(); i++) {
+                remapped.put(batch.get(i).getUserId(), mapped.get(i));
+            }
+            final RemapBatchResult result = userFetchService.applyRemappedUsers(sourceName, remapped);
+            scanned += batch.size();
+            updated += result.updated();
+            failed += result.failed();
+        }
+
+        final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Completed remap of source: {}, scanned={}, updated={}, failed={}, took={}ms",
+            sourceName, scanned, updated, failed, durationMillis);
+        return new RemapUsersResponse(
+            sourceName,
+            scanned,
+            updated,
+            failed,
+            durationMillis,
+            String.format("Remapped %d users of %s, %d changed", scanned, sourceName, updated)
+        );
+    }
+
+    /**
+     * Maps one stored item, returning null instead of failing the batch when it no longer maps.
+     */
+    private Map<String, Object> remapItem(final UserSourceItem item, final MappingPlan plan) {
+        try {
+            final Object document = MappingPlan.READ_CONFIGURATION.jsonProvider().parse(item.getPayload());
+            return externalApiService.mapSingleItem(document, plan);
+        } catch (final FieldMappingException e) {
+            return null;
+        }
+    }
+}
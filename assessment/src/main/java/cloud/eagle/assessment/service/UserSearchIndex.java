@@ -0,0 +1,198 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchedUserDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index from name and email tokens to user ids.
+ * Tokens are kept in a sorted map, so a prefix query only visits the tokens sharing that prefix.
+ * Writers are serialized; readers never block.
+ */
+final class UserSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, String[]> tokensByUser = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Adds a user or replaces its previously indexed tokens.
+     *
+     * @param user user snapshot
+     */
+    void index(final FetchedUserDto user) {
+        final String[] tokens = tokenize(user);
+        synchronized (writeLock) {
+            final String[] previous = tokensByUser.put(user.id(), tokens);
+            if (previous != null) {
+                if (Arrays.equals(previous, tokens)) {
+                    return;
+                }
+                removePostings(user.id(), previous);
+            }
+            for (final String token : tokens) {
+                postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(user.id());
+            }
+        }
+    }
+
+    /**
+     * Removes a user from the index.
+     *
+     * @param userId user id
+     */
+    void remove(final Long userId) {
+        synchronized (writeLock) {
+            final String[] previous = tokensByUser.remove(userId);
+            if (previous != null) {
+                removePostings(userId, previous);
+            }
+        }
+    }
+
+    /**
+     * Finds users whose tokens start with every term of the query.
+     * Every match is counted, but only the lowest ids up to the limit are kept.
+     *
+     * @param query free text, split into terms like the indexed fields
+     * @param limit maximum number of ids returned
+     * @return number of matching users and the lowest matching ids in ascending order
+     */
+    Matches search(final String query, final int limit) {
+        final List<Set<Long>> matches = new ArrayList<>();
+        for (final String term : splitTokens(query)) {
+            final Set<Long> termMatches = prefixMatches(term);
+            if (termMatches.isEmpty()) {
+                return Matches.NONE;
+            }
+            matches.add(termMatches);
+        }
+        if (matches.isEmpty()) {
+            return Matches.NONE;
+        }
+
+        // Intersect starting from the most selective term
+        matches.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        final TreeSet<Long> lowest = new TreeSet<>();
+        int total = 0;
+        for (final Long id : matches.get(0)) {
+            if (!matchesAll(id, matches)) {
+                continue;
+            }
+            total++;
+            lowest.add(id);
+            if (lowest.size() > limit) {
+                lowest.pollLast();
+            }
+        }
+        return new Matches(total, List.copyOf(lowest));
+    }
+
+    int size() {
+        return tokensByUser.size();
+    }
+
+    private static boolean matchesAll(final Long id, final List<Set<Long>> matches) {
+        for (int i = 1; i < matches.size(); i++) {
+            if (!matches.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<Long> prefixMatches(final String prefix) {
+        final NavigableMap<String, Set<Long>> range = postings.subMap(prefix, true, prefix + MAX_CHAR, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+        final Set<Long> ids = new LinkedHashSet<>();
+        range.values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private void removePostings(final Long userId, final String[] tokens) {
+        for (final String token : tokens) {
+            postings.computeIfPresent(token, (key, ids) -> {
+                ids.remove(userId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Tokenizes the searchable fields of a user: every word of the names, plus the full email,
+     * its local part and its domain so that both exact and partial email lookups match.
+     */
+    static String[] tokenize(final FetchedUserDto user) {
+        final Set<String> tokens = new TreeSet<>();
+        addWords(tokens, user.name());
+        addWords(tokens, user.firstName());
+        addWords(tokens, user.lastName());
+        if (user.email() != null && !user.email().isBlank()) {
+            final String email = user.email().trim().toLowerCase(Locale.ROOT);
+            tokens.add(email);
+            final int at = email.indexOf('@');
+            if (at > 0) {
+                tokens.add(email.substring(0, at));
+                tokens.add(email.substring(at + 1));
+            }
+            for (final String part : TOKEN_SEPARATOR.split(email)) {
+                if (!part.isEmpty()) {
+                    tokens.add(part);
+                }
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private static void addWords(final Collection<String> tokens, final String text) {
+        if (text != null) {
+            tokens.addAll(splitTokens(text));
+        }
+    }
+
+    private static List<String> splitTokens(final String text) {
+        final List<String> tokens = new ArrayList<>();
+        final String normalized = text.trim().toLowerCase(Locale.ROOT);
+        // Keep whole emails as one term so "john@example.com" matches the indexed email token
+        for (final String word : normalized.split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.indexOf('@') > 0) {
+                tokens.add(word);
+                continue;
+            }
+            for (final String token : TOKEN_SEPARATOR.split(word)) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Result of a search: how many users matched and the ids kept within the limit.
+     */
+    record Matches(int total, List<Long> ids) {
+
+        static final Matches NONE = new Matches(0, List.of());
+    }
+}
@@ -0,0 +1,112 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchedUserDto;
+import cloud.eagle.assessment.domain.dto.UserSearchResponse;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.event.UsersRemovedEvent;
+import cloud.eagle.assessment.domain.event.UsersSyncedEvent;
+import cloud.eagle.assessment.mapper.EntityMapper;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cross-source user search backed by an in-memory inverted index over names and emails.
+ * The index is loaded once at startup and then updated incrementally after every committed sync,
+ * so lookups never scan the users table; only the matching rows are read, by primary key.
+ */
+@Service
+@Slf4j
+public class UserSearchService {
+
+    private final FetchedUserRepository fetchedUserRepository;
+    private final int loadBatchSize;
+    private final UserSearchIndex index = new UserSearchIndex();
+
+    public UserSearchService(
+        final FetchedUserRepository fetchedUserRepository,
+        @Value("${search.index.load-batch-size:1000}") final int loadBatchSize
+    ) {
+        this.fetchedUserRepository = fetchedUserRepository;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Search users across all sources by name or email.
+     * Every query term must match the start of a name word, the email, its local part or its domain.
+     *
+     * @param query free text query
+     * @param limit maximum number of users returned
+     * @return matching users ordered by id
+     */
+    public UserSearchResponse search(final String query, final int limit) {
+        final UserSearchIndex.Matches matches = index.search(query, limit);
+        final List<FetchedUserDto> users = fetchedUserRepository.findAllById(matches.ids()).stream()
+            .filter(user -> !user.isDeleted())
+            .sorted(Comparator.comparing(FetchedUser::getId))
+            .map(EntityMapper::toDto)
+            .toList();
+        log.debug("Search query={} matched={} returned={}", query, matches.total(), users.size());
+        return new UserSearchResponse(query, matches.total(), users);
+    }
+
+    /**
+     * Index the users stored or updated by a sync once its transaction has committed.
+     * They are read back by id in batches, so the event does not have to carry them.
+     *
+     * @param event sync event with user ids
+     */
+    @TransactionalEventListener
+    public void onUsersSynced(final UsersSyncedEvent event) {
+        final List<Long> userIds = event.userIds();
+        for (int from = 0; from < userIds.size(); from += loadBatchSize) {
+            final List<Long> batch = userIds.subList(from, Math.min(userIds.size(), from + loadBatchSize));
+            for (final FetchedUser user : fetchedUserRepository.findAllById(batch)) {
+                if (user.isDeleted()) {
+                    index.remove(user.getId());
+                } else {
+                    index.index(EntityMapper.toDto(user));
+                }
+            }
+        }
+        log.debug("Indexed {} users from source: {}", userIds.size(), event.sourceName());
+    }
+
+    /**
+     * Drop users removed by reconciliation once the sync transaction has committed.
+     *
+     * @param event removal event with user ids
+     */
+    @TransactionalEventListener
+    public void onUsersRemoved(final UsersRemovedEvent event) {
+        event.userIds().forEach(index::remove);
+        log.debug("Removed {} users of source {} from search index", event.userIds().size(), event.sourceName());
+    }
+
+    /**
+     * Load all stored users into the index in keyset-ordered batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long lastId = 0;
+        List<FetchedUser> batch;
+        do {
+            batch = fetchedUserRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(loadBatchSize));
+            for (final FetchedUser user : batch) {
+                if (!user.isDeleted()) {
+                    index.index(EntityMapper.toDto(user));
+                }
+                lastId = user.getId();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Search index loaded with {} users", index.size());
+    }
+}
@@ -0,0 +1,65 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FieldChangeDto;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The stored fields of a user at one point in time, compared to find what a sync changed.
+ */
+record UserSnapshot(
+    String email,
+    String name,
+    String firstName,
+    String lastName,
+    String timezone,
+    String avatarUrl,
+    boolean deleted
+) {
+
+    static final UserSnapshot ABSENT = new UserSnapshot(null, null, null, null, null, null, false);
+
+    static UserSnapshot of(final FetchedUser user) {
+        return new UserSnapshot(
+            user.getEmail(),
+            user.getName(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getTimezone(),
+            user.getAvatarUrl(),
+            user.isDeleted()
+        );
+    }
+
+    /**
+     * Lists the fields whose value differs in {@code after}.
+     *
+     * @param after later snapshot of the same user
+     * @return changed fields in declaration order, empty if nothing changed
+     */
+    Map<String, FieldChangeDto> diff(final UserSnapshot after) {
+        final Map<String, FieldChangeDto> changes = new LinkedHashMap<>();
+        put(changes, "email", email, after.email);
+        put(changes, "name", name, after.name);
+        put(changes, "firstName", firstName, after.firstName);
+        put(changes, "lastName", lastName, after.lastName);
+        put(changes, "timezone", timezone, after.timezone);
+        put(changes, "avatarUrl", avatarUrl, after.avatarUrl);
+        put(changes, "deleted", deleted, after.deleted);
+        return changes;
+    }
+
+    private static void put(
+        final Map<String, FieldChangeDto> changes,
+        final String field,
+        final Object from,
+        final Object to
+    ) {
+        if (!Objects.equals(from, to)) {
+            changes.put(field, new FieldChangeDto(from, to));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.WebhookBufferFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer between webhook deliveries and the database.
+ * Deliveries only enqueue their mapped users; a single flusher thread drains the buffer and stores
+ * each source's users in one transaction per batch. A batch is flushed when it reaches the maximum
+ * size or when the flush interval passed since its first user, so a burst of deliveries costs a few
+ * commits instead of one per delivery. When the buffer is full, deliveries are rejected so the source
+ * retries later, rather than piling up unbounded in memory.
+ * Buffered users were already acknowledged, so a batch that cannot be stored is retried, then stored
+ * user by user, and users that still fail are dead-lettered.
+ */
+@Component
+@Slf4j
+public class WebhookBuffer {
+
+    private final UserFetchService userFetchService;
+    private final BlockingQueue<PushedUser> queue;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final int storeAttempts;
+    private final long retryBackoffMillis;
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public WebhookBuffer(
+        final UserFetchService userFetchService,
+        @Value("${webhook.buffer.capacity:65536}") final int capacity,
+        @Value("${webhook.flush.max-batch-size:1000}") final int maxBatchSize,
+        @Value("${webhook.flush.interval:200}") final long flushIntervalMillis,
+        @Value("${webhook.flush.store-attempts:3}") final int storeAttempts,
+        @Value("${webhook.flush.retry-backoff:500}") final long retryBackoffMillis
+    ) {
+        this.userFetchService = userFetchService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.storeAttempts = Math.max(storeAttempts, 1);
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /**
+     * Enqueue the users of one delivery. Either all of them are accepted or none.
+     *
+     * @param sourceName the source that pushed the users
+     * @param users mapped user data with the items they were mapped from, in delivery order
+     * @throws WebhookBufferFullException if the buffer has no room for the delivery
+     */
+    synchronized void offer(final String sourceName, final List<MappedItem> users) {
+        // Only producers add under this lock, so the checked capacity cannot shrink before the users are added
+        if (queue.remainingCapacity() < users.size()) {
+            throw new WebhookBufferFullException("Webhook buffer is full, retry later");
+        }
+        for (final MappedItem user : users) {
+            queue.add(new PushedUser(sourceName, user));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = Thread.ofPlatform()
+            .name("webhook-flusher")
+            .daemon()
+            .start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join();
+        // Store whatever arrived after the flusher's last batch
+        final List<PushedUser> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            store(remaining);
+        }
+    }
+
+    private void run() {
+        final List<PushedUser> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                collect(batch);
+            } catch (final InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                store(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for a first user, then collect until the batch is full or the flush interval passed.
+     */
+    private void collect(final List<PushedUser> batch) throws InterruptedException {
+        final PushedUser first = queue.take();
+        batch.add(first);
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            final PushedUser next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void store(final List<PushedUser> batch) {
+        final Map<String, List<MappedItem>> bySource = new LinkedHashMap<>();
+        for (final PushedUser pushed : batch) {
+            bySource.computeIfAbsent(pushed.sourceName(), name -> new ArrayList<>()).add(pushed.user());
+        }
+        bySource.forEach(this::store);
+    }
+
+    /**
+     * Stores one source's users, retrying transient failures such as a database outage or a concurrent
+     * sync inserting the same new user.
+     */
+    private void store(final String sourceName, final List<MappedItem> users) {
+        for (int attempt = 1; attempt <= storeAttempts; attempt++) {
+            try {
+                final int stored = userFetchService.storePushedUsers(sourceName, users);
+                log.info("Flushed webhook batch for source: {}, received={}, stored={}",
+                    sourceName, users.size(), stored);
+                return;
+            } catch (final RuntimeException e) {
+                log.warn("Failed to store webhook batch of {} users for source: {}, attempt={}/{}, error={}",
+                    users.size(), sourceName, attempt, storeAttempts, e.getMessage());
+                if (attempt < storeAttempts && !backOff(attempt)) {
+                    break;
+                }
+            }
+        }
+        // One bad user must not take the rest of the batch with it
+        for (final MappedItem user : users) {
+            try {
+                userFetchService.storePushedUsers(sourceName, List.of(user));
+            } catch (final RuntimeException e) {
+                deadLetter(sourceName, user.fields(), e);
+            }
+        }
+    }
+
+    private void deadLetter(final String sourceName, final Map<String, Object> userData, final RuntimeException error) {
+        try {
+            userFetchService.deadLetterPushedUser(sourceName, userData, error.getMessage());
+        } catch (final RuntimeException e) {
+            // Nowhere left to keep the user, so at least the log holds it
+            log.error("Lost pushed user from source: {}, data={}", sourceName, userData, e);
+        }
+    }
+
+    /**
+     * @return false if interrupted, in which case the remaining attempts are skipped
+     */
+    private boolean backOff(final int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis * attempt);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * A mapped user waiting to be stored.
+     */
+    private record PushedUser(String sourceName, MappedItem user) {
+    }
+}
@@ -0,0 +1,114 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.WebhookResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
+import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import cloud.eagle.assessment.exception.InvalidConfigurationException;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import com.jayway.jsonpath.JsonPath;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives users pushed by sources through webhooks.
+ * A delivery is verified and mapped on the request thread, then handed to the {@link WebhookBuffer},
+ * which stores it together with other deliveries. The configuration a delivery is checked against is
+ * cached for a short time, so a burst of deliveries does not read it from the database every time.
+ */
+@Service
+@Slf4j
+public class WebhookService {
+
+    private static final String PAYLOAD_ROOT = "$";
+
+    private final ApiConfigurationRepository apiConfigurationRepository;
+    private final ExternalApiService externalApiService;
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final WebhookBuffer webhookBuffer;
+    private final DeadLetterService deadLetterService;
+    private final ItemErrorPolicy itemErrorPolicy;
+    private final String defaultSignatureHeader;
+    private final long routeTtlNanos;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public WebhookService(
+        final ApiConfigurationRepository apiConfigurationRepository,
+        final ExternalApiService externalApiService,
+        final WebhookSignatureVerifier signatureVerifier,
+        final WebhookBuffer webhookBuffer,
+        final DeadLetterService deadLetterService,
+        @Value("${sync.item-error-policy:FAIL}") final ItemErrorPolicy itemErrorPolicy,
+        @Value("${webhook.signature-header:X-Webhook-Signature}") final String defaultSignatureHeader,
+        @Value("${webhook.route-ttl:5000}") final long routeTtlMillis
+    ) {
+        this.apiConfigurationRepository = apiConfigurationRepository;
+        this.externalApiService = externalApiService;
+        this.signatureVerifier = signatureVerifier;
+        this.webhookBuffer = webhookBuffer;
+        this.deadLetterService = deadLetterService;
+        this.itemErrorPolicy = itemErrorPolicy;
+        this.defaultSignatureHeader = defaultSignatureHeader;
+        this.routeTtlNanos = TimeUnit.MILLISECONDS.toNanos(routeTtlMillis);
+    }
+
+    /**
+     * Verify, map and enqueue a webhook delivery. The users are stored shortly after this returns.
+     *
+     * @param sourceName the source that sent the delivery
+     * @param headers request headers carrying the signature
+     * @param body raw request body, exactly as signed by the source
+     * @return number of users accepted for storing
+     */
+    public WebhookResponse receive(final String sourceName, final HttpHeaders headers, final byte[] body) {
+        final Route route = route(sourceName);
+        final ApiConfiguration config = route.config();
+        signatureVerifier.verify(config.getWebhookSecret(), headers.getFirst(route.signatureHeader()), body);
+
+        final ItemErrorHandler onMappingError = itemErrorPolicy == ItemErrorPolicy.DEAD_LETTER
+            ? (index, item, error) -> deadLetterService.record(sourceName, null, index, DeadLetterStage.MAPPING,
+                ExternalApiService.toItemJson(item), error.getMessage())
+            : ItemErrorHandler.FAIL_FAST;
+        final List<MappedItem> users =
+            externalApiService.parseAndMapPayload(body, route.rootPath(), config, onMappingError);
+        webhookBuffer.offer(sourceName, users);
+
+        log.debug("Accepted webhook delivery from source: {}, users={}", sourceName, users.size());
+        return new WebhookResponse(sourceName, users.size());
+    }
+
+    private Route route(final String sourceName) {
+        final long now = System.nanoTime();
+        final Route cached = routes.get(sourceName);
+        if (cached != null && now - cached.loadedAt() < routeTtlNanos) {
+            return cached;
+        }
+        final ApiConfiguration config = apiConfigurationRepository
+            .findWithFieldMappingsBySourceNameAndActive(sourceName, true)
+            .orElseThrow(() -> new ApiConfigurationNotFoundException(sourceName));
+        if (config.getWebhookSecret() == null) {
+            throw new InvalidConfigurationException(List.of("webhooks are not enabled for source: " + sourceName));
+        }
+        final String rootPath = config.getWebhookRootPath() != null ? config.getWebhookRootPath() : PAYLOAD_ROOT;
+        final String signatureHeader = config.getWebhookSignatureHeader() != null
+            ? config.getWebhookSignatureHeader()
+            : defaultSignatureHeader;
+        final Route route = new Route(config, JsonPath.compile(rootPath), signatureHeader, now);
+        routes.put(sourceName, route);
+        return route;
+    }
+
+    /**
+     * Configuration of a webhook source with its compiled payload root path.
+     */
+    private record Route(ApiConfiguration config, JsonPath rootPath, String signatureHeader, long loadedAt) {
+    }
+}
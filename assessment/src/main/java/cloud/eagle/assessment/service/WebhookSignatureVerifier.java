@@ -0,0 +1,115 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.WebhookSignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Verifies HMAC-SHA256 signatures of webhook deliveries.
+ * Only the timestamped {@code t=<unix seconds>,v1=<hex>} scheme used by Calendly is accepted, where the
+ * signed content is {@code <t>.<body>} and stale timestamps are rejected. A plain {@code sha256=<hex>}
+ * signature over the body alone is rejected, since a captured delivery could be replayed with it forever.
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Duration tolerance;
+    private final Clock clock;
+
+    @Autowired
+    public WebhookSignatureVerifier(@Value("${webhook.signature-tolerance:300000}") final long toleranceMillis) {
+        this(Duration.ofMillis(toleranceMillis), Clock.systemUTC());
+    }
+
+    WebhookSignatureVerifier(final Duration tolerance, final Clock clock) {
+        this.tolerance = tolerance;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks a delivery against the source's secret.
+     *
+     * @param secret webhook secret of the source
+     * @param signature value of the signature header, or null if it was missing
+     * @param body raw request body
+     * @throws WebhookSignatureException if the signature is missing, malformed, stale or wrong
+     */
+    public void verify(final String secret, final String signature, final byte[] body) {
+        if (signature == null || signature.isBlank()) {
+            throw new WebhookSignatureException("Missing webhook signature");
+        }
+        final String value = signature.trim();
+        if (value.startsWith("sha256=")) {
+            throw new WebhookSignatureException("Webhook signature must be timestamped as t=<unix seconds>,v1=<hex>");
+        }
+
+        String timestamp = null;
+        String expected = null;
+        for (final String part : value.split(",")) {
+            final String element = part.trim();
+            if (element.startsWith("t=")) {
+                timestamp = element.substring(2);
+            } else if (element.startsWith("v1=")) {
+                expected = element.substring(3);
+            }
+        }
+        if (timestamp == null || expected == null) {
+            throw new WebhookSignatureException("Malformed webhook signature");
+        }
+        requireFresh(timestamp);
+
+        final byte[] prefix = (timestamp + ".").getBytes(StandardCharsets.UTF_8);
+        final byte[] signed = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, signed, 0, prefix.length);
+        System.arraycopy(body, 0, signed, prefix.length, body.length);
+        requireMatch(hmac(secret, signed), expected);
+    }
+
+    private void requireFresh(final String timestamp) {
+        final Instant signedAt;
+        try {
+            signedAt = Instant.ofEpochSecond(Long.parseLong(timestamp));
+        } catch (final NumberFormatException e) {
+            throw new WebhookSignatureException("Malformed webhook signature timestamp");
+        }
+        if (Duration.between(signedAt, clock.instant()).abs().compareTo(tolerance) > 0) {
+            throw new WebhookSignatureException("Webhook signature timestamp outside tolerance");
+        }
+    }
+
+    private static void requireMatch(final byte[] actual, final String expectedHex) {
+        final byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(expectedHex.trim());
+        } catch (final IllegalArgumentException e) {
+            throw new WebhookSignatureException("Malformed webhook signature");
+        }
+        // Constant-time comparison, so response timing reveals nothing about the expected signature
+        if (!MessageDigest.isEqual(actual, expected)) {
+            throw new WebhookSignatureException("Invalid webhook signature");
+        }
+    }
+
+    static byte[] hmac(final String secret, final byte[] content) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(content);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Webhook settings per API configuration.
+
+ALTER TABLE api_configurations ADD COLUMN webhook_secret VARCHAR(500);
+ALTER TABLE api_configurations ADD COLUMN webhook_signature_header VARCHAR(100);
+ALTER TABLE api_configurations ADD COLUMN webhook_root_path VARCHAR(500);
@@ -0,0 +1,12 @@
+-- Items as returned by the source, kept per user to re-map users without fetching them again.
+
+CREATE TABLE user_source_items (
+    user_id     BIGINT       NOT NULL,
+    source_name VARCHAR(255) NOT NULL,
+    payload     CLOB         NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_source_items_user FOREIGN KEY (user_id) REFERENCES fetched_users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_source_items_source_user ON user_source_items (source_name, user_id);
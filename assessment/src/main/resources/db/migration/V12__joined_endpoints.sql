@@ -0,0 +1,17 @@
+-- Further endpoints of composite sources, joined to the user items by key.
+
+CREATE SEQUENCE joined_endpoints_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE joined_endpoints (
+    id                   BIGINT       NOT NULL,
+    api_configuration_id BIGINT       NOT NULL,
+    name                 VARCHAR(100) NOT NULL,
+    endpoint_url         VARCHAR(255) NOT NULL,
+    response_root_path   VARCHAR(500),
+    key_path             VARCHAR(500) NOT NULL,
+    parent_key_path      VARCHAR(500) NOT NULL,
+    multiple             BOOLEAN      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_joined_endpoints_api_configuration
+        FOREIGN KEY (api_configuration_id) REFERENCES api_configurations (id)
+);
@@ -0,0 +1,4 @@
+-- Request templates that push field lists, page sizes and incremental filters to the provider.
+
+ALTER TABLE api_configurations ADD COLUMN request_query_template VARCHAR(1000);
+ALTER TABLE api_configurations ADD COLUMN request_body_template VARCHAR(4000);
@@ -0,0 +1,3 @@
+-- Transform chains applied to extracted field values.
+
+ALTER TABLE field_mappings ADD COLUMN transforms VARCHAR(1000);
@@ -0,0 +1,5 @@
+-- OAuth2 client settings for sources authenticating with the client credentials grant.
+
+ALTER TABLE api_configurations ADD COLUMN oauth_token_url VARCHAR(500);
+ALTER TABLE api_configurations ADD COLUMN oauth_client_id VARCHAR(255);
+ALTER TABLE api_configurations ADD COLUMN oauth_scope VARCHAR(500);
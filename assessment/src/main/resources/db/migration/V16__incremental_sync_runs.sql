@@ -0,0 +1,3 @@
+-- Marks runs that only requested changed users, so full syncs can be scheduled around them.
+
+ALTER TABLE sync_runs ADD COLUMN incremental BOOLEAN DEFAULT FALSE NOT NULL;
@@ -0,0 +1,3 @@
+-- Users written outside a sync are stamped, so a sync reconciling at the same time keeps them.
+
+ALTER TABLE fetched_users ADD COLUMN pushed_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,3 @@
+-- Hash of each user's stored source item, so an unchanged item is neither serialized nor written again.
+
+ALTER TABLE fetched_users ADD COLUMN source_item_hash BIGINT;
@@ -0,0 +1,3 @@
+-- Total count announced by the first page of a paginated source, so that page can be requested conditionally.
+
+ALTER TABLE http_cache_validators ADD COLUMN total_count BIGINT;
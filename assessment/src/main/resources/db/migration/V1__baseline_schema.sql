@@ -0,0 +1,49 @@
+-- Baseline schema for API configurations, field mappings and fetched users.
+
+CREATE SEQUENCE fetched_users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE field_mappings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE api_configurations (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_name        VARCHAR(255)  NOT NULL,
+    endpoint_url       VARCHAR(255)  NOT NULL,
+    http_method        VARCHAR(16)   NOT NULL,
+    auth_type          VARCHAR(32)   NOT NULL,
+    auth_credentials   VARCHAR(1000),
+    request_headers    VARCHAR(2000),
+    response_root_path VARCHAR(500),
+    active             BOOLEAN       NOT NULL,
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_api_configurations_source_name UNIQUE (source_name)
+);
+
+CREATE TABLE field_mappings (
+    id                   BIGINT       NOT NULL,
+    api_configuration_id BIGINT       NOT NULL,
+    internal_field_name  VARCHAR(255) NOT NULL,
+    json_path            VARCHAR(500) NOT NULL,
+    default_value        VARCHAR(100),
+    required             BOOLEAN      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_field_mappings_api_configuration
+        FOREIGN KEY (api_configuration_id) REFERENCES api_configurations (id)
+);
+
+CREATE TABLE fetched_users (
+    id          BIGINT       NOT NULL,
+    source_name VARCHAR(255) NOT NULL,
+    external_id VARCHAR(255) NOT NULL,
+    email       VARCHAR(255),
+    name        VARCHAR(255),
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    timezone    VARCHAR(255),
+    avatar_url  VARCHAR(255),
+    raw_data    VARCHAR(2000),
+    fetched_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_source_external_id UNIQUE (source_name, external_id)
+);
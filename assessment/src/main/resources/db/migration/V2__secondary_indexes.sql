@@ -0,0 +1,11 @@
+-- Secondary indexes for the listing and lookup access paths.
+
+-- Paging users of one source ordered by id or by fetch time
+CREATE INDEX idx_fetched_users_source_id ON fetched_users (source_name, id);
+CREATE INDEX idx_fetched_users_source_fetched_at ON fetched_users (source_name, fetched_at);
+
+-- Email lookups across sources
+CREATE INDEX idx_fetched_users_email ON fetched_users (email);
+
+-- Listing active configurations
+CREATE INDEX idx_api_configurations_active ON api_configurations (active, source_name);
@@ -0,0 +1,15 @@
+-- Canonical identities merging users across sources by normalized email.
+
+CREATE SEQUENCE user_identities_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_identities (
+    id               BIGINT       NOT NULL,
+    normalized_email VARCHAR(255) NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_user_identities_email UNIQUE (normalized_email)
+);
+
+ALTER TABLE fetched_users ADD COLUMN identity_id BIGINT;
+
+CREATE INDEX idx_fetched_users_identity ON fetched_users (identity_id);
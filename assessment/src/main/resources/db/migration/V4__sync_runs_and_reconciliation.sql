@@ -0,0 +1,18 @@
+-- Sync runs and soft deletion of users no longer returned by their source.
+
+CREATE TABLE sync_runs (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_name   VARCHAR(255) NOT NULL,
+    started_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed_at  TIMESTAMP(6) WITH TIME ZONE,
+    users_seen    INTEGER      NOT NULL,
+    users_removed INTEGER      NOT NULL,
+    reconciled    BOOLEAN      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_sync_runs_source_started_at ON sync_runs (source_name, started_at);
+
+ALTER TABLE fetched_users ADD COLUMN last_seen_run_id BIGINT;
+ALTER TABLE fetched_users ADD COLUMN deleted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE fetched_users ADD COLUMN deleted_at TIMESTAMP(6) WITH TIME ZONE;
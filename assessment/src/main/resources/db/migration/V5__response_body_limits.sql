@@ -0,0 +1,4 @@
+-- Per-source response body limits; NULL falls back to the global defaults.
+
+ALTER TABLE api_configurations ADD COLUMN max_response_bytes BIGINT;
+ALTER TABLE api_configurations ADD COLUMN spill_threshold_bytes BIGINT;
@@ -0,0 +1,13 @@
+-- ETag / Last-Modified validators per source and request URL for conditional requests.
+
+CREATE TABLE http_cache_validators (
+    id                        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_name               VARCHAR(255)  NOT NULL,
+    request_url               VARCHAR(2000) NOT NULL,
+    etag                      VARCHAR(500),
+    last_modified             VARCHAR(100),
+    configuration_fingerprint VARCHAR(64)   NOT NULL,
+    updated_at                TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_http_cache_validators_source_url UNIQUE (source_name, request_url)
+);
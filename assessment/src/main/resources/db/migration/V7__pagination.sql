@@ -0,0 +1,10 @@
+-- Pagination settings for offset and page number based providers.
+
+ALTER TABLE api_configurations ADD COLUMN pagination_type VARCHAR(255) DEFAULT 'NONE' NOT NULL;
+ALTER TABLE api_configurations ADD COLUMN page_parameter VARCHAR(100);
+ALTER TABLE api_configurations ADD COLUMN page_size_parameter VARCHAR(100);
+ALTER TABLE api_configurations ADD COLUMN page_size INTEGER;
+ALTER TABLE api_configurations ADD COLUMN total_count_path VARCHAR(500);
+ALTER TABLE api_configurations ADD COLUMN first_page INTEGER;
+ALTER TABLE api_configurations ADD COLUMN max_concurrent_pages INTEGER;
+ALTER TABLE api_configurations ADD COLUMN preserve_page_order BOOLEAN DEFAULT TRUE NOT NULL;
@@ -0,0 +1,17 @@
+-- Items a sync could not map or store, kept for replay.
+
+CREATE TABLE dead_letter_items (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_name VARCHAR(255)  NOT NULL,
+    run_id      BIGINT,
+    item_index  INTEGER,
+    stage       VARCHAR(255)  NOT NULL,
+    payload     CLOB          NOT NULL,
+    reason      VARCHAR(1000) NOT NULL,
+    attempts    INTEGER       NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    replayed_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_dead_letter_items_source_replayed ON dead_letter_items (source_name, replayed_at, id);
@@ -0,0 +1,14 @@
+-- Outbox of user changes, read by downstream consumers through the change feed.
+
+CREATE TABLE user_change_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_name VARCHAR(255) NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    external_id VARCHAR(255) NOT NULL,
+    change_type VARCHAR(255) NOT NULL,
+    changes     CLOB,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_user_change_events_source_id ON user_change_events (source_name, id);
@@ -0,0 +1,53 @@
+package cloud.eagle.assessment;
+
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the persistent profile migrates the schema and keeps synced state across restarts.
+ */
+class PersistentProfileRestartTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void persistentProfile_shouldKeepUsersAndConfigurationsAcrossRestart() {
+        // Given: first start migrates the schema, seeds configurations and stores a user
+        try (ConfigurableApplicationContext context = start()) {
+            final FetchedUser user = new FetchedUser("calendly", "user-123");
+            user.setEmail("john@example.com");
+            context.getBean(FetchedUserRepository.class).save(user);
+        }
+
+        // When: the application restarts on the same database file
+        try (ConfigurableApplicationContext context = start()) {
+            final FetchedUserRepository users = context.getBean(FetchedUserRepository.class);
+            final ApiConfigurationRepository configs = context.getBean(ApiConfigurationRepository.class);
+
+            // Then
+            final var found = users.findBySourceNameAndExternalId("calendly", "user-123");
+            assertTrue(found.isPresent());
+            assertEquals("john@example.com", found.get().getEmail());
+            assertEquals(1, users.count());
+            assertEquals(1, configs.count());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AssessmentApplication.class)
+            .profiles("persistent")
+            .web(WebApplicationType.NONE)
+            .run("--persistent.db.path=" + dataDir.resolve("assessment"));
+    }
+}
@@ -0,0 +1,141 @@
+package cloud.eagle.assessment.config;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the external API client: clear-text HTTP/2 and connection warm-up.
+ */
+@SpringBootTest(properties = {
+    "webclient.protocols=H2C",
+    "webclient.warmup.enabled=true"
+})
+@ActiveProfiles("test")
+class WebClientConfigTest {
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ConnectionWarmup connectionWarmup;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        // Accepts nothing but HTTP/2 with prior knowledge, so an HTTP/1.1 request would fail
+        mockWebServer.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        mockWebServer.start();
+        apiConfigRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+        apiConfigRepository.deleteAll();
+    }
+
+    @Test
+    void webClient_withH2c_shouldMultiplexConcurrentRequestsOverOneConnection() throws InterruptedException {
+        // Given
+        final int requests = 5;
+        final CountDownLatch allInFlight = new CountDownLatch(requests);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                // Answers only once every request has arrived, so none waits for another's response
+                allInFlight.countDown();
+                allInFlight.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody("{\"ok\":true}");
+            }
+        });
+        final WebClient webClient = webClientBuilder.build();
+
+        // When
+        final List<String> bodies = Flux.range(0, requests)
+            .flatMap(page -> get(webClient, page), requests)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Then
+        assertEquals(Collections.nCopies(requests, "{\"ok\":true}"), bodies);
+        assertEquals(0, allInFlight.getCount(), "All requests should have been in flight at once");
+        final List<Integer> sequenceNumbers = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            sequenceNumbers.add(mockWebServer.takeRequest().getSequenceNumber());
+        }
+        // Sequence numbers count the requests made on the same connection, so a second connection repeats them
+        Collections.sort(sequenceNumbers);
+        assertEquals(List.of(0, 1, 2, 3, 4), sequenceNumbers);
+    }
+
+    @Test
+    void warmUp_shouldConnectOncePerDistinctActiveHost() throws InterruptedException {
+        // Given
+        mockWebServer.enqueue(new MockResponse());
+        apiConfigRepository.save(createConfig("users", mockWebServer.url("/v1/users").toString(), true));
+        apiConfigRepository.save(createConfig("groups", mockWebServer.url("/v1/groups").toString(), true));
+        apiConfigRepository.save(createConfig("inactive", "http://unreachable.invalid/users", false));
+
+        // When
+        final long warmed = connectionWarmup.warmUp().block();
+
+        // Then
+        assertEquals(1, warmed);
+        final RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("HEAD", request.getMethod());
+        assertEquals("/", request.getPath());
+        assertNull(request.getHeader("Authorization"));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    private Mono<String> get(final WebClient webClient, final int page) {
+        return webClient.get()
+            .uri(mockWebServer.url("/users?page=" + page).toString())
+            .retrieve()
+            .bodyToMono(String.class);
+    }
+
+    private static ApiConfiguration createConfig(final String sourceName, final String url, final boolean active) {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(sourceName);
+        config.setEndpointUrl(url);
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.BEARER_TOKEN);
+        config.setAuthCredentials("secret");
+        config.setActive(active);
+        config.addFieldMapping(new FieldMapping("externalId", "$.id", true));
+        return config;
+    }
+}
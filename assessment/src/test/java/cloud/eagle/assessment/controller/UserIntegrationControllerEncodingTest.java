@@ -0,0 +1,117 @@
+package cloud.eagle.assessment.controller;
+
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for response compression and binary encodings of the listing endpoints.
+ * Uses a raw HTTP client so that compressed bodies are seen exactly as sent.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UserIntegrationControllerEncodingTest {
+
+    private static final int USER_COUNT = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        fetchedUserRepository.saveAll(IntStream.range(0, USER_COUNT)
+            .mapToObj(i -> {
+                final FetchedUser user = new FetchedUser("encoding-test", "user-" + i);
+                user.setName("User " + i);
+                user.setEmail("user" + i + "@example.com");
+                return user;
+            })
+            .toList());
+    }
+
+    @Test
+    void getAllUsers_withGzipAccepted_shouldCompressLargeResponse() throws Exception {
+        // When
+        final HttpResponse<InputStream> response = get("/users?size=" + USER_COUNT, "application/json", "gzip");
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        final JsonNode page = readGzip(new ObjectMapper(), response);
+        assertEquals(USER_COUNT, page.get("content").size());
+    }
+
+    @Test
+    void getUsersBySource_withCborAccepted_shouldAnswerInCbor() throws Exception {
+        // When
+        final HttpResponse<InputStream> response = get("/users/encoding-test?size=5", "application/cbor", null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("application/cbor", response.headers().firstValue("Content-Type").orElse(null));
+        final JsonNode page;
+        try (InputStream body = response.body()) {
+            page = new CBORMapper().readTree(body);
+        }
+        assertEquals(5, page.get("content").size());
+        assertEquals("user-0", page.get("content").get(0).get("externalId").asString());
+    }
+
+    @Test
+    void exportConfigurations_withSmileAccepted_shouldAnswerInSmile() throws Exception {
+        // When
+        final HttpResponse<InputStream> response = get("/configs/export", UserIntegrationController.APPLICATION_SMILE_VALUE, null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals(UserIntegrationController.APPLICATION_SMILE_VALUE,
+            response.headers().firstValue("Content-Type").orElse(null));
+        try (InputStream body = response.body()) {
+            assertTrue(new SmileMapper().readTree(body).isArray());
+        }
+    }
+
+    private HttpResponse<InputStream> get(final String path, final String accept, final String acceptEncoding)
+        throws IOException, InterruptedException {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/integrations" + path))
+            .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static JsonNode readGzip(final ObjectMapper mapper, final HttpResponse<InputStream> response)
+        throws IOException {
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            return mapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package cloud.eagle.assessment.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate generates on the current thread while {@link #during(Runnable)} runs,
+ * so tests can inspect the statements the repositories actually send. Registered for the test profile.
+ */
+public class CapturedStatements implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Runs an action and returns the statements it prepared, in order.
+     *
+     * @param action action issuing queries on the current thread
+     * @return the generated SQL
+     */
+    static List<String> during(final Runnable action) {
+        final List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(final String sql) {
+        final List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,131 @@
+package cloud.eagle.assessment.repository;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.service.UserFetchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies through H2 EXPLAIN that the listing and lookup queries use the secondary indexes.
+ * The statements explained are the ones Hibernate generates, captured by {@link CapturedStatements}.
+ * H2 only serves an ORDER BY from an index when the sort starts with the leading index column,
+ * which is why the source listing queries sort by source name first.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IndexUsageTest {
+
+    private static final int USERS_PER_SOURCE = 500;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        apiConfigRepository.deleteAll();
+
+        final List<FetchedUser> users = new ArrayList<>();
+        for (final String source : List.of("calendly", "dropbox", "slack")) {
+            for (int i = 0; i < USERS_PER_SOURCE; i++) {
+                final FetchedUser user = new FetchedUser(source, source + "-" + i);
+                user.setEmail("user" + i + "@example.com");
+                users.add(user);
+            }
+        }
+        fetchedUserRepository.saveAll(users);
+
+        for (int i = 0; i < 20; i++) {
+            final ApiConfiguration config = new ApiConfiguration();
+            config.setSourceName("source-" + i);
+            config.setEndpointUrl("https://api.example.com/users");
+            config.setHttpMethod(HttpMethod.GET);
+            config.setAuthType(AuthType.NONE);
+            config.setActive(i % 4 == 0);
+            apiConfigRepository.save(config);
+        }
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void getUsersBySource_orderedById_shouldUseSourceIdIndex() {
+        final String plan = explainSelect(
+            () -> userFetchService.getUsersBySource("dropbox", PageRequest.of(2, 20)),
+            "dropbox", 40, 20);
+
+        assertUsesIndex(plan, "IDX_FETCHED_USERS_SOURCE_ID");
+        assertTrue(plan.contains("index sorted"), "Expected ORDER BY to be served by the index:\n" + plan);
+    }
+
+    @Test
+    void getUsersBySource_orderedByFetchedAt_shouldUseSourceFetchedAtIndex() {
+        final PageRequest newestFirst = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "fetchedAt"));
+        final String plan = explainSelect(() -> userFetchService.getUsersBySource("dropbox", newestFirst), "dropbox", 20);
+
+        assertUsesIndex(plan, "IDX_FETCHED_USERS_SOURCE_FETCHED_AT");
+        assertTrue(plan.contains("index sorted"), "Expected ORDER BY to be served by the index:\n" + plan);
+    }
+
+    @Test
+    void findByEmail_shouldUseEmailIndex() {
+        final String plan = explainSelect(
+            () -> assertEquals(3, fetchedUserRepository.findByEmail("user42@example.com").size()),
+            "user42@example.com");
+
+        assertUsesIndex(plan, "IDX_FETCHED_USERS_EMAIL");
+    }
+
+    @Test
+    void findByActive_shouldUseActiveIndex() {
+        final String plan = explainSelect(
+            () -> assertEquals(5, apiConfigRepository.findByActive(true).size()),
+            true);
+
+        assertUsesIndex(plan, "IDX_API_CONFIGURATIONS_ACTIVE");
+        assertTrue(plan.contains("index sorted"), "Expected ORDER BY to be served by the index:\n" + plan);
+    }
+
+    /**
+     * Explains the first select the action makes, exactly as Hibernate generated it.
+     *
+     * @param action action running the query
+     * @param parameters values of the statement's parameters, in order
+     * @return the H2 query plan
+     */
+    private String explainSelect(final Runnable action, final Object... parameters) {
+        final String sql = CapturedStatements.during(action).stream()
+            .filter(statement -> statement.startsWith("select") && !statement.startsWith("select count"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("The action ran no select"));
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), "Parameters of: " + sql);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static void assertUsesIndex(final String plan, final String indexName) {
+        assertTrue(plan.toUpperCase().contains(indexName), "Expected index " + indexName + " in plan:\n" + plan);
+    }
+}
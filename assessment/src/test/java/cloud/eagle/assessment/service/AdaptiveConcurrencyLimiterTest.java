@@ -0,0 +1,147 @@
+package cloud.eagle.assessment.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final String SOURCE = "limited-source";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 2, 1, 32, 2.0, 0.5);
+    }
+
+    @Test
+    void limit_aboveTheLimit_shouldQueueRequestsUntilSlotsFree() {
+        // Given
+        final AtomicInteger started = new AtomicInteger();
+        final List<Sinks.One<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Sinks.One<String> response = Sinks.one();
+            responses.add(response);
+            limiter.limit(SOURCE, response.asMono().doOnSubscribe(s -> started.incrementAndGet())).subscribe();
+        }
+
+        // When / Then
+        assertEquals(2, started.get());
+        assertEquals(2, inFlightGauge());
+        responses.get(0).tryEmitValue("done");
+        assertEquals(3, started.get(), "A finished request admits the next waiting one");
+        responses.subList(1, 5).forEach(response -> response.tryEmitValue("done"));
+        assertEquals(5, started.get());
+        assertEquals(0, inFlightGauge());
+    }
+
+    @Test
+    void tryLimit_atTheLimit_shouldCompleteEmptyWithoutSendingTheRequest() {
+        // Given
+        final List<Sinks.One<String>> responses = List.of(Sinks.one(), Sinks.one());
+        responses.forEach(response -> limiter.limit(SOURCE, response.asMono()).subscribe());
+        final AtomicInteger started = new AtomicInteger();
+        final Mono<String> duplicate = Mono.fromCallable(() -> {
+            started.incrementAndGet();
+            return "duplicate";
+        });
+
+        // When
+        final String whileFull = limiter.tryLimit(SOURCE, duplicate).block();
+        responses.get(0).tryEmitValue("done");
+        final String afterRelease = limiter.tryLimit(SOURCE, duplicate).block();
+
+        // Then
+        assertNull(whileFull);
+        assertEquals("duplicate", afterRelease);
+        assertEquals(1, started.get());
+        responses.get(1).tryEmitValue("done");
+        assertEquals(0, inFlightGauge());
+    }
+
+    @Test
+    void limit_withSteadyLatency_shouldRaiseTheLimit() {
+        // When
+        Flux.range(0, 200)
+            .flatMap(i -> limiter.limit(SOURCE, Mono.delay(Duration.ofMillis(5))), 32)
+            .blockLast();
+
+        // Then
+        assertTrue(limiter.currentLimit(SOURCE) > 2, "Limit should grow while every slot is used");
+        assertEquals(limiter.currentLimit(SOURCE), limitGauge());
+    }
+
+    @Test
+    void limit_whenProviderThrottles_shouldLowerTheLimit() {
+        // Given
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 32, 2.0, 0.5);
+        final Mono<String> throttled = Mono.error(
+            WebClientResponseException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null, null));
+
+        // When
+        limiter.limit(SOURCE, throttled).onErrorComplete().block();
+
+        // Then
+        assertEquals(4, limiter.currentLimit(SOURCE));
+        assertEquals(4, limitGauge());
+    }
+
+    @Test
+    void limit_whenProviderThrottlesBeforeAnySuccess_shouldLowerTheLimitOnce() {
+        // Given
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 32, 2.0, 0.5);
+        final Mono<String> throttled = Mono.error(
+            WebClientResponseException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null, null));
+
+        // When
+        limiter.limit(SOURCE, throttled).onErrorComplete().block();
+        limiter.limit(SOURCE, throttled).onErrorComplete().block();
+
+        // Then
+        assertEquals(4, limiter.currentLimit(SOURCE), "Both responses belong to the same round trip");
+    }
+
+    @Test
+    void limit_whenLatencyClimbs_shouldLowerTheLimit() {
+        // Given
+        Flux.range(0, 100)
+            .flatMap(i -> limiter.limit(SOURCE, Mono.delay(Duration.ofMillis(5))), 32)
+            .blockLast();
+        final int raised = limiter.currentLimit(SOURCE);
+
+        // When
+        Flux.range(0, 3 * raised)
+            .flatMap(i -> limiter.limit(SOURCE, Mono.delay(Duration.ofMillis(100))), 32)
+            .blockLast();
+
+        // Then
+        assertTrue(limiter.currentLimit(SOURCE) < raised,
+            "Limit " + limiter.currentLimit(SOURCE) + " should fall below " + raised);
+    }
+
+    private double limitGauge() {
+        return meterRegistry.get(AdaptiveConcurrencyLimiter.LIMIT_METRIC).tag("source", SOURCE).gauge().value();
+    }
+
+    private double inFlightGauge() {
+        return meterRegistry.get(AdaptiveConcurrencyLimiter.IN_FLIGHT_METRIC).tag("source", SOURCE).gauge().value();
+    }
+}
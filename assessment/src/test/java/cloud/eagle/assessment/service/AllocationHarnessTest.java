@@ -0,0 +1,144 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation harness measuring bytes allocated per mapped and persisted user.
+ * Uses the per-thread allocation counters of the HotSpot ThreadMXBean and enforces
+ * allocation budgets so that regressions in the mapping hot path fail the build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AllocationHarnessTest {
+
+    private static final int ITEM_COUNT = 5_000;
+    private static final int PERSIST_COUNT = 500;
+    private static final int WARM_UP_ROUNDS = 5;
+
+    private static final long REUSE_MAPPING_BUDGET_BYTES_PER_ITEM = 512;
+    /**
+     * About 60 KB per user are allocated today, so a regression of half that size fails the build.
+     */
+    private static final long PERSIST_BUDGET_BYTES_PER_USER = 96 * 1_024;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MappingPlan plan;
+    private List<?> items;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        plan = MappingPlan.compile(createTestConfig());
+        items = JsonPath.read(createResponse(ITEM_COUNT), "$.collection");
+    }
+
+    @Test
+    void mapSingleItem_reuseMode_shouldStayWithinAllocationBudget() {
+        // Given
+        final Map<String, Object> holder = ExternalApiService.newHolder(plan);
+        final Runnable standard = () -> items.forEach(item -> externalApiService.mapSingleItem(item, plan));
+        final Runnable reuse = () -> items.forEach(item -> externalApiService.mapSingleItem(item, plan, holder));
+
+        // When
+        final long standardBytesPerItem = measureBytes(standard) / ITEM_COUNT;
+        final long reuseBytesPerItem = measureBytes(reuse) / ITEM_COUNT;
+
+        // Then
+        assertTrue(reuseBytesPerItem <= REUSE_MAPPING_BUDGET_BYTES_PER_ITEM,
+            "Reuse mapping allocated " + reuseBytesPerItem + " B/item, budget is " + REUSE_MAPPING_BUDGET_BYTES_PER_ITEM);
+        assertTrue(reuseBytesPerItem < standardBytesPerItem,
+            "Reuse mapping should allocate less than standard mapping");
+    }
+
+    @Test
+    void saveOrUpdateUser_shouldStayWithinAllocationBudget() {
+        // Given
+        final UserFetchService target = AopTestUtils.getTargetObject(userFetchService);
+        final Map<String, Object> holder = ExternalApiService.newHolder(plan);
+        final List<?> persisted = items.subList(0, PERSIST_COUNT);
+        final Runnable persist = () -> transactionTemplate.executeWithoutResult(status ->
+            persisted.forEach(item -> {
+                externalApiService.mapSingleItem(item, plan, holder);
+                target.saveOrUpdateUser("alloc-test", 1L, holder);
+            }));
+
+        // When
+        final long bytesPerUser = measureBytes(persist) / PERSIST_COUNT;
+
+        // Then
+        assertEquals(PERSIST_COUNT, fetchedUserRepository.count());
+        assertTrue(bytesPerUser <= PERSIST_BUDGET_BYTES_PER_USER,
+            "saveOrUpdateUser allocated " + bytesPerUser + " B/user, budget is " + PERSIST_BUDGET_BYTES_PER_USER);
+    }
+
+    private long measureBytes(final Runnable workload) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            workload.run();
+        }
+        final long threadId = Thread.currentThread().threadId();
+        final long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        workload.run();
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static String createResponse(final int count) {
+        final StringBuilder json = new StringBuilder("{\"collection\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"uri\":\"user-").append(i)
+                .append("\",\"name\":\"User ").append(i)
+                .append("\",\"email\":\"user").append(i).append("@example.com\"")
+                .append(",\"timezone\":\"UTC\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static ApiConfiguration createTestConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName("alloc-test");
+        config.setEndpointUrl("http://localhost:8080/api/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+        config.addFieldMapping(new FieldMapping("timezone", "$.timezone", false));
+        config.addFieldMapping(new FieldMapping("avatarUrl", "$.avatar_url", false));
+        return config;
+    }
+}
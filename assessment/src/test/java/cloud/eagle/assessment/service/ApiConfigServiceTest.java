@@ -1,22 +1,39 @@
 package cloud.eagle.assessment.service;
 
 import cloud.eagle.assessment.domain.dto.ApiConfigurationDto;
+import cloud.eagle.assessment.domain.dto.BulkConfigurationResponse;
+import cloud.eagle.assessment.domain.dto.FieldMappingDto;
+import cloud.eagle.assessment.domain.dto.JoinedEndpointDto;
+import cloud.eagle.assessment.domain.dto.PaginationDto;
 import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.PaginationType;
 import cloud.eagle.assessment.exception.ApiConfigurationNotFoundException;
+import cloud.eagle.assessment.exception.InvalidConfigurationException;
 import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -28,6 +45,12 @@ class ApiConfigServiceTest {
     @Mock
     private ApiConfigurationRepository repository;
 
+    @Spy
+    private MappingPlanCache mappingPlanCache = new MappingPlanCache();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ApiConfigService apiConfigService;
 
@@ -107,5 +130,115 @@ class ApiConfigServiceTest {
         assertNotNull(result);
         assertEquals(testConfig.getId(), result.getId());
     }
-}
 
+    @Test
+    void importConfigurations_withNewAndExistingSources_shouldUpsertAndPrecompile() {
+        // Given
+        testConfig.setAuthCredentials("stored-token");
+        when(repository.findBySourceNameIn(anySet())).thenReturn(List.of(testConfig));
+
+        final List<ApiConfigurationDto> dtos = List.of(
+            createDto("test-source", "$.collection", "$.uri"),
+            createDto("new-source", "$.data", "$.id")
+        );
+
+        // When
+        final BulkConfigurationResponse response = apiConfigService.importConfigurations(dtos);
+
+        // Then
+        assertEquals(2, response.received());
+        assertEquals(1, response.created());
+        assertEquals(1, response.updated());
+        assertEquals(List.of("test-source", "new-source"), response.sourceNames());
+        assertEquals("stored-token", testConfig.getAuthCredentials());
+        assertEquals("$.collection", testConfig.getResponseRootPath());
+        assertEquals(1, testConfig.getFieldMappings().size());
+        verify(repository).saveAll(anyList());
+        verify(mappingPlanCache, times(2)).precompile(any(ApiConfiguration.class));
+    }
+
+    @Test
+    void importConfigurations_withExistingFieldMappings_shouldMergeThemByInternalFieldName() {
+        // Given
+        final FieldMapping externalId = new FieldMapping("externalId", "$.id", true);
+        externalId.setId(10L);
+        final FieldMapping email = new FieldMapping("email", "$.email", false);
+        email.setId(11L);
+        testConfig.addFieldMapping(externalId);
+        testConfig.addFieldMapping(email);
+        when(repository.findBySourceNameIn(anySet())).thenReturn(List.of(testConfig));
+
+        // When
+        apiConfigService.importConfigurations(List.of(createDto("test-source", "$.collection", "$.uri")));
+
+        // Then
+        assertEquals(List.of(externalId), testConfig.getFieldMappings(), "The kept mapping is updated in place");
+        assertEquals(10L, externalId.getId());
+        assertEquals("$.uri", externalId.getJsonPath());
+        assertNull(email.getApiConfiguration());
+    }
+
+    @Test
+    void importConfigurations_withInvalidJsonPath_shouldRejectWholeBatch() {
+        // Given
+        final List<ApiConfigurationDto> dtos = List.of(
+            createDto("valid-source", "$.data", "$.id"),
+            createDto("broken-source", "$.data[?(", "$.id")
+        );
+
+        // When & Then
+        final InvalidConfigurationException ex = assertThrows(InvalidConfigurationException.class, () ->
+            apiConfigService.importConfigurations(dtos));
+        assertEquals(1, ex.getViolations().size());
+        assertTrue(ex.getViolations().get(0).startsWith("broken-source"));
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importConfigurations_withPaginatedJoinedEndpoint_shouldRejectIt() {
+        // Given
+        final JoinedEndpointDto memberships = new JoinedEndpointDto(null, "memberships",
+            "https://api.example.com/memberships", "$.collection", "$.user", "$.uri", true,
+            new PaginationDto(PaginationType.OFFSET, "offset", "limit", 100, "$.total", null, null, null));
+
+        // When & Then
+        final InvalidConfigurationException ex = assertThrows(InvalidConfigurationException.class, () ->
+            apiConfigService.importConfigurations(List.of(createDto("composite-source", "$.data", "$.id", List.of(memberships)))));
+        assertEquals(List.of("composite-source: joined endpoint memberships cannot be paginated"), ex.getViolations());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    private ApiConfigurationDto createDto(final String sourceName, final String rootPath, final String idPath) {
+        return createDto(sourceName, rootPath, idPath, null);
+    }
+
+    private ApiConfigurationDto createDto(
+        final String sourceName,
+        final String rootPath,
+        final String idPath,
+        final List<JoinedEndpointDto> joinedEndpoints
+    ) {
+        return new ApiConfigurationDto(
+            null,
+            sourceName,
+            "https://api.example.com/users",
+            HttpMethod.GET,
+            AuthType.BEARER_TOKEN,
+            null,
+            null,
+            null,
+            null,
+            null,
+            rootPath,
+            null,
+            null,
+            null,
+            null,
+            joinedEndpoints,
+            true,
+            List.of(new FieldMappingDto(null, "externalId", idPath, null, true, null)),
+            null,
+            null
+        );
+    }
+}
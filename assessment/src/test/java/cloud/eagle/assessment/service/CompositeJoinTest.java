@@ -0,0 +1,56 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompositeJoin.
+ */
+class CompositeJoinTest {
+
+    @Test
+    void attachTo_withIntegralKeysParsedAsDifferentNumberTypes_shouldMatchThem() {
+        // Given
+        final Object users = MappingPlan.READ_CONFIGURATION.jsonProvider().parse("""
+            [{"id": 1}, {"id": 2.0}, {"id": "3"}, {"id": 4.5}]
+            """);
+        final Object memberships = MappingPlan.READ_CONFIGURATION.jsonProvider().parse("""
+            [{"user": 1.0, "role": "admin"}, {"user": 2, "role": "member"},
+             {"user": 3, "role": "guest"}, {"user": 4, "role": "owner"}]
+            """);
+        final JoinedEndpoint endpoint = new JoinedEndpoint(
+            "membership", "https://api.example.com/memberships", null, "$.user", "$.id", false);
+        final CompositeJoin join = new CompositeJoin(List.of(CompositeJoin.index(endpoint, memberships)));
+
+        // When
+        join.attachTo(users);
+
+        // Then
+        final List<?> items = (List<?>) users;
+        assertEquals("admin", roleOf(items.get(0)));
+        assertEquals("member", roleOf(items.get(1)));
+        assertEquals("guest", roleOf(items.get(2)));
+        assertFalse(((Map<?, ?>) items.get(3)).containsKey("membership"), "4.5 is not the key 4");
+    }
+
+    @Test
+    void keyOf_shouldWriteIntegralNumbersWithoutFraction() {
+        assertEquals("1", CompositeJoin.keyOf(1.0));
+        assertEquals("1", CompositeJoin.keyOf(1L));
+        assertEquals("10", CompositeJoin.keyOf(new BigDecimal("10.00")));
+        assertEquals("0", CompositeJoin.keyOf(new BigDecimal("0.000")));
+        assertEquals("1.5", CompositeJoin.keyOf(1.5f));
+        assertEquals("true", CompositeJoin.keyOf(true));
+        assertNull(CompositeJoin.keyOf(Map.of()));
+    }
+
+    private static Object roleOf(final Object item) {
+        return ((Map<?, ?>) ((Map<?, ?>) item).get("membership")).get("role");
+    }
+}
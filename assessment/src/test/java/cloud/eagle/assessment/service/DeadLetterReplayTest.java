@@ -0,0 +1,203 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import cloud.eagle.assessment.domain.dto.ReplayDeadLettersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
+import cloud.eagle.assessment.domain.entity.DeadLetterStage;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.DeadLetterItemRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.HttpCacheValidatorRepository;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for syncs under the dead-letter item error policy and for replaying dead letters.
+ */
+@SpringBootTest(properties = "sync.item-error-policy=DEAD_LETTER")
+@ActiveProfiles("test")
+class DeadLetterReplayTest {
+
+    private static final String SOURCE = "dead-letter-source";
+    private static final String USERS_JSON = """
+        {"collection": [
+            {"uri": "user-1", "name": "John Doe", "email": "john@example.com"},
+            {"uri": "user-2", "name": "No Email"},
+            {"uri": "user-3", "name": "Jane Doe", "email": "jane@example.com", "timezone": "%s"}
+        ]}
+        """.formatted("x".repeat(300));
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterItemRepository;
+
+    @Autowired
+    private HttpCacheValidatorRepository httpCacheValidatorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        fetchedUserRepository.deleteAll();
+        deadLetterItemRepository.deleteAll();
+        httpCacheValidatorRepository.deleteAll();
+        apiConfigRepository.findBySourceName(SOURCE).ifPresent(apiConfigRepository::delete);
+        apiConfigRepository.save(createConfig(mockWebServer.url("/users").toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void fetchUsersFromSource_withBadItems_shouldStoreGoodItemsAndDeadLetterTheRest() {
+        // Given
+        fetchedUserRepository.save(new FetchedUser(SOURCE, "user-0"));
+        mockWebServer.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(USERS_JSON));
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(1, response.usersFetched());
+        assertEquals(2, response.itemsDeadLettered());
+        assertEquals(0, response.usersRemoved(), "Reconciliation must be skipped when items were dead-lettered");
+        assertFalse(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-0").orElseThrow().isDeleted());
+        assertTrue(httpCacheValidatorRepository.findBySourceName(SOURCE).isEmpty());
+
+        final List<DeadLetterItem> items = pendingItems();
+        assertEquals(2, items.size());
+        assertEquals(DeadLetterStage.MAPPING, items.get(0).getStage());
+        assertEquals(1, items.get(0).getItemIndex());
+        assertEquals("Required field mapping failed: email", items.get(0).getReason());
+        assertTrue(items.get(0).getPayload().contains("\"uri\":\"user-2\""));
+        assertEquals(DeadLetterStage.PERSISTENCE, items.get(1).getStage());
+        assertEquals("Field timezone exceeds 255 characters", items.get(1).getReason());
+        assertFalse(items.get(1).getPayload().contains("\"uri\""), "Only mapped fields are dead-lettered");
+    }
+
+    @Test
+    void replayDeadLetters_afterMappingFix_shouldStoreItemsWithoutCallingTheSource() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .getFieldMappings().stream()
+            .filter(mapping -> mapping.getInternalFieldName().equals("email"))
+            .forEach(mapping -> mapping.setRequired(false)));
+
+        // When
+        final ReplayDeadLettersResponse response = deadLetterReplayService.replay(SOURCE);
+
+        // Then
+        assertEquals(1, response.itemsReplayed());
+        assertEquals(1, response.itemsFailed());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertTrue(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").isPresent());
+
+        final List<DeadLetterItem> pending = pendingItems();
+        assertEquals(1, pending.size());
+        assertEquals(DeadLetterStage.PERSISTENCE, pending.get(0).getStage());
+        assertEquals(2, pending.get(0).getAttempts());
+    }
+
+    @Test
+    void replayDeadLetters_whenLaterSyncStoredTheUser_shouldNotOverwriteNewerData() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        mockWebServer.enqueue(new MockResponse().setBody("""
+            {"collection": [{"uri": "user-2", "name": "Newer Name", "email": "new@example.com"}]}
+            """));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        userFetchService.fetchUsersFromSource(SOURCE);
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .getFieldMappings().forEach(mapping -> mapping.setRequired(mapping.getInternalFieldName().equals("externalId"))));
+
+        // When
+        deadLetterReplayService.replay(SOURCE);
+
+        // Then
+        final FetchedUser user = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").orElseThrow();
+        assertEquals("Newer Name", user.getName());
+        assertEquals("new@example.com", user.getEmail());
+    }
+
+    @Test
+    void replayDeadLetters_whenUserWasRemovedAfterTheItemFailed_shouldNotRestoreIt() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final FetchedUser removed = new FetchedUser(SOURCE, "user-2");
+        removed.setDeleted(true);
+        removed.setDeletedAt(Instant.now());
+        fetchedUserRepository.save(removed);
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .getFieldMappings().forEach(mapping -> mapping.setRequired(mapping.getInternalFieldName().equals("externalId"))));
+
+        // When
+        final ReplayDeadLettersResponse response = deadLetterReplayService.replay(SOURCE);
+
+        // Then
+        assertEquals(1, response.itemsReplayed());
+        final FetchedUser user = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").orElseThrow();
+        assertTrue(user.isDeleted());
+        assertNull(user.getLastSeenRunId());
+    }
+
+    private List<DeadLetterItem> pendingItems() {
+        return deadLetterItemRepository.findAllByIdInOrderById(
+            deadLetterItemRepository.findPendingIds(SOURCE, 0L, Limit.unlimited()));
+    }
+
+    private static ApiConfiguration createConfig(final String url) {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl(url);
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.email", true));
+        config.addFieldMapping(new FieldMapping("timezone", "$.timezone", false));
+        return config;
+    }
+}
@@ -6,18 +6,27 @@ import cloud.eagle.assessment.domain.entity.FieldMapping;
 import cloud.eagle.assessment.domain.entity.HttpMethod;
 import cloud.eagle.assessment.exception.ExternalApiException;
 import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.exception.ItemMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +36,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class ExternalApiServiceTest {
 
+    private static final long MAX_RESPONSE_BYTES = 1_024 * 1_024;
+    private static final long SPILL_THRESHOLD_BYTES = 4_096;
+
+    @TempDir
+    private Path tempDir;
+
     private MockWebServer mockWebServer;
     private ExternalApiService externalApiService;
     private ObjectMapper objectMapper;
@@ -37,8 +52,9 @@ class ExternalApiServiceTest {
         mockWebServer.start();
 
         objectMapper = new ObjectMapper();
-        final WebClient.Builder webClientBuilder = WebClient.builder();
-        externalApiService = new ExternalApiService(webClientBuilder, objectMapper);
+        externalApiService = createService(
+            new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 4, 1, 64, 2.0, 0.75),
+            new RequestHedger(new SimpleMeterRegistry(), false, 0.95, 0.05, 20));
     }
 
     @AfterEach
@@ -69,6 +85,38 @@ class ExternalApiServiceTest {
         assertEquals("Bearer test-token", request.getHeader("Authorization"));
     }
 
+    @Test
+    void callExternalApi_withOAuth_shouldSendAccessTokenAndReplaceRejectedToken() throws InterruptedException {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"revoked-token\", \"expires_in\": 3600}")
+            .setHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"access_token\": \"fresh-token\", \"expires_in\": 3600}")
+            .setHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"data\": \"test\"}"));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+        config.setAuthType(AuthType.OAUTH2_CLIENT_CREDENTIALS);
+        config.setAuthCredentials("client-secret");
+        config.setOauthTokenUrl(mockWebServer.url("/oauth/token").toString());
+        config.setOauthClientId("client-id");
+
+        // When
+        final String response = externalApiService.callExternalApi(config);
+
+        // Then
+        assertEquals("{\"data\": \"test\"}", response);
+        final RecordedRequest tokenRequest = mockWebServer.takeRequest();
+        assertEquals("/oauth/token", tokenRequest.getPath());
+        assertEquals("grant_type=client_credentials", tokenRequest.getBody().readUtf8());
+        assertEquals("Bearer revoked-token", mockWebServer.takeRequest().getHeader("Authorization"));
+        assertEquals("/oauth/token", mockWebServer.takeRequest().getPath());
+        assertEquals("Bearer fresh-token", mockWebServer.takeRequest().getHeader("Authorization"));
+    }
+
     @Test
     void callExternalApi_withServerError_shouldThrowException() {
         // Given
@@ -82,6 +130,208 @@ class ExternalApiServiceTest {
             externalApiService.callExternalApi(config));
     }
 
+    @Test
+    void callExternalApi_whileQueuedForTheConcurrencyLimit_shouldNotHedge() throws Exception {
+        // Given
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        externalApiService = createService(
+            new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 1, 1, 1, 2.0, 0.75),
+            // Hedges after the slowest response seen so far: 600 ms, longer than one request but not two
+            new RequestHedger(meterRegistry, true, 0.99, 1.0, 1));
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+        mockWebServer.enqueue(new MockResponse().setBody("{}").setHeadersDelay(600, TimeUnit.MILLISECONDS));
+        externalApiService.callExternalApi(config);
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{}").setHeadersDelay(400, TimeUnit.MILLISECONDS));
+        }
+
+        // When
+        final List<CompletableFuture<String>> calls = Stream.generate(
+                () -> CompletableFuture.supplyAsync(() -> externalApiService.callExternalApi(config)))
+            .limit(2)
+            .toList();
+        calls.forEach(CompletableFuture::join);
+
+        // Then
+        assertEquals(3, mockWebServer.getRequestCount(), "The second request waited for a slot, not for a response");
+        assertNull(meterRegistry.find(RequestHedger.HEDGES_METRIC).counter());
+    }
+
+    @Test
+    void callExternalApi_withoutAFreeSlotForTheDuplicate_shouldNotHedge() {
+        // Given
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        externalApiService = createService(
+            new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 1, 1, 1, 2.0, 0.75),
+            // Hedges after the median response time, which the warm-up keeps clear of the first, cold request
+            new RequestHedger(meterRegistry, true, 0.5, 1.0, 3));
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("{}").setHeadersDelay(50, TimeUnit.MILLISECONDS));
+            externalApiService.callExternalApi(config);
+        }
+        mockWebServer.enqueue(new MockResponse().setBody("{\"slow\":true}").setHeadersDelay(500, TimeUnit.MILLISECONDS));
+
+        // When
+        final String response = externalApiService.callExternalApi(config);
+
+        // Then
+        assertEquals("{\"slow\":true}", response);
+        assertEquals(4, mockWebServer.getRequestCount(), "The only slot is taken by the request being hedged");
+        assertNull(meterRegistry.find(RequestHedger.HEDGES_METRIC).counter());
+    }
+
+    @Test
+    void fetchResponseBody_aboveSpillThreshold_shouldSpillToDiskAndParseMapped() throws IOException {
+        // Given
+        final int userCount = 500;
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(createUsersJson(userCount))
+            .setResponseCode(200));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+
+        // When
+        final List<Map<String, Object>> results;
+        try (ResponseBody body = externalApiService.fetchResponseBody(config)) {
+            assertTrue(body.isSpilled());
+            assertTrue(body.size() > SPILL_THRESHOLD_BYTES);
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertEquals(1, files.count());
+            }
+            results = externalApiService.parseAndMapResponse(body, config);
+        }
+
+        // Then
+        assertEquals(userCount, results.size());
+        assertEquals("user-499", results.get(userCount - 1).get("externalId"));
+        assertEquals("user499@example.com", results.get(userCount - 1).get("email"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void callExternalApi_aboveSpillThreshold_shouldRefuseAndDeleteSpillFile() throws IOException {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(createUsersJson(500))
+            .setResponseCode(200));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+
+        // When & Then
+        final ExternalApiException ex = assertThrows(ExternalApiException.class, () ->
+            externalApiService.callExternalApi(config));
+        assertTrue(ex.getMessage().contains("too large to return as a string"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void fetchResponseBody_withPathCharactersInSourceName_shouldSpillIntoTheSpillDirectory() throws IOException {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(createUsersJson(500))
+            .setResponseCode(200));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setSourceName("../team/users:v2");
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+
+        // When & Then
+        try (ResponseBody body = externalApiService.fetchResponseBody(config);
+             Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(body.isSpilled());
+            assertTrue(files.map(file -> file.getFileName().toString())
+                .anyMatch(name -> name.startsWith("response-___team_users_v2-")));
+        }
+    }
+
+    @Test
+    void fetchResponseBody_belowSpillThreshold_shouldStayInMemory() {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(createUsersJson(2))
+            .setResponseCode(200));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+
+        // When & Then
+        try (ResponseBody body = externalApiService.fetchResponseBody(config)) {
+            assertFalse(body.isSpilled());
+            assertEquals(createUsersJson(2), body.asString());
+        }
+    }
+
+    @Test
+    void fetchResponseBody_aboveConfiguredMaximum_shouldFailAndDeleteSpillFile() throws IOException {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(createUsersJson(500))
+            .setResponseCode(200));
+
+        final ApiConfiguration config = createTestConfig();
+        config.setEndpointUrl(mockWebServer.url("/api/users").toString());
+        config.setMaxResponseBytes(16_384L);
+
+        // When & Then
+        final ExternalApiException ex = assertThrows(ExternalApiException.class, () ->
+            externalApiService.fetchResponseBody(config));
+        assertTrue(ex.getCause().getCause().getMessage().contains("exceeds the limit of 16384 bytes"));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void parseAndMapResponseParallel_shouldMatchSequentialMapping() {
+        // Given
+        final ApiConfiguration config = createTestConfig();
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+        final String json = createUsersJson(1_000);
+
+        // When
+        final List<Map<String, Object>> sequential = externalApiService.parseAndMapResponse(json, config);
+        final List<Map<String, Object>> parallel =
+            externalApiService.parseAndMapResponseParallel(ResponseBody.of(json), config);
+
+        // Then
+        assertEquals(1_000, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void parseAndMapResponseParallel_withSeveralFailingItems_shouldReportLowestIndex() {
+        // Given
+        final ApiConfiguration config = createTestConfig();
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        final String json = createUsersJson(1_000)
+            .replace("\"uri\":\"user-900\"", "\"id\":900")
+            .replace("\"uri\":\"user-37\"", "\"id\":37")
+            .replace("\"uri\":\"user-512\"", "\"id\":512");
+
+        // When & Then
+        for (int run = 0; run < 20; run++) {
+            final ItemMappingException ex = assertThrows(ItemMappingException.class, () ->
+                externalApiService.parseAndMapResponseParallel(ResponseBody.of(json), config));
+            assertEquals(37, ex.getItemIndex());
+            assertEquals("Failed to map item 37: Required field mapping failed: externalId", ex.getMessage());
+        }
+    }
+
     @Test
     void parseAndMapResponse_withValidJson_shouldMapFields() {
         // Given
@@ -114,9 +364,7 @@ class ExternalApiServiceTest {
         // Then
         assertEquals(1, results.size());
         final Map<String, Object> user = results.get(0);
-        assertEquals("user-123", user.get("externalId"));
-        assertEquals("John Doe", user.get("name"));
-        assertEquals("john@example.com", user.get("email"));
+        assertEquals(Map.of("externalId", "user-123", "name", "John Doe", "email", "john@example.com"), user);
     }
 
     @Test
@@ -177,6 +425,118 @@ class ExternalApiServiceTest {
         assertEquals("no-email@example.com", user.get("email"));
     }
 
+    @Test
+    void readTotalCount_shouldKeepTheParsedDocumentForMappingThePage() {
+        // Given
+        final ResponseBody body = ResponseBody.of("""
+            {"total": 12, "collection": [{"uri": "user-1"}]}
+            """);
+        final ApiConfiguration config = createTestConfig();
+        config.setResponseRootPath("$.collection");
+        config.setTotalCountPath("$.total");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+
+        // When
+        final long total = externalApiService.readTotalCount(body, config);
+        final List<?> keptItems = (List<?>) ((Map<?, ?>) body.keptDocument()).get("collection");
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> keptItem = (Map<String, Object>) keptItems.get(0);
+        keptItem.put("uri", "user-from-kept-document");
+        final List<Map<String, Object>> results = externalApiService.parseAndMapResponse(body, config);
+
+        // Then
+        assertEquals(12, total);
+        assertEquals("user-from-kept-document", results.get(0).get("externalId"), "The page is mapped without parsing it again");
+    }
+
+    @Test
+    void parseAndMapResponse_withJsonNull_shouldTreatItAsMissing() {
+        // Given
+        final String jsonResponse = """
+            {"collection": [{"uri": "user-123", "email": null, "name": null}]}
+            """;
+        final ApiConfiguration config = createTestConfig();
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        final FieldMapping emailMapping = new FieldMapping("email", "$.email", false);
+        emailMapping.setDefaultValue("no-email@example.com");
+        config.addFieldMapping(emailMapping);
+
+        // When
+        final List<Map<String, Object>> results = externalApiService.parseAndMapResponse(jsonResponse, config);
+
+        // Then
+        assertEquals(Map.of("externalId", "user-123", "email", "no-email@example.com"), results.get(0));
+        config.addFieldMapping(new FieldMapping("name", "$.name", true));
+        assertThrows(FieldMappingException.class, () ->
+            externalApiService.parseAndMapResponse(jsonResponse, config));
+    }
+
+    @Test
+    void parseAndMapResponse_withTransforms_shouldDeriveAndNormalizeFields() {
+        // Given
+        final String jsonResponse = """
+            {"collection": [
+                {"uri": "user-1", "name": "  John van Doe ", "email": " John.Doe@Example.COM", "alias": "jd"},
+                {"uri": "user-2", "name": "Cher"},
+                {"uri": "user-3", "name": "Jane  Smith"}
+            ]}
+            """;
+
+        final ApiConfiguration config = createTestConfig();
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        final FieldMapping firstName = new FieldMapping("firstName", "$.name", false);
+        firstName.setTransforms("trim | split(' ', 0)");
+        final FieldMapping lastName = new FieldMapping("lastName", "$.name", false);
+        lastName.setTransforms("trim | split(' ', 1, 2) | trim");
+        final FieldMapping email = new FieldMapping("email", "$.email", false);
+        email.setTransforms("trim | lowercase");
+        final FieldMapping timezone = new FieldMapping("timezone", "$.timezone", false);
+        timezone.setTransforms("coalesce($.alias, 'UTC') | uppercase");
+        config.addFieldMapping(firstName);
+        config.addFieldMapping(lastName);
+        config.addFieldMapping(email);
+        config.addFieldMapping(timezone);
+
+        // When
+        final List<Map<String, Object>> results = externalApiService.parseAndMapResponse(jsonResponse, config);
+
+        // Then
+        assertEquals("John", results.get(0).get("firstName"));
+        assertEquals("van Doe", results.get(0).get("lastName"));
+        assertEquals("john.doe@example.com", results.get(0).get("email"));
+        assertEquals("JD", results.get(0).get("timezone"));
+        assertEquals("Cher", results.get(1).get("firstName"));
+        assertNull(results.get(1).get("lastName"));
+        assertNull(results.get(1).get("email"));
+        assertEquals("UTC", results.get(1).get("timezone"));
+        assertEquals("Smith", results.get(2).get("lastName"));
+    }
+
+    private static String createUsersJson(final int count) {
+        final StringBuilder json = new StringBuilder("{\"collection\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"uri\":\"user-").append(i)
+                .append("\",\"email\":\"user").append(i).append("@example.com\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private ExternalApiService createService(
+        final AdaptiveConcurrencyLimiter concurrencyLimiter,
+        final RequestHedger requestHedger
+    ) {
+        final WebClient.Builder webClientBuilder = WebClient.builder();
+        return new ExternalApiService(webClientBuilder, objectMapper, new MappingPlanCache(),
+            new ResponseBodyReader(MAX_RESPONSE_BYTES, SPILL_THRESHOLD_BYTES, tempDir), new ParallelMapper(4, 16),
+            new OAuthTokenManager(webClientBuilder, objectMapper, Duration.ofMinutes(1)),
+            concurrencyLimiter, requestHedger);
+    }
+
     private ApiConfiguration createTestConfig() {
         final ApiConfiguration config = new ApiConfiguration();
         config.setSourceName("test");
@@ -0,0 +1,57 @@
+package cloud.eagle.assessment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiling and applying field transform chains.
+ */
+class FieldTransformsTest {
+
+    private static final Map<String, Object> ITEM = Map.of("login", "jdoe");
+
+    @Test
+    void compile_regexAndSplit_shouldExtractParts() {
+        // When / Then
+        assertEquals("jdoe", apply("regex('^([^@]+)@')", "jdoe@example.com"));
+        assertEquals("example.com", apply("regex('@(.+)$') | lowercase", "jdoe@Example.com"));
+        assertNull(apply("regex('^x')", "jdoe"));
+        assertEquals("c", apply("split(',', -1)", "a,b,c"));
+        assertEquals("it's", apply("split('''', 0) | coalesce('it''s')", null));
+    }
+
+    @Test
+    void compile_date_shouldNormalizeToIso() {
+        // When / Then
+        assertEquals("2026-10-18", apply("date('dd/MM/yyyy')", "18/10/2026"));
+        assertEquals("2026-10-18T08:30", apply("date('yyyy-MM-dd HH:mm')", "2026-10-18 08:30"));
+        assertEquals("2026-10-18T08:30Z", apply("date()", "2026-10-18T08:30:00Z"));
+        assertEquals("1970-01-01T00:00:01Z", apply("date()", 1000));
+        assertNull(apply("date('dd/MM/yyyy')", "not a date"));
+    }
+
+    @Test
+    void compile_coalesce_shouldFallBackToOtherPathsOfTheItem() {
+        // When / Then
+        assertEquals("jdoe", apply("coalesce($.missing, $.login, 'anonymous')", null));
+        assertEquals("given", apply("coalesce($.login)", "given"));
+        assertNull(FieldTransforms.compile("  "));
+    }
+
+    @Test
+    void compile_invalidChain_shouldFail() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> FieldTransforms.compile("reverse"));
+        assertThrows(IllegalArgumentException.class, () -> FieldTransforms.compile("split(' ')"));
+        assertThrows(IllegalArgumentException.class, () -> FieldTransforms.compile("regex('(')"));
+        assertThrows(IllegalArgumentException.class, () -> FieldTransforms.compile("split(' ', 0"));
+        assertThrows(IllegalArgumentException.class, () -> FieldTransforms.compile("regex('a', 2)"));
+    }
+
+    private static Object apply(final String chain, final Object value) {
+        return FieldTransforms.compile(chain).apply(value, ITEM);
+    }
+}
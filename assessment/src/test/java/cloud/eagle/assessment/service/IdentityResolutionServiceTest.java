@@ -0,0 +1,108 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchedUserDto;
+import cloud.eagle.assessment.domain.dto.UserIdentityDto;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.mapper.EntityMapper;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.UserIdentityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for IdentityResolutionService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdentityResolutionServiceTest {
+
+    @Autowired
+    private IdentityResolutionService identityResolutionService;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private UserIdentityRepository userIdentityRepository;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        userIdentityRepository.deleteAll();
+    }
+
+    @Test
+    void resolve_withSameEmailAcrossSources_shouldMergeIntoOneIdentity() {
+        // Given
+        final List<FetchedUserDto> users = List.of(
+            save("calendly", "c-1", "John.Doe@Example.com"),
+            save("dropbox", "d-1", " john.doe@example.com "),
+            save("dropbox", "d-2", "jane@example.com"),
+            save("slack", "s-1", null)
+        );
+
+        // When
+        final int linked = identityResolutionService.resolve(users).join();
+
+        // Then
+        assertEquals(3, linked);
+        assertEquals(2, userIdentityRepository.count());
+        final UserIdentityDto identity = identityResolutionService.findIdentity("JOHN.DOE@example.com");
+        assertEquals("john.doe@example.com", identity.normalizedEmail());
+        assertEquals(List.of("calendly", "dropbox"),
+            identity.users().stream().map(FetchedUserDto::sourceName).toList());
+    }
+
+    @Test
+    void resolve_withLaterSync_shouldOnlyTouchChangedUsersAndReuseIdentity() {
+        // Given
+        final FetchedUserDto first = save("calendly", "c-1", "john@example.com");
+        identityResolutionService.resolve(List.of(first)).join();
+        final Long identityId = fetchedUserRepository.findById(first.id()).orElseThrow().getIdentityId();
+
+        final List<FetchedUserDto> batch = IntStream.range(0, 50)
+            .mapToObj(i -> save("dropbox", "d-" + i, i == 0 ? "JOHN@example.com" : "user" + i + "@example.com"))
+            .toList();
+
+        // When
+        final int linked = identityResolutionService.resolve(batch).join();
+
+        // Then
+        assertEquals(50, linked);
+        assertEquals(50, userIdentityRepository.count());
+        assertEquals(identityId, fetchedUserRepository.findById(batch.get(0).id()).orElseThrow().getIdentityId());
+        assertEquals(0, identityResolutionService.resolve(batch).join());
+    }
+
+    @Test
+    void resolve_withSnapshotOlderThanTheStoredEmail_shouldKeepTheCurrentIdentity() {
+        // Given: the email changed twice, and the newer change was resolved first
+        final FetchedUserDto stale = save("calendly", "c-1", "b@example.com");
+        final FetchedUser user = fetchedUserRepository.findById(stale.id()).orElseThrow();
+        user.setEmail("c@example.com");
+        final FetchedUserDto current = EntityMapper.toDto(fetchedUserRepository.save(user));
+        identityResolutionService.resolve(List.of(current)).join();
+
+        // When
+        final int linked = identityResolutionService.resolve(List.of(stale)).join();
+
+        // Then
+        assertEquals(0, linked);
+        final UserIdentityDto identity = identityResolutionService.findIdentity("c@example.com");
+        assertEquals(identity.id(), fetchedUserRepository.findById(stale.id()).orElseThrow().getIdentityId());
+    }
+
+    private FetchedUserDto save(final String source, final String externalId, final String email) {
+        final FetchedUser user = new FetchedUser(source, externalId);
+        user.setEmail(email);
+        return EntityMapper.toDto(fetchedUserRepository.save(user));
+    }
+}
@@ -0,0 +1,136 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.exception.ExternalApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OAuthTokenManager against a local token endpoint.
+ */
+class OAuthTokenManagerTest {
+
+    private MockWebServer tokenServer;
+    private OAuthTokenManager tokenManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tokenServer = new MockWebServer();
+        tokenServer.start();
+        tokenManager = new OAuthTokenManager(WebClient.builder(), new ObjectMapper(), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tokenManager.shutdown();
+        tokenServer.shutdown();
+    }
+
+    @Test
+    void accessToken_concurrentRequests_shouldShareOneTokenRequest() throws InterruptedException {
+        // Given
+        tokenServer.enqueue(tokenResponse("token-1", 3600, null).setBodyDelay(200, TimeUnit.MILLISECONDS));
+        final ApiConfiguration config = createConfig();
+
+        // When
+        final List<String> tokens = Flux.range(0, 10)
+            .flatMap(i -> tokenManager.accessToken(config))
+            .collectList()
+            .block();
+        final String cached = tokenManager.accessToken(config).block();
+
+        // Then
+        assertEquals(10, tokens.size());
+        assertTrue(tokens.stream().allMatch("token-1"::equals));
+        assertEquals("token-1", cached);
+        assertEquals(1, tokenServer.getRequestCount());
+
+        final RecordedRequest request = tokenServer.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("grant_type=client_credentials&scope=users.read", request.getBody().readUtf8());
+        assertEquals("Basic " + Base64.getEncoder().encodeToString("client-id:client-secret".getBytes(StandardCharsets.UTF_8)),
+            request.getHeader("Authorization"));
+    }
+
+    @Test
+    void accessToken_usedTokenNearExpiry_shouldBeRefreshedInBackgroundWithRefreshToken() throws InterruptedException {
+        // Given
+        tokenServer.enqueue(tokenResponse("token-1", 2, "refresh-1"));
+        tokenServer.enqueue(tokenResponse("token-2", 3600, null));
+        final ApiConfiguration config = createConfig();
+        assertEquals("token-1", tokenManager.accessToken(config).block());
+
+        // When
+        tokenServer.takeRequest();
+        final RecordedRequest refresh = tokenServer.takeRequest(3, TimeUnit.SECONDS);
+
+        // Then
+        assertNotNull(refresh, "Token should be refreshed before it expires");
+        assertEquals("grant_type=refresh_token&refresh_token=refresh-1", refresh.getBody().readUtf8());
+        assertTrue(eventually(() -> "token-2".equals(tokenManager.accessToken(config).block())));
+        assertEquals(2, tokenServer.getRequestCount());
+    }
+
+    @Test
+    void accessToken_withFailingTokenEndpoint_shouldThrowAndRetryNextTime() {
+        // Given
+        tokenServer.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\": \"invalid_client\"}"));
+        tokenServer.enqueue(tokenResponse("token-1", 3600, null));
+        final ApiConfiguration config = createConfig();
+
+        // When / Then
+        assertThrows(ExternalApiException.class, () -> tokenManager.accessToken(config).block());
+        assertEquals("token-1", tokenManager.accessToken(config).block());
+    }
+
+    private static MockResponse tokenResponse(final String accessToken, final long expiresIn, final String refreshToken) {
+        final String refresh = refreshToken != null ? ", \"refresh_token\": \"" + refreshToken + "\"" : "";
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"access_token\": \"" + accessToken + "\", \"token_type\": \"Bearer\", \"expires_in\": "
+                + expiresIn + refresh + "}");
+    }
+
+    private static boolean eventually(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + 2_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(25);
+        }
+        return false;
+    }
+
+    private ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName("oauth-source");
+        config.setEndpointUrl("http://localhost:8080/api/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.OAUTH2_CLIENT_CREDENTIALS);
+        config.setAuthCredentials("client-secret");
+        config.setOauthTokenUrl(tokenServer.url("/oauth/token").toString());
+        config.setOauthClientId("client-id");
+        config.setOauthScope("users.read");
+        return config;
+    }
+}
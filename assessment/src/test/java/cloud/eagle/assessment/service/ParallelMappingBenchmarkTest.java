@@ -0,0 +1,106 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of sequential against parallel chunked mapping of a 100k item response.
+ * Wall-clock speed-ups depend on the cores of the machine, so the benchmark only runs when asked for
+ * with {@code -Dbenchmark=true}; it logs the timings of both paths and asserts that their output is equal.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ParallelMappingBenchmarkTest {
+
+    private static final int ITEM_COUNT = 100_000;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Test
+    void parseAndMapResponseParallel_shouldProduceSameResultAsSequential() {
+        // Given
+        final ApiConfiguration config = createBenchmarkConfig();
+        final ResponseBody body = ResponseBody.of(createResponse(ITEM_COUNT));
+        final Supplier<List<Map<String, Object>>> sequentialMapping =
+            () -> externalApiService.parseAndMapResponse(body, config);
+        final Supplier<List<Map<String, Object>>> parallelMapping =
+            () -> externalApiService.parseAndMapResponseParallel(body, config);
+
+        // When
+        final long sequentialNanos = bestOf(sequentialMapping);
+        final long parallelNanos = bestOf(parallelMapping);
+
+        // Then
+        log.info("Mapping {} items: sequential={} ms, parallel={} ms, cores={}",
+            ITEM_COUNT, sequentialNanos / 1_000_000, parallelNanos / 1_000_000,
+            Runtime.getRuntime().availableProcessors());
+        final List<Map<String, Object>> sequential = sequentialMapping.get();
+        final List<Map<String, Object>> parallel = parallelMapping.get();
+        assertEquals(ITEM_COUNT, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    private static long bestOf(final Supplier<List<Map<String, Object>>> mapping) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            mapping.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            mapping.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static String createResponse(final int count) {
+        final StringBuilder json = new StringBuilder("{\"collection\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"uri\":\"user-").append(i)
+                .append("\",\"profile\":{\"name\":\"User ").append(i).append("\"}")
+                .append(",\"emails\":[{\"primary\":false,\"address\":\"alt").append(i).append("@example.com\"},")
+                .append("{\"primary\":true,\"address\":\"user").append(i).append("@example.com\"}]")
+                .append(",\"timezone\":\"UTC\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static ApiConfiguration createBenchmarkConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName("benchmark");
+        config.setEndpointUrl("http://localhost:8080/api/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.profile.name", false));
+        // Indexed paths are evaluated by JsonPath and dominate the mapping cost
+        config.addFieldMapping(new FieldMapping("email", "$.emails[1].address", false));
+        config.addFieldMapping(new FieldMapping("timezone", "$.timezone", false));
+        return config;
+    }
+}
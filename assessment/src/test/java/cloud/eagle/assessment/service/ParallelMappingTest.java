@@ -0,0 +1,96 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.exception.ItemMappingException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for parallel chunked mapping of a 100k item response on the mapping pool.
+ * The response spans many chunks, so results must be reassembled in response order and a failure
+ * in any chunk must reach the caller.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ParallelMappingTest {
+
+    private static final int ITEM_COUNT = 100_000;
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Test
+    void parseAndMapResponseParallel_shouldKeepResponseOrder() {
+        // Given
+        final ApiConfiguration config = createConfig();
+        final String json = createResponse(ITEM_COUNT);
+
+        // When
+        final List<Map<String, Object>> parallel =
+            externalApiService.parseAndMapResponseParallel(ResponseBody.of(json), config);
+
+        // Then
+        assertEquals(ITEM_COUNT, parallel.size());
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals("user-" + i, parallel.get(i).get("externalId"));
+        }
+        assertEquals(externalApiService.parseAndMapResponse(json, config), parallel);
+    }
+
+    @Test
+    void parseAndMapResponseParallel_withFailingItemsInLaterChunks_shouldPropagateTheFirstFailure() {
+        // Given
+        final ApiConfiguration config = createConfig();
+        final String json = createResponse(ITEM_COUNT)
+            .replace("\"uri\":\"user-99999\"", "\"id\":99999")
+            .replace("\"uri\":\"user-81234\"", "\"id\":81234");
+
+        // When
+        final ItemMappingException ex = assertThrows(ItemMappingException.class, () ->
+            externalApiService.parseAndMapResponseParallel(ResponseBody.of(json), config));
+
+        // Then
+        assertEquals(81234, ex.getItemIndex());
+        assertEquals("Failed to map item 81234: Required field mapping failed: externalId", ex.getMessage());
+    }
+
+    private static String createResponse(final int count) {
+        final StringBuilder json = new StringBuilder("{\"collection\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"uri\":\"user-").append(i)
+                .append("\",\"profile\":{\"name\":\"User ").append(i).append("\"}")
+                .append(",\"emails\":[{\"primary\":false,\"address\":\"alt").append(i).append("@example.com\"},")
+                .append("{\"primary\":true,\"address\":\"user").append(i).append("@example.com\"}]")
+                .append(",\"timezone\":\"UTC\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName("parallel-mapping");
+        config.setEndpointUrl("http://localhost:8080/api/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.profile.name", false));
+        // Indexed paths are evaluated by JsonPath rather than walked directly
+        config.addFieldMapping(new FieldMapping("email", "$.emails[1].address", false));
+        config.addFieldMapping(new FieldMapping("timezone", "$.timezone", false));
+        return config;
+    }
+}
@@ -0,0 +1,125 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.SyncRun;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.SyncRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ReconciliationService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReconciliationServiceTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private SyncRunRepository syncRunRepository;
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        syncRunRepository.deleteAll();
+    }
+
+    @Test
+    void completeRun_withUsersMissingFromSource_shouldMarkOnlyThoseDeleted() {
+        // Given
+        final SyncRun first = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", first);
+        save("dropbox", "d-2", first);
+        final FetchedUser stale = save("dropbox", "d-3", first);
+        final FetchedUser otherSource = save("slack", "s-1", first);
+        reconciliationService.completeRun(first, 4, 4, true);
+
+        final SyncRun second = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", second);
+        save("dropbox", "d-2", second);
+
+        // When
+        final int removed = reconciliationService.completeRun(second, 2, 2, true);
+
+        // Then
+        assertEquals(1, removed);
+        final FetchedUser reloaded = fetchedUserRepository.findById(stale.getId()).orElseThrow();
+        assertTrue(reloaded.isDeleted());
+        assertNotNull(reloaded.getDeletedAt());
+        assertFalse(fetchedUserRepository.findById(otherSource.getId()).orElseThrow().isDeleted());
+        assertEquals(List.of("d-1", "d-2"),
+            fetchedUserRepository.findBySourceNameAndDeletedFalse("dropbox", PageRequest.of(0, 10)).stream()
+                .map(FetchedUser::getExternalId).sorted().toList());
+
+        final SyncRun run = syncRunRepository.findById(second.getId()).orElseThrow();
+        assertTrue(run.isReconciled());
+        assertEquals(1, run.getUsersRemoved());
+        assertNotNull(run.getCompletedAt());
+    }
+
+    @Test
+    void completeRun_withFailedSaves_shouldNotRemoveUsers() {
+        // Given
+        final SyncRun first = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", first);
+        save("dropbox", "d-2", first);
+
+        final SyncRun second = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", second);
+
+        // When
+        final int removed = reconciliationService.completeRun(second, 2, 1, true);
+
+        // Then
+        assertEquals(0, removed);
+        assertEquals(2, fetchedUserRepository.findBySourceNameAndDeletedFalse("dropbox", PageRequest.of(0, 10))
+            .getTotalElements());
+        assertFalse(syncRunRepository.findById(second.getId()).orElseThrow().isReconciled());
+    }
+
+    @Test
+    void completeRun_withUserPushedDuringTheRun_shouldKeepTheUser() {
+        // Given
+        final SyncRun first = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", first);
+        save("dropbox", "d-2", first);
+        reconciliationService.completeRun(first, 2, 2, true);
+
+        final SyncRun second = reconciliationService.startRun("dropbox");
+        save("dropbox", "d-1", second);
+        userFetchService.storePushedUsers("dropbox",
+            List.of(MappedItem.of(Map.of("externalId", "d-2")), MappedItem.of(Map.of("externalId", "d-3"))));
+
+        // When
+        final int removed = reconciliationService.completeRun(second, 1, 1, true);
+
+        // Then
+        assertEquals(0, removed, "Users pushed after the run started may be newer than what it fetched");
+        assertEquals(3, fetchedUserRepository.findBySourceNameAndDeletedFalse("dropbox", PageRequest.of(0, 10))
+            .getTotalElements());
+    }
+
+    private FetchedUser save(final String source, final String externalId, final SyncRun run) {
+        final FetchedUser user = fetchedUserRepository.findBySourceNameAndExternalId(source, externalId)
+            .orElseGet(() -> new FetchedUser(source, externalId));
+        user.setLastSeenRunId(run.getId());
+        return fetchedUserRepository.save(user);
+    }
+}
@@ -0,0 +1,101 @@
+package cloud.eagle.assessment.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestHedger.
+ */
+class RequestHedgerTest {
+
+    private static final String SOURCE = "hedged-source";
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration STALLED = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = new RequestHedger(meterRegistry, true, 0.9, 0.1, 10);
+    }
+
+    @Test
+    void hedge_whenResponseStalls_shouldUseTheDuplicateResponse() {
+        // Given
+        warmUp(10);
+        final AtomicInteger attempts = new AtomicInteger();
+        final Supplier<Mono<ResponseBody>> request = () -> attempts.incrementAndGet() == 1
+            ? respond("stalled", STALLED)
+            : respond("hedged", FAST);
+
+        // When
+        final long started = System.nanoTime();
+        final ResponseBody body = hedger.hedge(SOURCE, request).block();
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Then
+        assertEquals("hedged", body.asString());
+        assertEquals(2, attempts.get());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "Took " + elapsed);
+        assertEquals(1, meterRegistry.get(RequestHedger.HEDGES_METRIC).tag("source", SOURCE).counter().count());
+        assertEquals(1, meterRegistry.get(RequestHedger.WINS_METRIC).tag("source", SOURCE).counter().count());
+    }
+
+    @Test
+    void hedge_withoutEnoughSamples_shouldNotHedge() {
+        // Given
+        warmUp(5);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        final ResponseBody body = hedger.hedge(SOURCE, () -> {
+            attempts.incrementAndGet();
+            return respond("primary", Duration.ofMillis(200));
+        }).block();
+
+        // Then
+        assertEquals("primary", body.asString());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void hedge_beyondTheBudget_shouldWaitForThePrimaryResponse() {
+        // Given
+        warmUp(10);
+        final AtomicInteger attempts = new AtomicInteger();
+        final Supplier<Mono<ResponseBody>> slowPrimary = () -> attempts.incrementAndGet() % 2 == 1
+            ? respond("primary", Duration.ofMillis(300))
+            : respond("hedged", FAST);
+
+        // When
+        final ResponseBody first = hedger.hedge(SOURCE, slowPrimary).block();
+        attempts.set(0);
+        final ResponseBody second = hedger.hedge(SOURCE, slowPrimary).block();
+
+        // Then
+        assertEquals("hedged", first.asString());
+        assertEquals("primary", second.asString(), "The budget allows one hedge per ten requests");
+        assertEquals(1, attempts.get());
+    }
+
+    private void warmUp(final int requests) {
+        Flux.range(0, requests)
+            .concatMap(i -> hedger.hedge(SOURCE, () -> respond("warm-up", FAST)))
+            .blockLast();
+    }
+
+    private static Mono<ResponseBody> respond(final String json, final Duration delay) {
+        return Mono.delay(delay).map(tick -> ResponseBody.of(json));
+    }
+}
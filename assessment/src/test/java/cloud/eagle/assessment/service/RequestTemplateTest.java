@@ -0,0 +1,83 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for rendering request templates.
+ */
+class RequestTemplateTest {
+
+    @Test
+    void render_bodyTemplate_shouldInsertTypedValuesAndDropUnsetOnes() {
+        // Given
+        final ApiConfiguration config = createConfig();
+        config.setRequestBodyTemplate("""
+            {"select": "{fields}", "limit": "{pageSize}", "filter": {"updatedAfter": "{since}", "state": "active"}}
+            """);
+
+        // When
+        final SourceRequest first = RequestTemplate.render(config, null);
+        final SourceRequest later = RequestTemplate.render(config, Instant.parse("2026-10-01T00:00:00Z"));
+
+        // Then
+        assertFalse(first.incremental());
+        assertTrue(first.body().contains("\"select\":[\"id\",\"profile\"]"));
+        assertTrue(first.body().contains("\"limit\":100"));
+        assertFalse(first.body().contains("updatedAfter"));
+        assertTrue(first.body().contains("\"state\":\"active\""));
+        assertTrue(later.incremental());
+        assertTrue(later.body().contains("\"updatedAfter\":\"2026-10-01T00:00:00Z\""));
+        assertEquals(config.getEndpointUrl(), first.url());
+    }
+
+    @Test
+    void projectedFields_shouldRequestJoinKeysButNotJoinedProperties() {
+        // Given
+        final ApiConfiguration config = createConfig();
+        config.addJoinedEndpoint(new JoinedEndpoint("details", "https://api.example.com/details", null,
+            "$.user", "$.uri", false));
+        config.addFieldMapping(new FieldMapping("timezone", "$.details.timezone", false));
+
+        // When / Then
+        assertEquals(List.of("id", "profile", "uri"), RequestTemplate.projectedFields(config));
+
+        config.addFieldMapping(new FieldMapping("email", "$..email", false));
+        assertNull(RequestTemplate.projectedFields(config), "a deep scan needs the whole item");
+    }
+
+    @Test
+    void projectedFields_shouldRequestPathsReadByTransforms() {
+        // Given
+        final ApiConfiguration config = createConfig();
+        final FieldMapping email = new FieldMapping("email", "$.email", false);
+        email.setTransforms("coalesce($.contact.email, $['alternate_email'], 'unknown') | lowercase");
+        config.addFieldMapping(email);
+
+        // When
+        final List<String> fields = RequestTemplate.projectedFields(config);
+
+        // Then
+        assertEquals(List.of("id", "profile", "email", "contact", "alternate_email"), fields);
+    }
+
+    private static ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName("template-source");
+        config.setEndpointUrl("https://api.example.com/users");
+        config.setHttpMethod(HttpMethod.POST);
+        config.setPageSize(100);
+        config.addFieldMapping(new FieldMapping("externalId", "$.id", true));
+        config.addFieldMapping(new FieldMapping("name", "$.profile.name", false));
+        config.addFieldMapping(new FieldMapping("firstName", "$['profile'].first", false));
+        return config;
+    }
+}
@@ -0,0 +1,140 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import cloud.eagle.assessment.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SyncCoordinator.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncCoordinatorTest {
+
+    private static final String SOURCE = "calendly";
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Mock
+    private UserFetchService userFetchService;
+
+    @Test
+    void sync_withConcurrentCallers_shouldRunOneSyncAndShareItsResponse() throws Exception {
+        // Given
+        final SyncCoordinator coordinator = new SyncCoordinator(userFetchService, Duration.ZERO, Clock.systemUTC());
+        final FetchUsersResponse expected = response(5);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(userFetchService.fetchUsersFromSource(SOURCE)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return expected;
+        });
+
+        // When
+        final CompletableFuture<FetchUsersResponse> leader = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<FetchUsersResponse> follower = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertSame(expected, leader.get(10, TimeUnit.SECONDS));
+        assertSame(expected, follower.get(10, TimeUnit.SECONDS));
+        verify(userFetchService, times(1)).fetchUsersFromSource(SOURCE);
+    }
+
+    @Test
+    void sync_withinFreshnessWindow_shouldServeLastResponse() {
+        // Given
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(61), NOW.plusSeconds(62));
+        final SyncCoordinator coordinator = new SyncCoordinator(userFetchService, Duration.ofMinutes(1), clock);
+        when(userFetchService.fetchUsersFromSource(SOURCE)).thenReturn(response(5), response(6));
+
+        // When
+        final FetchUsersResponse first = coordinator.sync(SOURCE);
+        final FetchUsersResponse fresh = coordinator.sync(SOURCE);
+        final FetchUsersResponse expired = coordinator.sync(SOURCE);
+
+        // Then
+        assertSame(first, fresh);
+        assertEquals(6, expired.usersFetched());
+        verify(userFetchService, times(2)).fetchUsersFromSource(SOURCE);
+    }
+
+    @Test
+    void sync_whenSharedSyncFails_shouldRethrowToEveryCallerAndNotCacheIt() throws Exception {
+        // Given
+        final SyncCoordinator coordinator = new SyncCoordinator(userFetchService, Duration.ofMinutes(1), Clock.systemUTC());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(userFetchService.fetchUsersFromSource(SOURCE))
+            .thenAnswer(invocation -> {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                throw new ExternalApiException("Provider down");
+            })
+            .thenReturn(response(5));
+
+        // When
+        final CompletableFuture<FetchUsersResponse> leader = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<FetchUsersResponse> follower = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        final ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        final ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ExternalApiException.class, leaderError.getCause());
+        assertSame(leaderError.getCause(), followerError.getCause());
+        assertEquals(5, coordinator.sync(SOURCE).usersFetched());
+    }
+
+    @Test
+    void sync_whenSharedSyncThrowsAnError_shouldReleaseWaitingCallers() throws Exception {
+        // Given
+        final SyncCoordinator coordinator = new SyncCoordinator(userFetchService, Duration.ZERO, Clock.systemUTC());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(userFetchService.fetchUsersFromSource(SOURCE)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            throw new StackOverflowError("Too deep");
+        });
+
+        // When
+        final CompletableFuture<FetchUsersResponse> leader = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<FetchUsersResponse> follower = CompletableFuture.supplyAsync(() -> coordinator.sync(SOURCE));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        final ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        final ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, leaderError.getCause());
+        assertSame(leaderError.getCause(), followerError.getCause());
+        verify(userFetchService, times(1)).fetchUsersFromSource(SOURCE);
+    }
+
+    private static FetchUsersResponse response(final int usersFetched) {
+        return new FetchUsersResponse(SOURCE, usersFetched, 0, 0, "Successfully fetched " + usersFetched + " users");
+    }
+}
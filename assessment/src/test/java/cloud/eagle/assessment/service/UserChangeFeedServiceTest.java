@@ -0,0 +1,233 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.ChangeFeedResponse;
+import cloud.eagle.assessment.domain.dto.FieldChangeDto;
+import cloud.eagle.assessment.domain.dto.UserChangeEventDto;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.UserChangeType;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.HttpCacheValidatorRepository;
+import cloud.eagle.assessment.repository.UserChangeEventRepository;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the user change outbox and the long-polling change feed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserChangeFeedServiceTest {
+
+    private static final String SOURCE = "feed-source";
+    private static final String USERS_JSON = """
+        {"collection": [
+            {"uri": "user-1", "name": "John Doe", "email": "john@example.com"},
+            {"uri": "user-2", "name": "Jane Doe", "email": "jane@example.com"}
+        ]}
+        """;
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @Autowired
+    private UserChangeFeedService userChangeFeedService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private UserChangeEventRepository userChangeEventRepository;
+
+    @Autowired
+    private HttpCacheValidatorRepository httpCacheValidatorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        fetchedUserRepository.deleteAll();
+        userChangeEventRepository.deleteAll();
+        httpCacheValidatorRepository.deleteAll();
+        apiConfigRepository.findBySourceName(SOURCE).ifPresent(apiConfigRepository::delete);
+        apiConfigRepository.save(createConfig(mockWebServer.url("/users").toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void poll_afterSyncs_shouldReturnOnlyChangedFields() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON.replace("john@example.com", "johnny@example.com")));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final ChangeFeedResponse created = userChangeFeedService.poll(0, SOURCE, 100, Duration.ZERO);
+
+        // When
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final ChangeFeedResponse updated = userChangeFeedService.poll(created.nextCursor(), SOURCE, 100, Duration.ZERO);
+
+        // Then
+        assertEquals(2, created.events().size());
+        assertTrue(created.events().stream().allMatch(event -> event.changeType() == UserChangeType.CREATED));
+        assertEquals(new FieldChangeDto(null, "John Doe"), created.events().get(0).changes().get("name"));
+
+        assertEquals(1, updated.events().size());
+        final UserChangeEventDto event = updated.events().get(0);
+        assertEquals(UserChangeType.UPDATED, event.changeType());
+        assertEquals("user-1", event.externalId());
+        assertEquals(Map.of("email", new FieldChangeDto("john@example.com", "johnny@example.com")), event.changes());
+        assertEquals(event.id(), updated.nextCursor());
+    }
+
+    @Test
+    void poll_afterReconciliation_shouldReturnDeletion() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        mockWebServer.enqueue(new MockResponse().setBody("""
+            {"collection": [{"uri": "user-1", "name": "John Doe", "email": "john@example.com"}]}
+            """));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final long cursor = userChangeFeedService.poll(0, SOURCE, 100, Duration.ZERO).nextCursor();
+
+        // When
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final ChangeFeedResponse response = userChangeFeedService.poll(cursor, SOURCE, 100, Duration.ZERO);
+
+        // Then
+        assertEquals(1, response.events().size());
+        assertEquals(UserChangeType.DELETED, response.events().get(0).changeType());
+        assertEquals("user-2", response.events().get(0).externalId());
+    }
+
+    @Test
+    void poll_withNoChanges_shouldWaitUntilSyncCommits() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        final CompletableFuture<ChangeFeedResponse> poll = CompletableFuture.supplyAsync(
+            () -> userChangeFeedService.poll(0, SOURCE, 100, Duration.ofSeconds(20)));
+        Thread.sleep(300);
+        assertFalse(poll.isDone());
+
+        // When
+        final long start = System.nanoTime();
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final ChangeFeedResponse response = poll.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(2, response.events().size());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+    }
+
+    @Test
+    void poll_whileEarlierWriterIsOpen_shouldHoldBackLaterCommits() throws Exception {
+        // Given: a writer that inserts an event and keeps its transaction open
+        final UserFetchService target = AopTestUtils.getTargetObject(userFetchService);
+        final CountDownLatch written = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> openWriter = CompletableFuture.runAsync(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                target.saveOrUpdateUser(SOURCE, null, Map.of("externalId", "slow-user"));
+                written.countDown();
+                await(release);
+            }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        // When
+        final ChangeFeedResponse whileOpen = userChangeFeedService.poll(0, SOURCE, 100, Duration.ZERO);
+        release.countDown();
+        openWriter.get(10, TimeUnit.SECONDS);
+        final ChangeFeedResponse afterCommit = userChangeFeedService.poll(0, SOURCE, 100, Duration.ZERO);
+
+        // Then
+        assertTrue(whileOpen.events().isEmpty());
+        assertEquals(0, whileOpen.nextCursor());
+        assertEquals(List.of("slow-user", "user-1", "user-2"),
+            afterCommit.events().stream().map(UserChangeEventDto::externalId).toList());
+    }
+
+    @Test
+    void poll_whileWriterOfOtherSourceIsOpen_shouldServeTheRequestedSource() throws Exception {
+        // Given: a writer of another source that keeps its transaction open
+        final UserFetchService target = AopTestUtils.getTargetObject(userFetchService);
+        final CountDownLatch written = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> openWriter = CompletableFuture.runAsync(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                target.saveOrUpdateUser("other-feed-source", null, Map.of("externalId", "slow-user"));
+                written.countDown();
+                await(release);
+            }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        // When
+        final ChangeFeedResponse ofSource = userChangeFeedService.poll(0, SOURCE, 100, Duration.ZERO);
+        final ChangeFeedResponse ofAllSources = userChangeFeedService.poll(0, null, 100, Duration.ZERO);
+        release.countDown();
+        openWriter.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(List.of("user-1", "user-2"),
+            ofSource.events().stream().map(UserChangeEventDto::externalId).toList());
+        assertTrue(ofAllSources.events().isEmpty());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ApiConfiguration createConfig(final String url) {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl(url);
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+        return config;
+    }
+}
@@ -0,0 +1,449 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchUsersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.JoinedEndpoint;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.HttpCacheValidatorRepository;
+import cloud.eagle.assessment.repository.SyncRunRepository;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.PaginationType;
+import cloud.eagle.assessment.exception.FieldMappingException;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for UserFetchService against a MockWebServer source.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserFetchServiceTest {
+
+    private static final String SOURCE = "mock-source";
+    private static final String USERS_JSON = """
+        {"collection": [
+            {"uri": "user-1", "name": "John Doe", "email": "john@example.com"},
+            {"uri": "user-2", "name": "Jane Doe", "email": "jane@example.com"}
+        ]}
+        """;
+
+    @Autowired
+    private UserFetchService userFetchService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private HttpCacheValidatorRepository httpCacheValidatorRepository;
+
+    @Autowired
+    private SyncRunRepository syncRunRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        fetchedUserRepository.deleteAll();
+        httpCacheValidatorRepository.deleteAll();
+        syncRunRepository.deleteAll();
+        apiConfigRepository.findBySourceName(SOURCE).ifPresent(apiConfigRepository::delete);
+        apiConfigRepository.save(createConfig(mockWebServer.url("/users").toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void fetchUsersFromSource_withGzipResponse_shouldNegotiateAndDecompress() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setHeader("Content-Encoding", "gzip")
+            .setBody(gzip(USERS_JSON))
+            .setResponseCode(200));
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(2, response.usersFetched());
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertTrue(request.getHeader("Accept-Encoding").contains("gzip"));
+        assertTrue(request.getHeader("Accept-Encoding").contains("deflate"));
+    }
+
+    @Test
+    void fetchUsersFromSource_withNotModifiedResponse_shouldSkipParseAndPersist() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setHeader("ETag", "\"v1\"")
+            .setHeader("Last-Modified", "Wed, 21 Oct 2026 07:28:00 GMT")
+            .setBody(USERS_JSON)
+            .setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        final long usersBefore = fetchedUserRepository.count();
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(0, response.usersFetched());
+        assertEquals(0, response.usersRemoved());
+        assertEquals(usersBefore, fetchedUserRepository.count());
+        assertTrue(fetchedUserRepository.findAll().stream().noneMatch(user -> user.isDeleted()));
+
+        assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+        final RecordedRequest conditional = mockWebServer.takeRequest();
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", conditional.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    void fetchUsersFromSource_afterMappingChange_shouldNotSendStaleValidators() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setHeader("ETag", "\"v1\"")
+            .setBody(USERS_JSON)
+            .setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse()
+            .setHeader("ETag", "\"v1\"")
+            .setBody(USERS_JSON)
+            .setResponseCode(200));
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .addFieldMapping(new FieldMapping("timezone", "$.timezone", false)));
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(2, response.usersFetched());
+        mockWebServer.takeRequest();
+        assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    void fetchUsersFromSource_withOffsetPagination_shouldFetchPagesConcurrentlyAndStoreInOrder() {
+        // Given
+        final PagedSource source = new PagedSource(23, 5);
+        mockWebServer.setDispatcher(source);
+        savePaginatedConfig(2, true);
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(23, response.usersFetched());
+        assertEquals(5, mockWebServer.getRequestCount());
+        assertTrue(source.maxInFlight.get() <= 2, "at most 2 pages in flight, was " + source.maxInFlight.get());
+        assertEquals(2, source.maxInFlight.get());
+        final List<String> storedOrder = fetchedUserRepository.findAll(Sort.by("id")).stream()
+            .map(FetchedUser::getExternalId)
+            .toList();
+        assertEquals(IntStream.range(0, 23).mapToObj(i -> "user-" + i).toList(), storedOrder);
+    }
+
+    @Test
+    void fetchUsersFromSource_withUnorderedPagination_shouldStoreEveryPage() {
+        // Given
+        mockWebServer.setDispatcher(new PagedSource(23, 5));
+        savePaginatedConfig(4, false);
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(23, response.usersFetched());
+        assertEquals(23, fetchedUserRepository.count());
+    }
+
+    @Test
+    void fetchUsersFromSource_withPartlyUnchangedPages_shouldStoreChangedPagesWithoutReconciling() {
+        // Given
+        final PagedSource source = new PagedSource(23, 5);
+        mockWebServer.setDispatcher(source);
+        savePaginatedConfig(2, true);
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        // When: only the last page changed and lost a user
+        source.total = 22;
+        source.version = 2;
+        final FetchUsersResponse changed = userFetchService.fetchUsersFromSource(SOURCE);
+        final FetchUsersResponse unchanged = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(2, changed.usersFetched());
+        assertEquals(0, changed.usersRemoved());
+        assertTrue(fetchedUserRepository.findAll().stream().noneMatch(FetchedUser::isDeleted));
+        assertEquals(0, unchanged.usersFetched());
+        assertTrue(unchanged.message().startsWith("No changes"));
+    }
+
+    @Test
+    void fetchUsersFromSource_withUnchangedPages_shouldRequestTheFirstPageConditionallyToo() {
+        // Given
+        final PagedSource source = new PagedSource(23, 5);
+        mockWebServer.setDispatcher(source);
+        savePaginatedConfig(2, true);
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        // When
+        final FetchUsersResponse unchanged = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(5, source.notModified.get(), "Every page, the first included, should come back not modified");
+        assertEquals(10, mockWebServer.getRequestCount());
+        assertEquals(0, unchanged.usersFetched());
+        assertTrue(unchanged.message().startsWith("No changes"));
+    }
+
+    @Test
+    void fetchUsersFromSource_withFailPolicyAndBadItem_shouldAbortWithoutStoringAnything() {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("""
+                {"collection": [
+                    {"uri": "user-1", "name": "John Doe"},
+                    {"name": "No Id"}
+                ]}
+                """)
+            .setResponseCode(200));
+
+        // When & Then
+        assertThrows(FieldMappingException.class, () -> userFetchService.fetchUsersFromSource(SOURCE));
+        assertEquals(0, fetchedUserRepository.count());
+    }
+
+    @Test
+    void fetchUsersFromSource_withJoinedEndpoints_shouldJoinTheirItemsWithoutPerUserCalls() throws Exception {
+        // Given
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                final String body = switch (request.getRequestUrl().encodedPath()) {
+                    case "/users" -> USERS_JSON;
+                    case "/details" -> """
+                        {"items": [
+                            {"user": "user-2", "timezone": "Europe/Berlin"},
+                            {"user": "user-9", "timezone": "Asia/Tokyo"}
+                        ]}
+                        """;
+                    case "/memberships" -> """
+                        [
+                            {"user_uri": "user-1", "role": "member"},
+                            {"user_uri": "user-1", "role": "admin"}
+                        ]
+                        """;
+                    default -> "{}";
+                };
+                return new MockResponse().setBody(body);
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            final ApiConfiguration config = apiConfigRepository.findBySourceName(SOURCE).orElseThrow();
+            config.addJoinedEndpoint(new JoinedEndpoint(
+                "details", mockWebServer.url("/details").toString(), "$.items", "$.user", "$.uri", false));
+            config.addJoinedEndpoint(new JoinedEndpoint(
+                "memberships", mockWebServer.url("/memberships").toString(), null, "$.user_uri", "$.uri", true));
+            config.addFieldMapping(new FieldMapping("timezone", "$.details.timezone", false));
+            config.addFieldMapping(new FieldMapping("lastName", "$.memberships[1].role", false));
+        });
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(2, response.usersFetched());
+        assertEquals(3, mockWebServer.getRequestCount(), "one request per endpoint");
+        final FetchedUser john = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow();
+        assertNull(john.getTimezone());
+        assertEquals("admin", john.getLastName());
+        final FetchedUser jane = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").orElseThrow();
+        assertEquals("Europe/Berlin", jane.getTimezone());
+        assertNull(jane.getLastName());
+        for (int i = 0; i < 3; i++) {
+            assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+        }
+    }
+
+    @Test
+    void fetchUsersFromSource_withQueryTemplate_shouldPushFieldsAndIncrementalFilter() throws Exception {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .setRequestQueryTemplate("fields={fields}&updated_since={since}"));
+        mockWebServer.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(USERS_JSON));
+        mockWebServer.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("""
+            {"collection": [{"uri": "user-2", "name": "Jane Smith"}]}
+            """));
+        userFetchService.fetchUsersFromSource(SOURCE);
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(1, response.usersFetched());
+        assertEquals(0, response.usersRemoved(), "an incremental sync never removes users");
+        assertFalse(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow().isDeleted());
+        assertEquals("Jane Smith", fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").orElseThrow().getName());
+
+        final RecordedRequest full = mockWebServer.takeRequest();
+        assertEquals("uri,name,email", full.getRequestUrl().queryParameter("fields"));
+        assertNull(full.getRequestUrl().queryParameter("updated_since"));
+        final RecordedRequest incremental = mockWebServer.takeRequest();
+        assertNotNull(incremental.getRequestUrl().queryParameter("updated_since"));
+        assertNull(incremental.getHeader("If-None-Match"));
+    }
+
+    @Test
+    void fetchUsersFromSource_afterFullSyncInterval_shouldSyncFullyAndReconcileDeletions() throws Exception {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .setRequestQueryTemplate("updated_since={since}"));
+        final String onlyJane = """
+            {"collection": [{"uri": "user-2", "name": "Jane Doe", "email": "jane@example.com"}]}
+            """;
+        mockWebServer.enqueue(new MockResponse().setBody(USERS_JSON));
+        mockWebServer.enqueue(new MockResponse().setBody(onlyJane));
+        mockWebServer.enqueue(new MockResponse().setBody(onlyJane));
+        userFetchService.fetchUsersFromSource(SOURCE);
+        userFetchService.fetchUsersFromSource(SOURCE);
+        assertFalse(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow().isDeleted(),
+            "user-1 is only left out of the incremental response");
+        jdbcTemplate.update("UPDATE sync_runs SET started_at = ? WHERE source_name = ? AND incremental = FALSE",
+            Timestamp.from(Instant.now().minus(Duration.ofDays(2))), SOURCE);
+
+        // When
+        final FetchUsersResponse response = userFetchService.fetchUsersFromSource(SOURCE);
+
+        // Then
+        assertEquals(1, response.usersRemoved());
+        assertTrue(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow().isDeleted());
+        mockWebServer.takeRequest();
+        assertNotNull(mockWebServer.takeRequest().getRequestUrl().queryParameter("updated_since"));
+        assertNull(mockWebServer.takeRequest().getRequestUrl().queryParameter("updated_since"));
+    }
+
+    private void savePaginatedConfig(final int maxConcurrentPages, final boolean preservePageOrder) {
+        transactionTemplate.executeWithoutResult(status -> {
+            final ApiConfiguration config = apiConfigRepository.findBySourceName(SOURCE).orElseThrow();
+            config.setResponseRootPath("$.collection");
+            config.setPaginationType(PaginationType.OFFSET);
+            config.setPageParameter("offset");
+            config.setPageSizeParameter("limit");
+            config.setPageSize(5);
+            config.setTotalCountPath("$.total");
+            config.setMaxConcurrentPages(maxConcurrentPages);
+            config.setPreservePageOrder(preservePageOrder);
+        });
+    }
+
+    /**
+     * Offset paginated source. Earlier pages answer slower, so pages complete out of order.
+     * Pages carry an ETag that changes when their content does and answer 304 when it still matches.
+     */
+    private static final class PagedSource extends Dispatcher {
+
+        private final int pageSize;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger notModified = new AtomicInteger();
+        private volatile int total;
+        private volatile int version = 1;
+
+        private PagedSource(final int total, final int pageSize) {
+            this.total = total;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                final int offset = Integer.parseInt(request.getRequestUrl().queryParameter("offset"));
+                final int end = Math.min(offset + pageSize, total);
+                // Only pages overlapping the end of the collection change between versions
+                final String etag = "\"" + offset + "-" + (end < offset + pageSize ? "v" + version : "v1") + "\"";
+                Thread.sleep(Math.max(0, 200 - offset * 10L));
+                if (etag.equals(request.getHeader("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    return new MockResponse().setResponseCode(304);
+                }
+                final String users = IntStream.range(offset, end)
+                    .mapToObj(i -> "{\"uri\":\"user-" + i + "\",\"email\":\"user" + i + "@example.com\"}")
+                    .collect(Collectors.joining(","));
+                return new MockResponse()
+                    .setHeader("ETag", etag)
+                    .setBody("{\"total\":" + total + ",\"collection\":[" + users + "]}");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static Buffer gzip(final String body) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Buffer().write(bytes.toByteArray());
+    }
+
+    private static ApiConfiguration createConfig(final String url) {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl(url);
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+        return config;
+    }
+}
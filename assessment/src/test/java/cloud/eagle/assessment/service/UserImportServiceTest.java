@@ -0,0 +1,214 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.ImportUsersResponse;
+import cloud.eagle.assessment.domain.dto.ReplayDeadLettersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.DeadLetterItem;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.exception.FieldMappingException;
+import cloud.eagle.assessment.exception.UnsupportedImportFormatException;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.DeadLetterItemRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ingesting NDJSON and CSV user exports.
+ */
+@SpringBootTest(properties = "sync.item-error-policy=DEAD_LETTER")
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    private static final String SOURCE = "import-source";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterItemRepository;
+
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        deadLetterItemRepository.deleteAll();
+        apiConfigRepository.findBySourceName(SOURCE).ifPresent(apiConfigRepository::delete);
+        apiConfigRepository.save(createConfig());
+    }
+
+    @Test
+    void importUsers_ndjson_shouldStoreGoodLinesAndDeadLetterBadLines() {
+        // Given
+        final InputStream file = stream("""
+            {"id": "user-1", "full_name": "John Doe", "mail": "john@example.com"}
+
+            {"id": "user-2", "full_name": "Jane Doe", "mail": "jane@example.com"}
+            {"full_name": "No Id"}
+            not json
+            {"id": "user-3", "full_name": "Jim Doe", "mail": "jim@example.com"}
+            """);
+
+        // When
+        final ImportUsersResponse response = userImportService.importUsers(SOURCE, ImportFormat.NDJSON, file);
+
+        // Then
+        assertEquals(5, response.recordsRead());
+        assertEquals(3, response.usersStored());
+        assertEquals(2, response.recordsRejected());
+        assertTrue(response.bytesRead() > 0);
+        assertEquals(3, fetchedUserRepository.count());
+
+        final List<DeadLetterItem> deadLetters = pendingDeadLetters();
+        assertEquals(2, deadLetters.size());
+        assertEquals(2, deadLetters.get(0).getItemIndex());
+        assertEquals("Required field mapping failed: externalId", deadLetters.get(0).getReason());
+        assertEquals(3, deadLetters.get(1).getItemIndex());
+        assertTrue(deadLetters.get(1).getReason().startsWith("Invalid JSON line"));
+    }
+
+    @Test
+    void importUsers_largerThanOneChunk_shouldStoreEveryChunk() {
+        // Given
+        final int count = 2_500;
+        final StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"id\": \"user-").append(i).append("\", \"full_name\": \"User ").append(i).append("\"}\n");
+        }
+
+        // When
+        final ImportUsersResponse response = userImportService.importUsers(SOURCE, ImportFormat.NDJSON, stream(ndjson.toString()));
+
+        // Then
+        assertEquals(count, response.recordsRead());
+        assertEquals(count, response.usersStored());
+        assertEquals(count, fetchedUserRepository.count());
+        assertTrue(fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-" + (count - 1)).isPresent());
+    }
+
+    @Test
+    void importUsers_csv_shouldReadQuotedFieldsByHeader() {
+        // Given
+        final InputStream file = stream("\uFEFF" + """
+            id,full_name,mail\r
+            user-1,"Doe, John",john@example.com\r
+            user-2,"Jane ""JD""
+            Doe",\r
+            """);
+
+        // When
+        final ImportUsersResponse response = userImportService.importUsers(SOURCE, ImportFormat.CSV, file);
+
+        // Then
+        assertEquals(2, response.recordsRead());
+        assertEquals(2, response.usersStored());
+        final FetchedUser john = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow();
+        assertEquals("Doe, John", john.getName());
+        assertEquals("john@example.com", john.getEmail());
+        final FetchedUser jane = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-2").orElseThrow();
+        assertEquals("Jane \"JD\"\nDoe", jane.getName());
+        assertNull(jane.getEmail());
+    }
+
+    @Test
+    void importUsers_withRecordsAboveTheLimit_shouldRejectThemWithoutBufferingTheFile() {
+        // Given
+        final String oversized = "x".repeat(1_100_000);
+        final InputStream ndjson = stream("""
+            {"id": "user-1", "full_name": "%s"}
+            {"id": "user-2", "full_name": "Jane Doe"}
+            """.formatted(oversized));
+        final InputStream csv = stream("id,full_name\nuser-3,\"" + oversized + "\nuser-4,Jim Doe\n");
+
+        // When
+        final ImportUsersResponse response = userImportService.importUsers(SOURCE, ImportFormat.NDJSON, ndjson);
+        final FieldMappingException error = assertThrows(FieldMappingException.class,
+            () -> userImportService.importUsers(SOURCE, ImportFormat.CSV, csv));
+
+        // Then
+        assertEquals(2, response.recordsRead());
+        assertEquals(1, response.usersStored());
+        assertEquals(1, response.recordsRejected());
+        assertTrue(pendingDeadLetters().getFirst().getReason().startsWith("JSON line exceeds"));
+        assertEquals("CSV record 2 exceeds 1048576 characters", error.getMessage());
+    }
+
+    @Test
+    void importUsers_csvRecordDeadLettered_shouldReplayByHeader() {
+        // Given
+        userImportService.importUsers(SOURCE, ImportFormat.CSV, stream("""
+            id,full_name,mail
+            ,No Id,noid@example.com
+            """));
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .getFieldMappings().stream()
+            .filter(mapping -> mapping.getInternalFieldName().equals("externalId"))
+            .forEach(mapping -> mapping.setJsonPath("$.mail")));
+
+        // When
+        final ReplayDeadLettersResponse response = deadLetterReplayService.replay(SOURCE);
+
+        // Then
+        assertEquals(1, response.itemsReplayed());
+        final FetchedUser user = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "noid@example.com").orElseThrow();
+        assertEquals("No Id", user.getName());
+    }
+
+    @Test
+    void detect_shouldPreferContentTypeAndFallBackToExtension() {
+        // When / Then
+        assertEquals(ImportFormat.NDJSON, ImportFormat.detect("users.csv", "application/x-ndjson"));
+        assertEquals(ImportFormat.CSV, ImportFormat.detect("users.csv", "application/octet-stream"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.detect("users.jsonl", null));
+        assertThrows(UnsupportedImportFormatException.class, () -> ImportFormat.detect("users.xlsx", null));
+    }
+
+    private List<DeadLetterItem> pendingDeadLetters() {
+        return deadLetterItemRepository.findAllByIdInOrderById(
+            deadLetterItemRepository.findPendingIds(SOURCE, 0L, Limit.unlimited()));
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl("https://api.example.com/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.users");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.id", true));
+        config.addFieldMapping(new FieldMapping("name", "$.full_name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.mail", false));
+        return config;
+    }
+}
@@ -0,0 +1,144 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.RemapUsersResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.domain.entity.UserSourceItem;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import cloud.eagle.assessment.repository.UserSourceItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for re-mapping stored users from their stored source items.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRemapServiceTest {
+
+    private static final String SOURCE = "remap-source";
+    private static final String USERS = """
+        {"id": "user-1", "name": "John Doe", "given_name": "John"}
+        {"id": "user-2", "name": "Jane Doe", "given_name": "Jane"}
+        {"id": "user-3", "name": "No Given Name"}
+        """;
+
+    @Autowired
+    private UserRemapService userRemapService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @Autowired
+    private UserSourceItemRepository userSourceItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        userSourceItemRepository.deleteAll();
+        apiConfigRepository.findBySourceName(SOURCE).ifPresent(apiConfigRepository::delete);
+        apiConfigRepository.save(createConfig());
+        userImportService.importUsers(SOURCE, ImportFormat.NDJSON,
+            new ByteArrayInputStream(USERS.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void remap_afterAddingFieldMapping_shouldFillTheFieldFromStoredItems() {
+        // Given
+        assertEquals(3, userSourceItemRepository.count());
+        addFieldMapping(new FieldMapping("firstName", "$.given_name", false));
+
+        // When
+        final RemapUsersResponse response = userRemapService.remap(SOURCE);
+
+        // Then
+        assertEquals(3, response.usersScanned());
+        assertEquals(2, response.usersUpdated(), "Only users whose values changed are written");
+        assertEquals(0, response.usersFailed());
+        assertEquals("John", user("user-1").getFirstName());
+        assertEquals("Jane", user("user-2").getFirstName());
+        assertNull(user("user-3").getFirstName());
+        assertTrue(user("user-1").getRawData().contains("\"firstName\":\"John\""));
+    }
+
+    @Test
+    void remap_whenExternalIdMappingChanged_shouldLeaveUsersAlone() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .getFieldMappings().stream()
+            .filter(mapping -> mapping.getInternalFieldName().equals("externalId"))
+            .forEach(mapping -> mapping.setJsonPath("$.name")));
+
+        // When
+        final RemapUsersResponse response = userRemapService.remap(SOURCE);
+
+        // Then
+        assertEquals(3, response.usersFailed());
+        assertEquals(0, response.usersUpdated());
+        assertEquals("John Doe", user("user-1").getName());
+    }
+
+    @Test
+    void importUsers_again_shouldRewriteOnlyTheChangedItems() {
+        // Given
+        final UserSourceItem unchanged = sourceItem("user-2");
+        final String changedUsers = USERS.replace("\"given_name\": \"John\"", "\"given_name\": \"Johnny\"");
+
+        // When
+        userImportService.importUsers(SOURCE, ImportFormat.NDJSON,
+            new ByteArrayInputStream(changedUsers.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertTrue(sourceItem("user-1").getPayload().contains("Johnny"));
+        assertEquals(unchanged.getUpdatedAt(), sourceItem("user-2").getUpdatedAt(), "An unchanged item is not written");
+        assertEquals(unchanged.getPayload(), sourceItem("user-2").getPayload());
+    }
+
+    private void addFieldMapping(final FieldMapping mapping) {
+        transactionTemplate.executeWithoutResult(status -> apiConfigRepository.findBySourceName(SOURCE).orElseThrow()
+            .addFieldMapping(mapping));
+    }
+
+    private FetchedUser user(final String externalId) {
+        return fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, externalId).orElseThrow();
+    }
+
+    private UserSourceItem sourceItem(final String externalId) {
+        return userSourceItemRepository.findById(user(externalId).getId()).orElseThrow();
+    }
+
+    private static ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl("https://api.example.com/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.users");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.id", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        return config;
+    }
+}
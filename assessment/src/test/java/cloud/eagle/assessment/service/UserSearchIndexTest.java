@@ -0,0 +1,87 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.FetchedUserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserSearchIndex.
+ */
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        index.index(user(1L, "calendly", "John Doe", "john.doe@example.com"));
+        index.index(user(2L, "dropbox", "Johnny Walker", "jwalker@acme.io"));
+        index.index(user(3L, "dropbox", "Jane Doe", "jane@example.com"));
+    }
+
+    @Test
+    void search_withNamePrefix_shouldMatchAllUsersWithPrefixedWord() {
+        assertEquals(List.of(1L, 2L), search("joh"));
+    }
+
+    @Test
+    void search_withMultipleTerms_shouldIntersectMatches() {
+        assertEquals(List.of(3L), search("ja doe"));
+    }
+
+    @Test
+    void search_withEmailOrDomain_shouldMatch() {
+        assertEquals(List.of(1L), search("john.doe@example.com"));
+        assertEquals(List.of(1L, 3L), search("example.com"));
+        assertEquals(List.of(2L), search("jwalker"));
+    }
+
+    @Test
+    void index_withUpdatedUser_shouldReplacePreviousTokens() {
+        // When
+        index.index(user(1L, "calendly", "Jonathan Smith", "jsmith@example.com"));
+
+        // Then
+        assertEquals(List.of(2L), search("johnny"));
+        assertEquals(List.of(3L), search("doe"));
+        assertEquals(List.of(1L), search("smi"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_shouldDropUserFromResults() {
+        // When
+        index.remove(3L);
+
+        // Then
+        assertTrue(search("jane").isEmpty());
+        assertEquals(List.of(1L), search("doe"));
+    }
+
+    @Test
+    void search_aboveTheLimit_shouldKeepTheLowestIdsAndCountEveryMatch() {
+        // Given
+        for (long id = 20; id >= 4; id--) {
+            index.index(user(id, "calendly", "Richard Doe", "doe" + id + "@example.com"));
+        }
+
+        // When
+        final UserSearchIndex.Matches matches = index.search("doe", 3);
+
+        // Then
+        assertEquals(19, matches.total());
+        assertEquals(List.of(1L, 3L, 4L), matches.ids());
+    }
+
+    private List<Long> search(final String query) {
+        return index.search(query, Integer.MAX_VALUE).ids();
+    }
+
+    private static FetchedUserDto user(final Long id, final String source, final String name, final String email) {
+        return new FetchedUserDto(id, source, "ext-" + id, email, name, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,73 @@
+package cloud.eagle.assessment.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WebhookBuffer.
+ */
+@ExtendWith(MockitoExtension.class)
+class WebhookBufferTest {
+
+    private static final String SOURCE = "webhook-source";
+    private static final MappedItem JOHN = MappedItem.of(Map.of("externalId", "user-1", "name", "John Doe"));
+    private static final MappedItem JANE = MappedItem.of(Map.of("externalId", "user-2", "name", "Jane Doe"));
+
+    @Mock
+    private UserFetchService userFetchService;
+
+    @Test
+    void flush_whenBatchKeepsFailing_shouldStoreUsersSinglyAndDeadLetterTheRest() throws InterruptedException {
+        // Given
+        final WebhookBuffer buffer = new WebhookBuffer(userFetchService, 16, 2, 10_000, 2, 1);
+        when(userFetchService.storePushedUsers(SOURCE, List.of(JOHN, JANE)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(userFetchService.storePushedUsers(SOURCE, List.of(JOHN))).thenReturn(1);
+        when(userFetchService.storePushedUsers(SOURCE, List.of(JANE)))
+            .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // When
+        buffer.start();
+        buffer.offer(SOURCE, List.of(JOHN, JANE));
+        verify(userFetchService, timeout(2_000)).deadLetterPushedUser(SOURCE, JANE.fields(), "value too long");
+        buffer.stop();
+
+        // Then
+        verify(userFetchService, times(2)).storePushedUsers(SOURCE, List.of(JOHN, JANE));
+        verify(userFetchService).storePushedUsers(SOURCE, List.of(JOHN));
+        verify(userFetchService, never()).deadLetterPushedUser(eq(SOURCE), eq(JOHN.fields()), anyString());
+    }
+
+    @Test
+    void flush_whenRetrySucceeds_shouldStoreBatchOnce() throws InterruptedException {
+        // Given
+        final WebhookBuffer buffer = new WebhookBuffer(userFetchService, 16, 2, 10_000, 3, 1);
+        when(userFetchService.storePushedUsers(eq(SOURCE), anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(2);
+
+        // When
+        buffer.start();
+        buffer.offer(SOURCE, List.of(JOHN, JANE));
+        verify(userFetchService, timeout(2_000).times(2)).storePushedUsers(SOURCE, List.of(JOHN, JANE));
+        buffer.stop();
+
+        // Then
+        verify(userFetchService, never()).deadLetterPushedUser(eq(SOURCE), eq(JANE.fields()), anyString());
+    }
+}
@@ -0,0 +1,154 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.domain.dto.WebhookResponse;
+import cloud.eagle.assessment.domain.entity.ApiConfiguration;
+import cloud.eagle.assessment.domain.entity.AuthType;
+import cloud.eagle.assessment.domain.entity.FetchedUser;
+import cloud.eagle.assessment.domain.entity.FieldMapping;
+import cloud.eagle.assessment.domain.entity.HttpMethod;
+import cloud.eagle.assessment.exception.WebhookSignatureException;
+import cloud.eagle.assessment.repository.ApiConfigurationRepository;
+import cloud.eagle.assessment.repository.FetchedUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for webhook deliveries from verification to the batched store.
+ * They share the default application context, so routes are cached for {@code webhook.route-ttl} and
+ * batches flushed every {@code webhook.flush.interval}; the configuration is therefore created once and
+ * kept, so a cached route never points at a configuration a previous test deleted.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WebhookServiceTest {
+
+    private static final String SOURCE = "webhook-source";
+    private static final String SECRET = "webhook-secret";
+    private static final String SIGNATURE_HEADER = "Calendly-Webhook-Signature";
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private ApiConfigurationRepository apiConfigRepository;
+
+    @Autowired
+    private FetchedUserRepository fetchedUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        fetchedUserRepository.deleteAll();
+        if (apiConfigRepository.findBySourceName(SOURCE).isEmpty()) {
+            apiConfigRepository.save(createConfig());
+        }
+    }
+
+    @Test
+    void receive_withValidSignature_shouldStoreUsersAfterFlush() throws InterruptedException {
+        // Given
+        final byte[] body = """
+            {"event": "invitee.created", "payload": [
+                {"uri": "user-1", "name": "John Doe", "email": "john@example.com"},
+                {"uri": "user-2", "name": "Jane Doe", "email": "jane@example.com"}
+            ]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        final WebhookResponse response = webhookService.receive(SOURCE, signed(body), body);
+
+        // Then
+        assertEquals(2, response.itemsAccepted());
+        assertTrue(eventually(() -> fetchedUserRepository.count() == 2));
+        final FetchedUser user = fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1").orElseThrow();
+        assertEquals("John Doe", user.getName());
+        assertNull(user.getLastSeenRunId());
+    }
+
+    @Test
+    void receive_withInvalidSignature_shouldRejectDelivery() {
+        // Given
+        final byte[] body = """
+            {"payload": {"uri": "user-1", "name": "John Doe"}}
+            """.getBytes(StandardCharsets.UTF_8);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(SIGNATURE_HEADER, "t=" + Instant.now().getEpochSecond() + ",v1=" + "0".repeat(64));
+
+        // When / Then
+        assertThrows(WebhookSignatureException.class, () -> webhookService.receive(SOURCE, headers, body));
+        assertEquals(0, fetchedUserRepository.count());
+    }
+
+    @Test
+    void receive_burstForTheSameUser_shouldKeepTheLatestVersion() throws InterruptedException {
+        // Given
+        final byte[] first = """
+            {"payload": {"uri": "user-1", "name": "First Name"}}
+            """.getBytes(StandardCharsets.UTF_8);
+        final byte[] second = """
+            {"payload": {"uri": "user-1", "name": "Second Name"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        webhookService.receive(SOURCE, signed(first), first);
+        webhookService.receive(SOURCE, signed(second), second);
+
+        // Then
+        assertTrue(eventually(() -> fetchedUserRepository.findBySourceNameAndExternalId(SOURCE, "user-1")
+            .map(user -> user.getName().equals("Second Name"))
+            .orElse(false)));
+        assertEquals(1, fetchedUserRepository.count());
+    }
+
+    private static HttpHeaders signed(final byte[] body) {
+        final HttpHeaders headers = new HttpHeaders();
+        final String timestamp = Long.toString(Instant.now().getEpochSecond());
+        final byte[] prefix = (timestamp + ".").getBytes(StandardCharsets.UTF_8);
+        final byte[] signed = Arrays.copyOf(prefix, prefix.length + body.length);
+        System.arraycopy(body, 0, signed, prefix.length, body.length);
+        headers.set(SIGNATURE_HEADER, "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(WebhookSignatureVerifier.hmac(SECRET, signed)));
+        return headers;
+    }
+
+    /**
+     * Polls the condition for up to two seconds, well beyond the flush interval.
+     */
+    private static boolean eventually(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + 2_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(25);
+        }
+        return false;
+    }
+
+    private static ApiConfiguration createConfig() {
+        final ApiConfiguration config = new ApiConfiguration();
+        config.setSourceName(SOURCE);
+        config.setEndpointUrl("https://api.example.com/users");
+        config.setHttpMethod(HttpMethod.GET);
+        config.setAuthType(AuthType.NONE);
+        config.setResponseRootPath("$.collection");
+        config.setWebhookSecret(SECRET);
+        config.setWebhookSignatureHeader(SIGNATURE_HEADER);
+        config.setWebhookRootPath("$.payload");
+        config.setActive(true);
+        config.addFieldMapping(new FieldMapping("externalId", "$.uri", true));
+        config.addFieldMapping(new FieldMapping("name", "$.name", false));
+        config.addFieldMapping(new FieldMapping("email", "$.email", false));
+        return config;
+    }
+}
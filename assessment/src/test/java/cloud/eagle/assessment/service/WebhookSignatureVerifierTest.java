@@ -0,0 +1,72 @@
+package cloud.eagle.assessment.service;
+
+import cloud.eagle.assessment.exception.WebhookSignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WebhookSignatureVerifier.
+ */
+class WebhookSignatureVerifierTest {
+
+    private static final String SECRET = "webhook-secret";
+    private static final byte[] BODY = "{\"uri\":\"user-1\"}".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final WebhookSignatureVerifier verifier =
+        new WebhookSignatureVerifier(Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void verify_shouldRejectReplayableBodySignature() {
+        // Given
+        final String signature = "sha256=" + hex(WebhookSignatureVerifier.hmac(SECRET, BODY));
+
+        // When / Then
+        assertThrows(WebhookSignatureException.class, () -> verifier.verify(SECRET, signature, BODY));
+    }
+
+    @Test
+    void verify_shouldAcceptFreshTimestampedSignature() {
+        // Given
+        final String signature = timestamped(NOW.minusSeconds(60), BODY);
+
+        // When / Then
+        assertDoesNotThrow(() -> verifier.verify(SECRET, signature, BODY));
+    }
+
+    @Test
+    void verify_shouldRejectTamperedStaleOrMissingSignatures() {
+        // Given
+        final byte[] tampered = "{\"uri\":\"user-2\"}".getBytes(StandardCharsets.UTF_8);
+        final String bodySignature = timestamped(NOW, BODY);
+
+        // When / Then
+        assertThrows(WebhookSignatureException.class, () -> verifier.verify(SECRET, bodySignature, tampered));
+        assertThrows(WebhookSignatureException.class, () -> verifier.verify("other-secret", bodySignature, BODY));
+        assertThrows(WebhookSignatureException.class,
+            () -> verifier.verify(SECRET, timestamped(NOW.minusSeconds(600), BODY), BODY));
+        assertThrows(WebhookSignatureException.class, () -> verifier.verify(SECRET, "v1=abcd", BODY));
+        assertThrows(WebhookSignatureException.class,
+            () -> verifier.verify(SECRET, "t=" + NOW.getEpochSecond() + ",v1=not-hex", BODY));
+        assertThrows(WebhookSignatureException.class, () -> verifier.verify(SECRET, null, BODY));
+    }
+
+    private static String timestamped(final Instant signedAt, final byte[] body) {
+        final String timestamp = Long.toString(signedAt.getEpochSecond());
+        final String content = timestamp + "." + new String(body, StandardCharsets.UTF_8);
+        final byte[] mac = WebhookSignatureVerifier.hmac(SECRET, content.getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + hex(mac);
+    }
+
+    private static String hex(final byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}